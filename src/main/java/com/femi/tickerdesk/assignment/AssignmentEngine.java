@@ -0,0 +1,166 @@
+package com.femi.tickerdesk.assignment;
+
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.event.TicketChangedEvent;
+import com.femi.tickerdesk.event.TicketSnapshot;
+import com.femi.tickerdesk.event.UserChangedEvent;
+import com.femi.tickerdesk.model.ServiceCatalogItem;
+import com.femi.tickerdesk.repository.TicketRepository;
+import com.femi.tickerdesk.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the least-loaded technician of a department in memory instead of counting each
+ * technician's tickets per assignment. Each department has its own lock, so assignments to
+ * different departments never contend. Committed load follows {@link TicketChangedEvent}s
+ * after commit and is re-read from the database at startup and on a schedule to correct drift.
+ */
+@Component
+@Slf4j
+public class AssignmentEngine {
+
+    static final Set<TicketStatus> ACTIVE_STATUSES = TicketStatus.ACTIVE;
+
+    // Used when a ticket has no catalog item or its item names no department
+    private static final Map<TicketCategory, Department> CATEGORY_DEPARTMENTS = new EnumMap<>(Map.of(
+            TicketCategory.ACCOUNT_MANAGEMENT, Department.SYSTEM_NETWORK,
+            TicketCategory.APPLICATIONS, Department.SYSTEM_NETWORK,
+            TicketCategory.FACILITIES, Department.HR_ADMIN,
+            TicketCategory.FINANCE, Department.FINANCE,
+            TicketCategory.HARDWARE, Department.SYSTEM_NETWORK,
+            TicketCategory.HUMAN_RESOURCES, Department.HR_ADMIN,
+            TicketCategory.NETWORKING, Department.SYSTEM_NETWORK
+    ));
+
+    private final UserRepository userRepository;
+    private final TicketRepository ticketRepository;
+
+    private final Map<Department, DepartmentWorkload> workloads = new EnumMap<>(Department.class);
+    private final Map<Long, Department> technicianDepartments = new ConcurrentHashMap<>();
+
+    public AssignmentEngine(UserRepository userRepository, TicketRepository ticketRepository) {
+        this.userRepository = userRepository;
+        this.ticketRepository = ticketRepository;
+        for (Department department : Department.values()) {
+            workloads.put(department, new DepartmentWorkload());
+        }
+    }
+
+    public Department route(ServiceCatalogItem item, TicketCategory category) {
+        return route(item != null ? item.getAutoAssignToDepartment() : null, category);
+    }
+
+    /**
+     * Routes on a catalog item's {@code autoAssignToDepartment}, falling back to the category.
+     */
+    public Department route(String itemDepartment, TicketCategory category) {
+        if (itemDepartment != null && !itemDepartment.isBlank()) {
+            try {
+                return Department.valueOf(itemDepartment.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log.warn("Catalog item routes to unknown department {}", itemDepartment);
+            }
+        }
+        return CATEGORY_DEPARTMENTS.get(category);
+    }
+
+    /**
+     * Reserves a ticket of the given priority on the least-loaded technician of the department.
+     * Must run inside the transaction that persists the assignment: the reservation is dropped
+     * when that transaction completes, by which time a committed assignment is counted through
+     * its {@link TicketChangedEvent}.
+     */
+    public Optional<Long> reserve(Department department, Priority priority) {
+        DepartmentWorkload workload = workloads.get(department);
+        int weight = priority.getLevel();
+
+        Long technicianId = workload.reserve(weight);
+        if (technicianId == null) {
+            return Optional.empty();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    workload.release(technicianId, weight);
+                }
+            });
+        } else {
+            workload.release(technicianId, weight);
+        }
+        return Optional.of(technicianId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        apply(event.before(), -1);
+        apply(event.after(), 1);
+    }
+
+    // Hiring, moving or deactivating a technician changes who can be picked; user changes are rare enough to rebuild
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${assignment.reconcile-interval-ms:300000}",
+            fixedDelayString = "${assignment.reconcile-interval-ms:300000}")
+    public void rebuild() {
+        Map<Long, Department> technicians = new HashMap<>();
+        for (Object[] row : userRepository.findActiveTechnicianDepartments()) {
+            technicians.put((Long) row[0], (Department) row[1]);
+        }
+
+        Map<Department, Map<Long, Long>> loads = new EnumMap<>(Department.class);
+        for (Department department : Department.values()) {
+            loads.put(department, new HashMap<>());
+        }
+        technicians.forEach((id, department) -> loads.get(department).put(id, 0L));
+
+        for (Object[] row : ticketRepository.countActiveByAssigneeAndPriority(ACTIVE_STATUSES)) {
+            Department department = technicians.get((Long) row[0]);
+            if (department != null) {
+                long weight = ((Priority) row[1]).getLevel() * (Long) row[2];
+                loads.get(department).merge((Long) row[0], weight, Long::sum);
+            }
+        }
+
+        technicianDepartments.putAll(technicians);
+        technicianDepartments.keySet().retainAll(technicians.keySet());
+        loads.forEach((department, committed) -> workloads.get(department).reset(committed));
+        log.debug("Rebuilt technician workload for {} technicians", technicians.size());
+    }
+
+    public Map<Long, Long> loads(Department department) {
+        return workloads.get(department).loads();
+    }
+
+    private void apply(TicketSnapshot snapshot, int sign) {
+        if (snapshot == null || snapshot.assignedToId() == null || !ACTIVE_STATUSES.contains(snapshot.status())) {
+            return;
+        }
+        Department department = technicianDepartments.get(snapshot.assignedToId());
+        if (department != null) {
+            workloads.get(department).adjust(snapshot.assignedToId(), sign * snapshot.priority().getLevel());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.femi.tickerdesk.assignment;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Open workload of the technicians in one department, ordered so the least-loaded technician
+ * is always first. Load is the sum of {@code Priority.level} over a technician's active
+ * tickets. Committed load comes from the database; reserved load covers assignments whose
+ * transaction has not finished yet, so concurrent assignments see each other immediately.
+ */
+final class DepartmentWorkload {
+
+    private record Entry(long load, long technicianId) {
+    }
+
+    private static final Comparator<Entry> LEAST_LOADED = Comparator
+            .comparingLong(Entry::load)
+            .thenComparingLong(Entry::technicianId);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeSet<Entry> byLoad = new TreeSet<>(LEAST_LOADED);
+    private final Map<Long, Long> committed = new HashMap<>();
+    private final Map<Long, Long> reserved = new HashMap<>();
+
+    /**
+     * Picks the least-loaded technician and reserves {@code weight} on them.
+     * Returns null when the department has no technicians.
+     */
+    Long reserve(int weight) {
+        lock.lock();
+        try {
+            Entry least = byLoad.pollFirst();
+            if (least == null) {
+                return null;
+            }
+            reserved.merge(least.technicianId(), (long) weight, Long::sum);
+            byLoad.add(new Entry(least.load() + weight, least.technicianId()));
+            return least.technicianId();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(long technicianId, int weight) {
+        update(technicianId, () -> reserved.merge(technicianId, (long) -weight, (a, b) -> a + b == 0 ? null : a + b));
+    }
+
+    void adjust(long technicianId, int delta) {
+        update(technicianId, () -> committed.merge(technicianId, (long) delta, Long::sum));
+    }
+
+    /**
+     * Replaces the committed load of every technician, e.g. after re-reading it from the
+     * database. Outstanding reservations of technicians that remain are kept.
+     */
+    void reset(Map<Long, Long> committedLoads) {
+        lock.lock();
+        try {
+            committed.clear();
+            committed.putAll(committedLoads);
+            reserved.keySet().retainAll(committedLoads.keySet());
+
+            byLoad.clear();
+            for (Long technicianId : committed.keySet()) {
+                byLoad.add(new Entry(loadOf(technicianId), technicianId));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long load(long technicianId) {
+        lock.lock();
+        try {
+            return loadOf(technicianId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Map<Long, Long> loads() {
+        lock.lock();
+        try {
+            Map<Long, Long> loads = new HashMap<>();
+            committed.keySet().forEach(id -> loads.put(id, loadOf(id)));
+            return loads;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long technicianId, Runnable change) {
+        lock.lock();
+        try {
+            if (!committed.containsKey(technicianId)) {
+                return;
+            }
+            byLoad.remove(new Entry(loadOf(technicianId), technicianId));
+            change.run();
+            byLoad.add(new Entry(loadOf(technicianId), technicianId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long loadOf(long technicianId) {
+        return committed.getOrDefault(technicianId, 0L) + reserved.getOrDefault(technicianId, 0L);
+    }
+}
@@ -0,0 +1,298 @@
+package com.femi.tickerdesk.assignment;
+
+import com.femi.tickerdesk.dto.DispatchLease;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.event.TicketChangedEvent;
+import com.femi.tickerdesk.event.TicketSnapshot;
+import com.femi.tickerdesk.repository.TicketRepository;
+import com.femi.tickerdesk.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Unassigned active tickets per department, highest priority and then oldest first, for
+ * technicians to pull from instead of polling ticket lists. A claim pops the head of the queue
+ * with a lock-free {@link ConcurrentSkipListSet#pollFirst()}, so no two technicians are handed the
+ * same ticket, and holds it as a lease. Acknowledging the lease assigns the ticket with an update
+ * that re-checks it is still unassigned; a lease left unacknowledged for
+ * {@code dispatch.lease-seconds} returns the ticket to the queue. The queues follow
+ * {@link TicketChangedEvent}s after commit and are rebuilt from the database at startup and on
+ * a schedule.
+ */
+@Component
+@Slf4j
+public class DispatchQueue {
+
+    private static final int LOAD_BATCH = 1000;
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingInt((Entry entry) -> entry.priority().getLevel()).reversed()
+            .thenComparing(Entry::createdAt)
+            .thenComparing(Entry::ticketId);
+
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final AssignmentEngine assignmentEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration leaseDuration;
+
+    private final Map<Long, DispatchLease> leases = new ConcurrentHashMap<>();
+    private volatile State state = new State();
+    private volatile Set<Long> changedDuringRebuild;
+
+    public DispatchQueue(TicketRepository ticketRepository, UserRepository userRepository,
+                         AssignmentEngine assignmentEngine, ApplicationEventPublisher eventPublisher,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${dispatch.lease-seconds:120}") long leaseSeconds) {
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.assignmentEngine = assignmentEngine;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+    }
+
+    /**
+     * Leases the next ticket of the department to the technician, or returns empty when none is waiting.
+     */
+    public Optional<DispatchLease> claim(Department department, Long technicianId) {
+        State current = state;
+        ConcurrentSkipListSet<Entry> queue = current.queues().get(department);
+        Entry entry;
+        while ((entry = queue.pollFirst()) != null) {
+            // An entry replaced by a later change is stale; its replacement is queued separately
+            if (current.entries().replace(entry.ticketId(), entry, entry.asLeased())) {
+                DispatchLease lease = new DispatchLease(entry.ticketId(), department, entry.priority(), technicianId,
+                        UUID.randomUUID().toString(), LocalDateTime.now().plus(leaseDuration));
+                leases.put(entry.ticketId(), lease);
+                return Optional.of(lease);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Assigns the leased ticket to the technician holding the lease.
+     *
+     * @throws IllegalStateException if the lease has lapsed, belongs to someone else, or the
+     *                               ticket was assigned or finished in the meantime
+     */
+    public void acknowledge(Long ticketId, String token, Long technicianId) {
+        DispatchLease lease = takeLease(ticketId, token, technicianId);
+        if (lease.expiresAt().isBefore(LocalDateTime.now())) {
+            requeue(ticketId);
+            throw new IllegalStateException("The lease on this ticket has expired");
+        }
+        boolean assigned = Boolean.TRUE.equals(transactionTemplate.execute(status -> assign(ticketId, technicianId)));
+        drop(ticketId);
+        if (!assigned) {
+            throw new IllegalStateException("Ticket was assigned or closed while it was leased");
+        }
+    }
+
+    /**
+     * Hands a leased ticket back to its queue.
+     */
+    public void release(Long ticketId, String token, Long technicianId) {
+        takeLease(ticketId, token, technicianId);
+        requeue(ticketId);
+    }
+
+    @Scheduled(fixedDelayString = "${dispatch.sweep-interval-ms:5000}")
+    public void expireLeases() {
+        expireLeases(LocalDateTime.now());
+    }
+
+    void expireLeases(LocalDateTime now) {
+        for (DispatchLease lease : leases.values()) {
+            if (lease.expiresAt().isBefore(now) && leases.remove(lease.ticketId(), lease)) {
+                log.debug("Lease on ticket {} by technician {} expired", lease.ticketId(), lease.technicianId());
+                requeue(lease.ticketId());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        Set<Long> pending = changedDuringRebuild;
+        if (pending != null) {
+            pending.add(event.ticketId());
+        }
+        TicketSnapshot after = event.after();
+        if (after == null || after.assignedToId() != null || !TicketStatus.ACTIVE.contains(after.status())) {
+            drop(event.ticketId());
+            return;
+        }
+        Entry current = state.entries().get(event.ticketId());
+        if (current == null) {
+            refresh(List.of(event.ticketId()));
+        } else if (current.priority() != after.priority()) {
+            offer(state, new Entry(current.ticketId(), current.department(), after.priority(), current.createdAt(), false));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${dispatch.rebuild-interval-ms:300000}",
+            fixedDelayString = "${dispatch.rebuild-interval-ms:300000}")
+    public synchronized void rebuild() {
+        Set<Long> pending = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = pending;
+        State fresh = new State();
+        try {
+            List<Object[]> page;
+            long lastId = 0;
+            do {
+                page = ticketRepository.findDispatchableAfter(lastId, TicketStatus.ACTIVE, Limit.of(LOAD_BATCH));
+                for (Object[] row : page) {
+                    lastId = (Long) row[0];
+                    Entry entry = entry(row);
+                    if (entry != null) {
+                        offer(fresh, entry);
+                    }
+                }
+            } while (page.size() == LOAD_BATCH);
+            state = fresh;
+        } finally {
+            changedDuringRebuild = null;
+        }
+
+        // Tickets changed while loading may have been read before the change
+        if (!pending.isEmpty()) {
+            refresh(pending);
+        }
+        log.debug("Rebuilt dispatch queues with {} unassigned tickets", fresh.entries().size());
+    }
+
+    private DispatchLease takeLease(Long ticketId, String token, Long technicianId) {
+        DispatchLease lease = leases.get(ticketId);
+        if (lease == null || !lease.token().equals(token) || !lease.technicianId().equals(technicianId)
+                || !leases.remove(ticketId, lease)) {
+            throw new IllegalStateException("No lease on this ticket is held by you");
+        }
+        return lease;
+    }
+
+    // Rows are locked, so the unassigned check and the update see the same ticket
+    private boolean assign(Long ticketId, Long technicianId) {
+        List<TicketSnapshot> tickets = ticketRepository.lockSnapshotsByIdIn(List.of(ticketId));
+        if (tickets.isEmpty()) {
+            return false;
+        }
+        TicketSnapshot before = tickets.getFirst();
+        if (before.assignedToId() != null || !TicketStatus.ACTIVE.contains(before.status())) {
+            return false;
+        }
+        ticketRepository.updateAssignee(List.of(ticketId), userRepository.getReferenceById(technicianId),
+                TicketStatus.ACTIVE, LocalDateTime.now());
+        eventPublisher.publishEvent(TicketChangedEvent.updated(before, before.withAssignedToId(technicianId)));
+        return true;
+    }
+
+    private void refresh(Collection<Long> ticketIds) {
+        Set<Long> missing = new HashSet<>(ticketIds);
+        for (Object[] row : ticketRepository.findDispatchableByIdIn(ticketIds, TicketStatus.ACTIVE)) {
+            missing.remove((Long) row[0]);
+            Entry entry = entry(row);
+            if (entry != null) {
+                offer(state, entry);
+            }
+        }
+        missing.forEach(this::drop);
+    }
+
+    private void offer(State target, Entry entry) {
+        target.entries().compute(entry.ticketId(), (id, current) -> {
+            if ((current != null && current.leased()) || leases.containsKey(id)) {
+                return entry.asLeased();
+            }
+            if (current != null) {
+                target.queues().get(current.department()).remove(current);
+            }
+            target.queues().get(entry.department()).add(entry);
+            return entry;
+        });
+    }
+
+    private void requeue(Long ticketId) {
+        State current = state;
+        current.entries().computeIfPresent(ticketId, (id, entry) -> {
+            if (!entry.leased()) {
+                return entry;
+            }
+            Entry queued = entry.asQueued();
+            current.queues().get(queued.department()).add(queued);
+            return queued;
+        });
+    }
+
+    private void drop(Long ticketId) {
+        State current = state;
+        current.entries().computeIfPresent(ticketId, (id, entry) -> {
+            if (!entry.leased()) {
+                current.queues().get(entry.department()).remove(entry);
+            }
+            return null;
+        });
+        leases.remove(ticketId);
+    }
+
+    // Null for a ticket that routes to no department
+    private Entry entry(Object[] row) {
+        Department department = assignmentEngine.route((String) row[4], (TicketCategory) row[3]);
+        return department == null ? null
+                : new Entry((Long) row[0], department, (Priority) row[1], (LocalDateTime) row[2], false);
+    }
+
+    private record Entry(Long ticketId, Department department, Priority priority, LocalDateTime createdAt,
+                         boolean leased) {
+
+        Entry asLeased() {
+            return new Entry(ticketId, department, priority, createdAt, true);
+        }
+
+        Entry asQueued() {
+            return new Entry(ticketId, department, priority, createdAt, false);
+        }
+    }
+
+    private record State(Map<Department, ConcurrentSkipListSet<Entry>> queues, ConcurrentHashMap<Long, Entry> entries) {
+
+        State() {
+            this(emptyQueues(), new ConcurrentHashMap<>());
+        }
+
+        private static Map<Department, ConcurrentSkipListSet<Entry>> emptyQueues() {
+            Map<Department, ConcurrentSkipListSet<Entry>> queues = new EnumMap<>(Department.class);
+            for (Department department : Department.values()) {
+                queues.put(department, new ConcurrentSkipListSet<>(ORDER));
+            }
+            return queues;
+        }
+    }
+}
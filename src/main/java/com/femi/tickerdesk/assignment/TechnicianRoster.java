@@ -0,0 +1,137 @@
+package com.femi.tickerdesk.assignment;
+
+import com.femi.tickerdesk.dto.TechnicianSummary;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.event.UserChangedEvent;
+import com.femi.tickerdesk.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Active technicians per department, served from an immutable snapshot so readers never lock
+ * or touch the database. A {@link UserChangedEvent} re-reads only the changed users after their
+ * transaction commits and swaps in a snapshot with just the affected departments replaced.
+ * The whole roster is reloaded on a schedule to pick up changes made by other instances.
+ */
+@Component
+@Slf4j
+public class TechnicianRoster {
+
+    private static final int LOAD_BATCH = 1000;
+    private static final Comparator<String> NAME = Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER);
+    private static final Comparator<TechnicianSummary> ORDER = Comparator
+            .comparing(TechnicianSummary::lastName, NAME)
+            .thenComparing(TechnicianSummary::firstName, NAME)
+            .thenComparing(TechnicianSummary::id);
+
+    private final UserRepository userRepository;
+
+    private volatile Snapshot snapshot;
+
+    public TechnicianRoster(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Returns the active technicians of a department ordered by name. The list is immutable.
+     */
+    public List<TechnicianSummary> technicians(Department department) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reload();
+            current = snapshot;
+        }
+        return current.byDepartment().getOrDefault(department, List.of());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>(event.userIds());
+        Set<Department> affected = EnumSet.noneOf(Department.class);
+        for (Long id : ids) {
+            Department department = current.departments().get(id);
+            if (department != null) {
+                affected.add(department);
+            }
+        }
+
+        List<TechnicianSummary> fresh = new ArrayList<>();
+        List<Long> idList = new ArrayList<>(ids);
+        for (int from = 0; from < idList.size(); from += LOAD_BATCH) {
+            fresh.addAll(userRepository.findActiveTechnicianSummariesByIdIn(idList.subList(from, Math.min(from + LOAD_BATCH, idList.size()))));
+        }
+        fresh.forEach(technician -> affected.add(technician.department()));
+        if (affected.isEmpty()) {
+            return;
+        }
+
+        Map<Department, List<TechnicianSummary>> changed = new EnumMap<>(Department.class);
+        for (Department department : affected) {
+            List<TechnicianSummary> roster = new ArrayList<>();
+            for (TechnicianSummary technician : current.byDepartment().getOrDefault(department, List.of())) {
+                if (!ids.contains(technician.id())) {
+                    roster.add(technician);
+                }
+            }
+            changed.put(department, roster);
+        }
+        fresh.forEach(technician -> changed.get(technician.department()).add(technician));
+        snapshot = current.replace(changed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${technician-roster.reload-interval-ms:300000}",
+            fixedDelayString = "${technician-roster.reload-interval-ms:300000}")
+    public synchronized void reload() {
+        Snapshot loaded = Snapshot.of(userRepository.findActiveTechnicianSummaries());
+        snapshot = loaded;
+        log.debug("Loaded technician roster of {} technicians", loaded.departments().size());
+    }
+
+    private record Snapshot(Map<Department, List<TechnicianSummary>> byDepartment, Map<Long, Department> departments) {
+
+        static Snapshot of(Collection<TechnicianSummary> technicians) {
+            Map<Department, List<TechnicianSummary>> grouped = new EnumMap<>(Department.class);
+            for (TechnicianSummary technician : technicians) {
+                grouped.computeIfAbsent(technician.department(), department -> new ArrayList<>()).add(technician);
+            }
+            return new Snapshot(Map.of(), Map.of()).replace(grouped);
+        }
+
+        // Copies the snapshot with the rosters of the given departments replaced
+        Snapshot replace(Map<Department, List<TechnicianSummary>> rosters) {
+            Map<Department, List<TechnicianSummary>> byDepartment = new EnumMap<>(Department.class);
+            byDepartment.putAll(this.byDepartment);
+            Map<Long, Department> departments = new HashMap<>(this.departments);
+            // Clear every replaced roster before filling any, so a technician moving between two
+            // of them is not dropped by whichever department is processed second
+            rosters.keySet().forEach(department -> this.byDepartment.getOrDefault(department, List.of())
+                    .forEach(technician -> departments.remove(technician.id())));
+            rosters.forEach((department, roster) -> {
+                roster.forEach(technician -> departments.put(technician.id(), department));
+                byDepartment.put(department, roster.stream().sorted(ORDER).toList());
+            });
+            return new Snapshot(Collections.unmodifiableMap(byDepartment), Map.copyOf(departments));
+        }
+    }
+}
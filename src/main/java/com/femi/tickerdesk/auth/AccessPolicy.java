@@ -0,0 +1,79 @@
+package com.femi.tickerdesk.auth;
+
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.model.User;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Authorization rules for {@code @PreAuthorize}, evaluated against the principal's id and
+ * role only; none of them touch the database.
+ */
+@Component("accessPolicy")
+public class AccessPolicy {
+
+    private static final Set<Role> ADMIN = EnumSet.of(Role.ADMIN);
+    private static final Set<Role> STAFF = EnumSet.of(Role.ADMIN, Role.MANAGER);
+    private static final Set<Role> SUPPORT = EnumSet.of(Role.ADMIN, Role.MANAGER, Role.TECHNICIAN);
+
+    public boolean isStaff(Authentication authentication) {
+        return hasAnyRole(authentication, STAFF);
+    }
+
+    public boolean isSupport(Authentication authentication) {
+        return hasAnyRole(authentication, SUPPORT);
+    }
+
+    public boolean isSelfOrStaff(Authentication authentication, Long userId) {
+        return hasAnyRole(authentication, STAFF) || isSelf(authentication, userId);
+    }
+
+    public boolean isSelfOrAdmin(Authentication authentication, Long userId) {
+        return hasAnyRole(authentication, ADMIN) || isSelf(authentication, userId);
+    }
+
+    public boolean isSelfOrSupport(Authentication authentication, Long userId) {
+        return hasAnyRole(authentication, SUPPORT) || isSelf(authentication, userId);
+    }
+
+    private boolean isSelf(Authentication authentication, Long userId) {
+        Long principalId = userIdOf(authentication);
+        return principalId != null && principalId.equals(userId);
+    }
+
+    private boolean hasAnyRole(Authentication authentication, Set<Role> roles) {
+        Role role = roleOf(authentication);
+        return role != null && roles.contains(role);
+    }
+
+    public Long userIdOf(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof TokenPrincipal tokenPrincipal) {
+            return tokenPrincipal.id();
+        }
+        if (principal instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private Role roleOf(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof TokenPrincipal tokenPrincipal) {
+            return tokenPrincipal.role();
+        }
+        if (principal instanceof User user) {
+            return user.getRole();
+        }
+        return null;
+    }
+}
@@ -1,20 +1,28 @@
 package com.femi.tickerdesk.auth;
 
+import com.femi.tickerdesk.model.User;
 import com.femi.tickerdesk.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
 @Configuration
 public class ApplicationConfiguration {
 
+    private static final String BCRYPT_ID = "bcrypt";
+
     private final UserRepository userRepository;
 
     public ApplicationConfiguration(UserRepository userRepository) {
@@ -28,8 +36,33 @@ public class ApplicationConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPassword) -> {
+            User user = (User) userDetails;
+            userRepository.updatePassword(user.getId(), newPassword);
+            user.setPassword(newPassword);
+            return user;
+        };
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            PasswordHashingExecutor passwordHashingExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${password-hashing.bcrypt-strength:0}") int strength,
+            @Value("${password-hashing.target-latency-ms:250}") long targetLatencyMs,
+            @Value("${password-hashing.min-strength:10}") int minStrength,
+            @Value("${password-hashing.max-strength:14}") int maxStrength
+    ) {
+        CalibratedBCryptPasswordEncoder bcrypt = strength > 0
+                ? new CalibratedBCryptPasswordEncoder(strength)
+                : CalibratedBCryptPasswordEncoder.calibrate(targetLatencyMs, minStrength, maxStrength);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        // Hashes stored before the {bcrypt} prefix was introduced
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new BoundedPasswordEncoder(delegating, passwordHashingExecutor, meterRegistry);
     }
 
     @Bean
@@ -38,11 +71,12 @@ public class ApplicationConfiguration {
     }
 
     @Bean
-    AuthenticationProvider authenticationProvider() {
+    AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
 
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
 
         return authProvider;
     }
@@ -0,0 +1,31 @@
+package com.femi.tickerdesk.auth;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Virtual threads for the blocking part of login and registration: user lookups, inserts and
+ * rehash writes. BCrypt work inside these tasks still goes through {@link BoundedPasswordEncoder}
+ * to the {@link PasswordHashingExecutor}, whose rejection bounds how many of them make progress,
+ * so DB latency never holds a hashing thread.
+ */
+@Component
+public class AuthenticationIoExecutor implements DisposableBean {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("auth-io-", 1).factory());
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,70 @@
+package com.femi.tickerdesk.auth;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose cost is chosen at startup to meet a target verification latency.
+ * Hashes with any other cost are reported for re-encoding, so stored hashes follow the
+ * calibrated cost up or down on the next successful login.
+ */
+@Slf4j
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    /**
+     * Returns the highest cost in [minStrength, maxStrength] whose verification time stays
+     * within the target on this machine. Each step up doubles the work, so calibration
+     * stops as soon as the next cost would exceed the target.
+     */
+    public static CalibratedBCryptPasswordEncoder calibrate(long targetMillis, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        long elapsed = measureMatches(strength);
+
+        while (strength < maxStrength && elapsed * 2 <= targetMillis) {
+            strength++;
+            elapsed = measureMatches(strength);
+        }
+
+        log.info("Calibrated BCrypt cost {} ({} ms per verification, target {} ms)", strength, elapsed, targetMillis);
+        return new CalibratedBCryptPasswordEncoder(strength);
+    }
+
+    private static long measureMatches(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String hash = encoder.encode(CALIBRATION_PASSWORD);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.matches(CALIBRATION_PASSWORD, hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+}
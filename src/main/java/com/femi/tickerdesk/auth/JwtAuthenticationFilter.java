@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +16,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -22,15 +24,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final HandlerExceptionResolver handlerExceptionResolver;
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserSecurityVersions userSecurityVersions;
+    private final boolean statelessPrincipal;
 
     public JwtAuthenticationFilter(
             JwtService jwtService,
             UserDetailsService userDetailsService,
-            HandlerExceptionResolver handlerExceptionResolver
+            UserSecurityVersions userSecurityVersions,
+            HandlerExceptionResolver handlerExceptionResolver,
+            @Value("${jwt.stateless-principal:true}") boolean statelessPrincipal
     ) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.userSecurityVersions = userSecurityVersions;
         this.handlerExceptionResolver = handlerExceptionResolver;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
@@ -48,21 +56,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(7);
-        String userEmail;
+        Optional<VerifiedToken> verifiedToken = jwtService.verify(jwt);
 
-        try {
-            userEmail = jwtService.extractUsername(jwt);
+        if (verifiedToken.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        try {
+            VerifiedToken token = verifiedToken.get();
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                UsernamePasswordAuthenticationToken authToken = statelessPrincipal && token.hasPrincipalClaims()
+                        ? authenticateFromClaims(token)
+                        : authenticateFromUserDetails(token);
 
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
@@ -75,4 +84,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
     }
-}
\ No newline at end of file
+
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(VerifiedToken token) {
+        if (!userSecurityVersions.isCurrent(token.userId(), token.securityVersion())) {
+            return null;
+        }
+
+        TokenPrincipal principal = TokenPrincipal.from(token);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    private UsernamePasswordAuthenticationToken authenticateFromUserDetails(VerifiedToken token) {
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(token.subject());
+
+        if (!jwtService.belongsTo(token, userDetails)) {
+            return null;
+        }
+
+        return new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+    }
+}
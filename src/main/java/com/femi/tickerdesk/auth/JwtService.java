@@ -1,32 +1,72 @@
 package com.femi.tickerdesk.auth;
 
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.util.SegmentedLruCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
+@Slf4j
 public class JwtService {
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String SECURITY_VERSION_CLAIM = "sv";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
+    @Value("${jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    @Value("${jwt.cache.segments:16}")
+    private int cacheSegments;
+
+    private final TokenRevocationService tokenRevocationService;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Verified tokens keyed by SHA-256 of the compact token, so raw bearer tokens are never retained.
+    // Least recently used tokens make room for new ones; expired ones are swept on a schedule.
+    private SegmentedLruCache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    public JwtService(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @PostConstruct
+    void init() {
         byte[] keyBytes = Base64.getDecoder().decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.verifiedTokens = new SegmentedLruCache<>(cacheMaxEntries, cacheSegments);
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -47,23 +87,103 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return verify(token)
+                .map(verified -> belongsTo(verified, userDetails))
+                .orElse(false);
+    }
+
+    public boolean belongsTo(VerifiedToken verified, UserDetails userDetails) {
+        if (!verified.subject().equals(userDetails.getUsername())) {
+            return false;
+        }
+        if (verified.securityVersion() == null || !(userDetails instanceof User user)) {
+            return true;
+        }
+        return verified.securityVersion().equals(user.getSecurityVersion());
+    }
+
+    /**
+     * Verifies the signature and expiry of a token at most once for its lifetime.
+     * Returns empty for malformed, tampered, expired or revoked tokens instead of throwing.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        return verifySignature(token)
+                .filter(verified -> !tokenRevocationService.isRevoked(verified.id()));
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Optional<VerifiedToken> verifySignature(String token) {
+        if (!isStructurallyValid(token)) {
+            return Optional.empty();
+        }
+
+        long now = System.currentTimeMillis();
+        ByteBuffer key = cacheKey(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.remove(key, cached);
+            return Optional.empty();
+        }
+
+        VerifiedToken verified;
+        try {
+            Claims claims = extractAllClaims(token);
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            verified = toVerifiedToken(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        verifiedTokens.put(key, verified);
+        return Optional.of(verified);
+    }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        String role = claims.get(ROLE_CLAIM, String.class);
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get(USER_ID_CLAIM, Long.class),
+                role != null ? Role.valueOf(role) : null,
+                claims.get(SECURITY_VERSION_CLAIM, Integer.class),
+                claims.getIssuedAt(),
+                claims.getExpiration()
+        );
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    @Scheduled(fixedDelayString = "${jwt.cache.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        int removed = verifiedTokens.removeIf(token -> token.isExpired(now));
+        log.debug("Evicted {} expired tokens from the verification cache", removed);
+    }
+
+    private boolean isStructurallyValid(String token) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+        int first = token.indexOf('.');
+        int last = token.lastIndexOf('.');
+        return first > 0 && last > first + 1 && last < token.length() - 1 && token.indexOf('.', first + 1) == last;
+    }
+
+    private ByteBuffer cacheKey(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -73,13 +193,21 @@ public class JwtService {
             UserDetails userDetails,
             long expiration
     ) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        if (userDetails instanceof User user) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(ROLE_CLAIM, user.getRole().name());
+            claims.put(SECURITY_VERSION_CLAIM, user.getSecurityVersion());
+        }
+
         return Jwts
                 .builder()
-                .claims(extraClaims)
+                .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), Jwts.SIG.HS256)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,146 @@
+package com.femi.tickerdesk.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket limiter for unauthenticated credential endpoints, keyed by email and by
+ * client IP. Checked before any BCrypt work so floods are shed cheaply.
+ * <p>
+ * The bucket table is bounded and only the scheduled sweep evicts from it. Once it is
+ * full, unseen keys are rejected until the sweep frees room, so a spray of distinct
+ * emails cannot switch the limiter off or push a scan onto the request thread.
+ */
+@Component
+public class LoginRateLimiter {
+
+    public record Decision(boolean allowed, long retryAfterSeconds) {
+
+        static final Decision ALLOWED = new Decision(true, 0);
+    }
+
+    private final Limit emailLimit;
+    private final Limit ipLimit;
+    private final int maxBuckets;
+    private final long saturatedRetryNanos;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Counter emailRejections;
+    private final Counter ipRejections;
+    private final Counter saturatedRejections;
+
+    public LoginRateLimiter(
+            @Value("${login-rate-limit.email.capacity:5}") int emailCapacity,
+            @Value("${login-rate-limit.email.refill-period-ms:12000}") long emailRefillPeriodMs,
+            @Value("${login-rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${login-rate-limit.ip.refill-period-ms:1000}") long ipRefillPeriodMs,
+            @Value("${login-rate-limit.max-buckets:100000}") int maxBuckets,
+            @Value("${login-rate-limit.eviction-interval-ms:60000}") long evictionIntervalMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.emailLimit = new Limit(emailCapacity, TimeUnit.MILLISECONDS.toNanos(emailRefillPeriodMs));
+        this.ipLimit = new Limit(ipCapacity, TimeUnit.MILLISECONDS.toNanos(ipRefillPeriodMs));
+        this.maxBuckets = maxBuckets;
+        this.saturatedRetryNanos = TimeUnit.MILLISECONDS.toNanos(evictionIntervalMs);
+        this.emailRejections = Counter.builder("login.rate-limit.rejected").tag("key", "email").register(meterRegistry);
+        this.ipRejections = Counter.builder("login.rate-limit.rejected").tag("key", "ip").register(meterRegistry);
+        this.saturatedRejections = Counter.builder("login.rate-limit.rejected").tag("key", "saturated").register(meterRegistry);
+        Gauge.builder("login.rate-limit.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    public Decision tryAcquire(String email, String clientIp) {
+        long now = System.nanoTime();
+
+        if (clientIp != null) {
+            Decision decision = check("ip:" + clientIp, ipLimit, now, ipRejections);
+            if (!decision.allowed()) {
+                return decision;
+            }
+        }
+
+        if (email != null) {
+            return check("email:" + email.toLowerCase(Locale.ROOT), emailLimit, now, emailRejections);
+        }
+
+        return Decision.ALLOWED;
+    }
+
+    private Decision check(String key, Limit limit, long now, Counter rejections) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                // Table saturated: refuse untracked keys until the sweep frees room
+                saturatedRejections.increment();
+                return rejected(saturatedRetryNanos);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket(limit, now));
+        }
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            rejections.increment();
+            return rejected(waitNanos);
+        }
+        return Decision.ALLOWED;
+    }
+
+    @Scheduled(fixedDelayString = "${login-rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    private Decision rejected(long waitNanos) {
+        return new Decision(false, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+    }
+
+    private record Limit(int capacity, long refillPeriodNanos) {
+    }
+
+    /**
+     * Token bucket expressed as a single theoretical arrival time (GCRA), so both refill
+     * and consumption are one compare-and-set with no lock.
+     */
+    private static final class Bucket {
+
+        private final long emissionInterval;
+        private final long burstTolerance;
+        private final AtomicLong theoreticalArrival;
+
+        Bucket(Limit limit, long now) {
+            this.emissionInterval = limit.refillPeriodNanos();
+            this.burstTolerance = limit.refillPeriodNanos() * (limit.capacity() - 1);
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        /**
+         * Returns 0 when a token was taken, otherwise the nanos until one is available.
+         */
+        long tryAcquire(long now) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long next = Math.max(tat, now) + emissionInterval;
+                long wait = next - now - burstTolerance - emissionInterval;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (theoreticalArrival.compareAndSet(tat, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        // A bucket whose arrival time has passed is full again and indistinguishable from a new one
+        boolean isIdle(long now) {
+            return theoreticalArrival.get() - now <= 0;
+        }
+    }
+}
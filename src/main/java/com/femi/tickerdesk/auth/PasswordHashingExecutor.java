@@ -0,0 +1,117 @@
+package com.femi.tickerdesk.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * CPU-sized pool for BCrypt work, kept off the Tomcat request threads.
+ * Submissions beyond the queue capacity are rejected immediately rather than queued.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private static final ThreadLocal<Boolean> HASHING_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private final ThreadPoolExecutor executor;
+    private final Timer queueWait;
+    private final Counter rejections;
+
+    public PasswordHashingExecutor(
+            @Value("${password-hashing.pool-size:0}") int poolSize,
+            @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(() -> {
+                        HASHING_THREAD.set(true);
+                        runnable.run();
+                    }, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.queueWait = Timer.builder("password.hashing.queue.wait")
+                .description("Time password hashing tasks spend waiting for a worker")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("password.hashing.rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        log.info("Password hashing executor started with {} threads and queue capacity {}", threads, queueCapacity);
+    }
+
+    /**
+     * Runs the task on the hashing pool. The returned future fails with
+     * {@link RejectedExecutionException} when the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public int parallelism() {
+        return executor.getCorePoolSize();
+    }
+
+    /**
+     * Runs the task on the hashing pool and waits for it, or runs it inline when
+     * already on a hashing thread so nested calls cannot deadlock the pool.
+     */
+    public <T> T call(Supplier<T> task) {
+        if (HASHING_THREAD.get()) {
+            return task.get();
+        }
+        try {
+            return submit(task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,24 @@
+package com.femi.tickerdesk.auth;
+
+import com.femi.tickerdesk.enumFolder.Role;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+public record TokenPrincipal(Long id, String email, Role role) implements AuthenticatedPrincipal {
+
+    public static TokenPrincipal from(VerifiedToken token) {
+        return new TokenPrincipal(token.userId(), token.subject(), token.role());
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,116 @@
+package com.femi.tickerdesk.auth;
+
+import com.femi.tickerdesk.model.RevokedToken;
+import com.femi.tickerdesk.repository.RevokedTokenRepository;
+import com.femi.tickerdesk.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Denylist of revoked token ids. Every lookup first consults an in-memory Bloom filter,
+ * so the common not-revoked case never touches the database; only possible hits are
+ * confirmed against the persisted revocations.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private static final int LOAD_BATCH = 1000;
+    // Inserts can commit out of id order, so each sync re-reads a little behind the highest id
+    private static final long SYNC_OVERLAP = 1000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile long highestId;
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokenRepository.existsByJti(jti);
+    }
+
+    public void revoke(VerifiedToken token) {
+        if (token.id() == null) {
+            log.debug("Token for {} has no jti and cannot be revoked", token.subject());
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(token.id())
+                .expiresAt(LocalDateTime.ofInstant(token.expiration().toInstant(), ZoneId.systemDefault()))
+                .build());
+        filter.put(token.id());
+    }
+
+    // Picks up revocations made by other instances
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:10000}")
+    public synchronized void sync() {
+        load(filter, Math.max(0, highestId - SYNC_OVERLAP));
+    }
+
+    // Bloom filters cannot forget, so expired revocations are dropped by rebuilding
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:3600000}",
+            initialDelayString = "${jwt.revocation.prune-interval-ms:3600000}")
+    public void prune() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Pruned {} expired token revocations", deleted);
+        rebuild();
+    }
+
+    private synchronized void rebuild() {
+        long active = revokedTokenRepository.countByExpiresAtAfter(LocalDateTime.now());
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, active * 2), falsePositiveRate);
+        highestId = 0;
+        long loaded = load(rebuilt, 0);
+        filter = rebuilt;
+
+        // Re-apply anything revoked on this instance while the new filter was being built
+        sync();
+        log.info("Loaded {} active token revocations", loaded);
+    }
+
+    private long load(BloomFilter target, long afterId) {
+        LocalDateTime now = LocalDateTime.now();
+        long loaded = 0;
+        long lastId = afterId;
+        List<Object[]> page;
+        do {
+            page = revokedTokenRepository.findActiveAfter(lastId, now, Limit.of(LOAD_BATCH));
+            for (Object[] row : page) {
+                target.put((String) row[1]);
+            }
+            loaded += page.size();
+            if (!page.isEmpty()) {
+                lastId = (Long) page.get(page.size() - 1)[0];
+            }
+        } while (page.size() == LOAD_BATCH);
+        highestId = Math.max(highestId, lastId);
+        return loaded;
+    }
+}
@@ -0,0 +1,122 @@
+package com.femi.tickerdesk.auth;
+
+import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * userId -> security version table consulted for every stateless principal. Entries expire
+ * after {@code jwt.security-version.ttl-ms}, so a deactivation, demotion or password change
+ * made on another instance is picked up within one TTL.
+ */
+@Component
+public class UserSecurityVersions {
+
+    private static final int MISSING_USER = -1;
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final Map<Long, Entry> versions = new ConcurrentHashMap<>();
+
+    public UserSecurityVersions(
+            UserRepository userRepository,
+            @Value("${jwt.security-version.ttl-ms:5000}") long ttlMs
+    ) {
+        this.userRepository = userRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        long now = System.nanoTime();
+        Entry observed = versions.get(userId);
+        if (observed != null && observed.isFresh(now)) {
+            return observed.version == tokenVersion;
+        }
+
+        int loaded = userRepository.findSecurityVersionById(userId).orElse(MISSING_USER);
+        Entry fresh = new Entry(loaded, now + ttlNanos);
+        // Only install over the entry we saw: a bump or forget committed meanwhile wins
+        if (observed == null) {
+            versions.putIfAbsent(userId, fresh);
+        } else {
+            versions.replace(userId, observed, fresh);
+        }
+        return loaded == tokenVersion;
+    }
+
+    /**
+     * Increments the user's security version; the in-memory table only sees the
+     * new value once the surrounding transaction commits.
+     */
+    public void bump(User user) {
+        int next = (user.getSecurityVersion() == null ? 0 : user.getSecurityVersion()) + 1;
+        user.setSecurityVersion(next);
+        afterCommit(() -> versions.put(user.getId(), new Entry(next, System.nanoTime() + ttlNanos)));
+    }
+
+    /**
+     * Drops the cached version once the surrounding transaction commits. A tombstone is
+     * written rather than removing the key, so a load that started before the commit
+     * cannot put the old version back.
+     */
+    public void forget(Long userId) {
+        afterCommit(() -> versions.put(userId, Entry.tombstone(System.nanoTime() + ttlNanos)));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.security-version.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        versions.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Compared by identity, so replace() only succeeds against the exact entry a reader saw
+    private static final class Entry {
+
+        private final int version;
+        private final long expiresAt;
+        private final boolean tombstone;
+
+        private Entry(int version, long expiresAt, boolean tombstone) {
+            this.version = version;
+            this.expiresAt = expiresAt;
+            this.tombstone = tombstone;
+        }
+
+        Entry(int version, long expiresAt) {
+            this(version, expiresAt, false);
+        }
+
+        static Entry tombstone(long expiresAt) {
+            return new Entry(MISSING_USER, expiresAt, true);
+        }
+
+        boolean isFresh(long now) {
+            return !tombstone && !isExpired(now);
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.femi.tickerdesk.auth;
+
+import com.femi.tickerdesk.enumFolder.Role;
+
+import java.util.Date;
+
+public record VerifiedToken(
+        String id,
+        String subject,
+        Long userId,
+        Role role,
+        Integer securityVersion,
+        Date issuedAt,
+        Date expiration
+) {
+
+    public boolean isExpired(long nowMillis) {
+        return expiration.getTime() <= nowMillis;
+    }
+
+    // Tokens issued before the principal claims were introduced only carry a subject
+    public boolean hasPrincipalClaims() {
+        return userId != null && role != null && securityVersion != null;
+    }
+}
@@ -0,0 +1,107 @@
+package com.femi.tickerdesk.controller;
+
+import com.femi.tickerdesk.dto.ApiResponse;
+import com.femi.tickerdesk.dto.DirectorySyncReport;
+import com.femi.tickerdesk.dto.DormantAccountReport;
+import com.femi.tickerdesk.dto.TicketArchiveReport;
+import com.femi.tickerdesk.importer.DirectoryReader;
+import com.femi.tickerdesk.importer.DirectorySync;
+import com.femi.tickerdesk.jobs.DormantAccountJob;
+import com.femi.tickerdesk.jobs.TicketArchiveJob;
+import com.femi.tickerdesk.search.TicketIndexer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    private final TicketIndexer ticketIndexer;
+    private final DirectorySync directorySync;
+    private final DormantAccountJob dormantAccountJob;
+    private final TicketArchiveJob ticketArchiveJob;
+
+    @PostMapping("/search/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> rebuildSearchIndex() {
+        log.info("Rebuilding ticket search index");
+
+        ticketIndexer.rebuild().exceptionally(e -> {
+            log.error("Ticket search index rebuild failed", e);
+            return null;
+        });
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Search index rebuild started", null));
+    }
+
+    @PostMapping(value = "/directory/sync", consumes = "multipart/form-data")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<DirectorySyncReport>> syncDirectory(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) DirectoryReader.Format format,
+            @RequestParam(defaultValue = "true") boolean deactivateMissing) {
+        log.info("Syncing employee directory from {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+
+        DirectoryReader.Format resolved = format != null ? format : DirectoryReader.Format.detect(file.getOriginalFilename());
+        try (InputStream input = file.getInputStream()) {
+            DirectorySyncReport report = directorySync.sync(file.getOriginalFilename(), file.getSize(), input,
+                    resolved, deactivateMissing);
+            return ResponseEntity.ok(ApiResponse.success("Directory sync completed", report));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (IOException e) {
+            log.warn("Could not read directory file {}: {}", file.getOriginalFilename(), e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Could not read directory file: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/users/deactivate-dormant")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<DormantAccountReport>> deactivateDormantAccounts(
+            @RequestParam(required = false) Integer inactiveDays) {
+        log.info("Deactivating dormant accounts, inactive days: {}", inactiveDays);
+
+        try {
+            DormantAccountReport report = dormantAccountJob.run(inactiveDays);
+            return ResponseEntity.ok(ApiResponse.success("Dormant account deactivation finished", report));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/tickets/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<TicketArchiveReport>> archiveTickets(
+            @RequestParam(required = false) Integer closedDays) {
+        log.info("Archiving finished tickets, closed days: {}", closedDays);
+
+        try {
+            TicketArchiveReport report = ticketArchiveJob.run(closedDays);
+            return ResponseEntity.ok(ApiResponse.success("Ticket archival finished", report));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.femi.tickerdesk.controller;
 
 import com.femi.tickerdesk.auth.JwtService;
+import com.femi.tickerdesk.auth.LoginRateLimiter;
+import com.femi.tickerdesk.auth.AuthenticationIoExecutor;
+import com.femi.tickerdesk.auth.TokenRevocationService;
 import com.femi.tickerdesk.dto.*;
 import com.femi.tickerdesk.enumFolder.Department;
 import com.femi.tickerdesk.enumFolder.Role;
 import com.femi.tickerdesk.enumFolder.Site;
 import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.service.LastLoginRecorder;
 import com.femi.tickerdesk.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,10 +24,14 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -33,93 +43,157 @@ public class AuthController {
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final AuthenticationIoExecutor authenticationIoExecutor;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final PasswordEncoder passwordEncoder;
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> login(@Valid @RequestBody LoginRequest request,
+                                                                              HttpServletRequest httpRequest) {
         log.info("Login attempt for email: {}", request.getEmail());
 
-        try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-            );
-            User user = userService.findByEmail(request.getEmail())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            if (!user.getIsActive()) {
-                log.warn("Login attempt for inactive user: {}", request.getEmail());
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(ApiResponse.error("Account is deactivated. Please contact administrator."));
-            }
-            String token = jwtService.generateToken(user);
-            userService.updateLastLogin(user.getId());
-            AuthResponse authResponse = AuthResponse.builder()
-                    .token(token)
-                    .tokenType("Bearer")
-                    .user(UserInfo.fromUser(user))
-                    .build();
+        LoginRateLimiter.Decision decision = loginRateLimiter.tryAcquire(request.getEmail(), httpRequest.getRemoteAddr());
+        if (!decision.allowed()) {
+            log.warn("Login rate limited for email: {}", request.getEmail());
+            return CompletableFuture.completedFuture(tooManyRequests(decision));
+        }
 
-            log.info("Successful login for user: {}", request.getEmail());
-            return ResponseEntity.ok(ApiResponse.success("Login successful", authResponse));
+        // Only the BCrypt check inside authenticate runs on the hashing pool, via the password encoder
+        return authenticationIoExecutor.submit(() -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
+                ))
+                .thenApply(authentication -> completeLogin(request, authentication))
+                .exceptionally(e -> loginFailed(request, unwrap(e)));
+    }
 
-        } catch (BadCredentialsException e) {
+    private ResponseEntity<ApiResponse<AuthResponse>> completeLogin(LoginRequest request, Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        if (!user.getIsActive()) {
+            log.warn("Login attempt for inactive user: {}", request.getEmail());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error("Account is deactivated. Please contact administrator."));
+        }
+        String token = jwtService.generateToken(user);
+        lastLoginRecorder.record(user.getId());
+        AuthResponse authResponse = AuthResponse.builder()
+                .token(token)
+                .tokenType("Bearer")
+                .user(UserInfo.fromUser(user))
+                .build();
+
+        log.info("Successful login for user: {}", request.getEmail());
+        return ResponseEntity.ok(ApiResponse.success("Login successful", authResponse));
+    }
+
+    private ResponseEntity<ApiResponse<AuthResponse>> loginFailed(LoginRequest request, Throwable e) {
+        if (rejectedByHashingPool(e)) {
+            log.warn("Login rejected, password hashing queue is full: {}", request.getEmail());
+            return serverBusy();
+        }
+        if (e instanceof BadCredentialsException) {
             log.warn("Invalid credentials for email: {}", request.getEmail());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Invalid email or password"));
-        } catch (AuthenticationException e) {
+        }
+        if (e instanceof AuthenticationException) {
             log.error("Authentication failed for email: {}", request.getEmail(), e);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Authentication failed"));
-        } catch (Exception e) {
-            log.error("Login error for email: {}", request.getEmail(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("Login failed. Please try again."));
         }
+        log.error("Login error for email: {}", request.getEmail(), e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Login failed. Please try again."));
     }
 
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> register(@Valid @RequestBody RegisterRequest request,
+                                                                                 HttpServletRequest httpRequest) {
         log.info("Registration attempt for email: {}", request.getEmail());
 
-        try {
-            if (userService.existsByEmail(request.getEmail())) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.error("User with this email already exists"));
-            }
-            if (request.getEmployeeId() != null && userService.existsByEmployeeId(request.getEmployeeId())) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.error("User with this employee ID already exists"));
-            }
-            User user = User.builder()
-                    .email(request.getEmail())
-                    .firstName(request.getFirstName())
-                    .lastName(request.getLastName())
-                    .password(request.getPassword())
-                    .department(request.getDepartment())
-                    .site(request.getSite())
-                    .role(request.getRole() != null ? request.getRole() : Role.USER)
-                    .employeeId(request.getEmployeeId())
-                    .isActive(true)
-                    .build();
-
-            User createdUser = userService.createUser(user);
-            String token = jwtService.generateToken(createdUser);
-            AuthResponse authResponse = AuthResponse.builder()
-                    .token(token)
-                    .tokenType("Bearer")
-                    .user(UserInfo.fromUser(createdUser))
-                    .build();
+        LoginRateLimiter.Decision decision = loginRateLimiter.tryAcquire(request.getEmail(), httpRequest.getRemoteAddr());
+        if (!decision.allowed()) {
+            log.warn("Registration rate limited for email: {}", request.getEmail());
+            return CompletableFuture.completedFuture(tooManyRequests(decision));
+        }
 
-            log.info("Successful registration for user: {}", request.getEmail());
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(ApiResponse.success("Registration successful", authResponse));
+        if (userService.existsByEmail(request.getEmail())) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("User with this email already exists")));
+        }
+        if (request.getEmployeeId() != null && userService.existsByEmployeeId(request.getEmployeeId())) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("User with this employee ID already exists")));
+        }
+        User user = User.builder()
+                .email(request.getEmail())
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .department(request.getDepartment())
+                .site(request.getSite())
+                .role(request.getRole() != null ? request.getRole() : Role.USER)
+                .employeeId(request.getEmployeeId())
+                .isActive(true)
+                .build();
+
+        return authenticationIoExecutor.submit(() -> {
+                    user.setPassword(passwordEncoder.encode(request.getPassword()));
+                    return userService.createUserWithEncodedPassword(user);
+                })
+                .thenApply(createdUser -> {
+                    String token = jwtService.generateToken(createdUser);
+                    AuthResponse authResponse = AuthResponse.builder()
+                            .token(token)
+                            .tokenType("Bearer")
+                            .user(UserInfo.fromUser(createdUser))
+                            .build();
+
+                    log.info("Successful registration for user: {}", request.getEmail());
+                    return ResponseEntity.status(HttpStatus.CREATED)
+                            .body(ApiResponse.success("Registration successful", authResponse));
+                })
+                .exceptionally(e -> registrationFailed(request, unwrap(e)));
+    }
 
-        } catch (IllegalArgumentException e) {
+    private ResponseEntity<ApiResponse<AuthResponse>> registrationFailed(RegisterRequest request, Throwable e) {
+        if (e instanceof IllegalArgumentException) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
-        } catch (Exception e) {
-            log.error("Registration error for email: {}", request.getEmail(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("Registration failed. Please try again."));
         }
+        if (rejectedByHashingPool(e)) {
+            log.warn("Registration rejected, password hashing queue is full: {}", request.getEmail());
+            return serverBusy();
+        }
+        log.error("Registration error for email: {}", request.getEmail(), e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Registration failed. Please try again."));
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> tooManyRequests(LoginRateLimiter.Decision decision) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()))
+                .body(ApiResponse.error("Too many attempts. Please try again later."));
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> serverBusy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error("Server is busy. Please try again shortly."));
+    }
+
+    private Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    // The provider wraps some encoder failures, e.g. the dummy check for an unknown email
+    private boolean rejectedByHashingPool(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RejectedExecutionException) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @PostMapping("/refresh")
@@ -154,10 +228,14 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<Void>> logout() {
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
         log.info("Logout attempt");
 
         try {
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                jwtService.verify(authHeader.substring(7)).ifPresent(tokenRevocationService::revoke);
+            }
             SecurityContextHolder.clearContext();
             return ResponseEntity.ok(ApiResponse.success("Logout successful", null));
         } catch (Exception e) {
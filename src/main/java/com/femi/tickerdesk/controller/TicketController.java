@@ -1,22 +1,46 @@
 package com.femi.tickerdesk.controller;
 
+import com.femi.tickerdesk.assignment.DispatchQueue;
+import com.femi.tickerdesk.auth.AccessPolicy;
 import com.femi.tickerdesk.dto.ApiResponse;
+import com.femi.tickerdesk.dto.BulkTicketUpdateReport;
+import com.femi.tickerdesk.dto.BulkTicketUpdateRequest;
+import com.femi.tickerdesk.dto.CursorPage;
+import com.femi.tickerdesk.dto.DispatchLease;
+import com.femi.tickerdesk.dto.TicketDetail;
+import com.femi.tickerdesk.dto.TicketFilter;
 import com.femi.tickerdesk.dto.TicketRequestDTO;
+import com.femi.tickerdesk.dto.TicketSearchResult;
+import com.femi.tickerdesk.dto.TicketStatistics;
+import com.femi.tickerdesk.dto.TicketSummary;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketSort;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
 import com.femi.tickerdesk.model.ServiceCatalogItem;
 import com.femi.tickerdesk.model.Ticket;
 import com.femi.tickerdesk.model.User;
 import com.femi.tickerdesk.repository.ServiceCatalogItemRepository;
 import com.femi.tickerdesk.repository.UserRepository;
+import com.femi.tickerdesk.service.StaleVersionException;
 import com.femi.tickerdesk.service.TicketService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.function.Consumer;
+
 @RestController
 @RequestMapping("/api/tickets")
 @RequiredArgsConstructor
@@ -27,10 +51,12 @@ public class TicketController {
     private final TicketService ticketService;
     private final UserRepository userRepository;
     private final ServiceCatalogItemRepository serviceCatalogRepository;
+    private final DispatchQueue dispatchQueue;
+    private final AccessPolicy accessPolicy;
 
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public ResponseEntity<ApiResponse<Ticket>> createTicket(@Valid @RequestBody TicketRequestDTO request) {
+    @PreAuthorize("@accessPolicy.isStaff(authentication)")
+    public ResponseEntity<ApiResponse<TicketDetail>> createTicket(@Valid @RequestBody TicketRequestDTO request) {
         Ticket ticket = new Ticket();
 
         // Basic fields
@@ -63,8 +89,231 @@ public class TicketController {
         Ticket savedTicket = ticketService.createTicket(ticket);
 
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Ticket created", savedTicket));
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(String.valueOf(savedTicket.getVersion()))
+                .body(ApiResponse.success("Ticket created", TicketDetail.from(savedTicket)));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<Page<TicketSearchResult>>> searchTickets(
+            @RequestParam String q,
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(required = false) TicketCategory category,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        TicketFilter filter = TicketFilter.builder()
+                .status(status)
+                .category(category)
+                .priority(priority)
+                .build();
+
+        try {
+            Page<TicketSearchResult> results = ticketService.search(q, filter, PageRequest.of(page, size));
+            return ResponseEntity.ok(ApiResponse.success("Search completed", results));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/statistics")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<TicketStatistics>> getTicketStatistics(
+            @RequestParam(required = false) Department department) {
+        return ResponseEntity.ok(ApiResponse.success("Statistics retrieved", ticketService.getTicketStatistics(department)));
+    }
+
+    @GetMapping("/{id}")
+    @PostAuthorize("@accessPolicy.isSelfOrSupport(authentication, returnObject.body?.data?.createdById)")
+    public ResponseEntity<ApiResponse<TicketDetail>> getTicketById(@PathVariable Long id) {
+        return ticketDetail(id, "Ticket found");
     }
 
+    @GetMapping
+    @PreAuthorize("@accessPolicy.isSelfOrSupport(authentication, #createdById)")
+    public ResponseEntity<ApiResponse<CursorPage<TicketSummary>>> listTickets(
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(required = false) TicketCategory category,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) Long assignedToId,
+            @RequestParam(required = false) Long createdById,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "NEWEST") TicketSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        // A substring match here would scan every row; text search is served by the index
+        if (keyword != null && !keyword.isBlank()) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("keyword is not supported here; use GET /api/tickets/search?q= instead"));
+        }
+
+        TicketFilter filter = TicketFilter.builder()
+                .status(status)
+                .category(category)
+                .priority(priority)
+                .assignedToId(assignedToId)
+                .createdById(createdById)
+                .build();
+
+        try {
+            CursorPage<TicketSummary> page = ticketService.findPage(filter, sort, cursor, size, includeTotal);
+            return ResponseEntity.ok(ApiResponse.success("Tickets retrieved", page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{id}/auto-assign")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<TicketDetail>> autoAssignTicket(
+            @PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Auto-assigning ticket {}", id);
+        return change(id, ifMatch, "Ticket assigned", version -> ticketService.autoAssignTicket(id, version));
+    }
+
+    @PutMapping("/{id}/assign/{userId}")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<TicketDetail>> assignTicket(
+            @PathVariable Long id, @PathVariable Long userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Assigning ticket {} to user {}", id, userId);
+
+        return change(id, ifMatch, "Ticket assigned", version -> ticketService.assignTicket(id, userId, version));
+    }
+
+    @PutMapping("/{id}/unassign")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<TicketDetail>> unassignTicket(
+            @PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Unassigning ticket {}", id);
+        return change(id, ifMatch, "Ticket unassigned", version -> ticketService.unassignTicket(id, version));
+    }
+
+    @PutMapping("/{id}/status")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<TicketDetail>> updateTicketStatus(
+            @PathVariable Long id, @RequestParam TicketStatus status,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Moving ticket {} to {}", id, status);
+        return change(id, ifMatch, "Ticket status updated", version -> ticketService.updateTicketStatus(id, status, version));
+    }
+
+    @PutMapping("/{id}/priority")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<TicketDetail>> updateTicketPriority(
+            @PathVariable Long id, @RequestParam Priority priority,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Setting priority of ticket {} to {}", id, priority);
+        return change(id, ifMatch, "Ticket priority updated", version -> ticketService.updateTicketPriority(id, priority, version));
+    }
 
+    @PutMapping("/{id}/resolve")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<TicketDetail>> resolveTicket(
+            @PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Resolving ticket {}", id);
+        return change(id, ifMatch, "Ticket resolved", version -> ticketService.resolveTicket(id, version));
+    }
+
+    @PutMapping("/{id}/close")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<TicketDetail>> closeTicket(
+            @PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Closing ticket {}", id);
+        return change(id, ifMatch, "Ticket closed", version -> ticketService.closeTicket(id, version));
+    }
+
+    @PutMapping("/{id}/reopen")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<TicketDetail>> reopenTicket(
+            @PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Reopening ticket {}", id);
+        return change(id, ifMatch, "Ticket reopened", version -> ticketService.reopenTicket(id, version));
+    }
+
+    @PutMapping("/bulk")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<BulkTicketUpdateReport>> bulkUpdate(@Valid @RequestBody BulkTicketUpdateRequest request) {
+        log.info("Bulk updating {} tickets", request.getTicketIds().size());
+
+        try {
+            BulkTicketUpdateReport report = ticketService.bulkUpdate(request);
+            return ResponseEntity.ok(ApiResponse.success("Updated " + report.getUpdated() + " of " + report.getTotal() + " tickets", report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/dispatch/{department}/claim")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<DispatchLease>> claimNextTicket(@PathVariable Department department,
+                                                                      Authentication authentication) {
+        return dispatchQueue.claim(department, accessPolicy.userIdOf(authentication))
+                .map(lease -> ResponseEntity.ok(ApiResponse.success("Ticket leased", lease)))
+                .orElseGet(() -> ResponseEntity.ok(ApiResponse.success("No tickets waiting", null)));
+    }
+
+    @PostMapping("/{id}/lease/acknowledge")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<TicketDetail>> acknowledgeLease(@PathVariable Long id, @RequestParam String token,
+                                                                      Authentication authentication) {
+        return change(id, null, "Ticket assigned",
+                version -> dispatchQueue.acknowledge(id, token, accessPolicy.userIdOf(authentication)));
+    }
+
+    @PostMapping("/{id}/lease/release")
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<Void>> releaseLease(@PathVariable Long id, @RequestParam String token,
+                                                          Authentication authentication) {
+        try {
+            dispatchQueue.release(id, token, accessPolicy.userIdOf(authentication));
+            return ResponseEntity.ok(ApiResponse.success("Ticket returned to the queue", null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Runs a single-ticket change and answers with the updated ticket, 404, 409, or 412 when If-Match is stale
+    private ResponseEntity<ApiResponse<TicketDetail>> change(Long id, String ifMatch, String message,
+                                                            Consumer<Long> update) {
+        try {
+            update.accept(expectedVersion(ifMatch));
+            return ticketDetail(id, message);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        } catch (StaleVersionException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(String.valueOf(e.getCurrentVersion()))
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<ApiResponse<TicketDetail>> ticketDetail(Long id, String message) {
+        return ticketService.findDetailById(id)
+                .map(detail -> ResponseEntity.ok().eTag(String.valueOf(detail.version()))
+                        .body(ApiResponse.success(message, detail)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // The version in an If-Match ETag; null for none or "*", and one that never matches if it is not ours
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
 }
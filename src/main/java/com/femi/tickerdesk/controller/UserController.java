@@ -4,9 +4,11 @@ import com.femi.tickerdesk.dto.*;
 import com.femi.tickerdesk.enumFolder.Department;
 import com.femi.tickerdesk.enumFolder.Role;
 import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.importer.UserImporter;
 import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.search.UserTypeaheadIndex;
+import com.femi.tickerdesk.service.UserIdentifierFilter;
 import com.femi.tickerdesk.service.UserService;
-import com.femi.tickerdesk.service.UserServiceImpl;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,9 +36,12 @@ import java.util.Optional;
 public class UserController {
 
     private final UserService userService;
+    private final UserImporter userImporter;
+    private final UserTypeaheadIndex userTypeaheadIndex;
+    private final UserIdentifierFilter userIdentifierFilter;
 
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @PreAuthorize("@accessPolicy.isStaff(authentication)")
     public ResponseEntity<ApiResponse<User>> createUser(@Valid @RequestBody CreateUserRequest request) {
         log.info("Creating new user with email: {}", request.getEmail());
 
@@ -69,7 +74,7 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or authentication.name == @userService.findById(#id).orElse(new com.femi.tickerdesk.model.User()).email")
+    @PreAuthorize("@accessPolicy.isSelfOrStaff(authentication, #id)")
     public ResponseEntity<ApiResponse<User>> getUserById(@PathVariable Long id) {
         log.debug("Fetching user with ID: {}", id);
 
@@ -80,7 +85,7 @@ public class UserController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or authentication.name == @userService.findById(#id).orElse(new com.femi.tickerdesk.model.User()).email")
+    @PreAuthorize("@accessPolicy.isSelfOrStaff(authentication, #id)")
     public ResponseEntity<ApiResponse<User>> updateUser(@PathVariable Long id,
                                                         @Valid @RequestBody UpdateUserRequest request) {
         log.info("Updating user with ID: {}", id);
@@ -129,7 +134,7 @@ public class UserController {
     }
 
     @GetMapping
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @PreAuthorize("@accessPolicy.isStaff(authentication)")
     public ResponseEntity<ApiResponse<Page<User>>> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -148,7 +153,7 @@ public class UserController {
     }
 
     @GetMapping("/search")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @PreAuthorize("@accessPolicy.isStaff(authentication)")
     public ResponseEntity<ApiResponse<Page<User>>> searchUsers(
             @RequestParam String query,
             @RequestParam(defaultValue = "0") int page,
@@ -162,8 +167,22 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("Search completed", users));
     }
 
+    @GetMapping("/suggest")
+    @PreAuthorize("@accessPolicy.isStaff(authentication)")
+    public ResponseEntity<ApiResponse<List<UserSuggestion>>> suggestUsers(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Department department,
+            @RequestParam(required = false) Site site,
+            @RequestParam(required = false) Role role,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<UserSuggestion> suggestions = userTypeaheadIndex.suggest(query, department, site, role, limit);
+
+        return ResponseEntity.ok(ApiResponse.success("Suggestions retrieved", suggestions));
+    }
+
     @GetMapping("/department/{department}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @PreAuthorize("@accessPolicy.isStaff(authentication)")
     public ResponseEntity<ApiResponse<List<User>>> getUsersByDepartment(@PathVariable Department department) {
         log.debug("Fetching users by department: {}", department);
 
@@ -173,7 +192,7 @@ public class UserController {
     }
 
     @GetMapping("/site/{site}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @PreAuthorize("@accessPolicy.isStaff(authentication)")
     public ResponseEntity<ApiResponse<List<User>>> getUsersBySite(@PathVariable Site site) {
         log.debug("Fetching users by site: {}", site);
 
@@ -193,7 +212,7 @@ public class UserController {
     }
 
     @GetMapping("/active")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @PreAuthorize("@accessPolicy.isStaff(authentication)")
     public ResponseEntity<ApiResponse<List<User>>> getActiveUsers() {
         log.debug("Fetching active users");
 
@@ -247,7 +266,7 @@ public class UserController {
     }
 
     @PutMapping("/{id}/change-password")
-    @PreAuthorize("hasRole('ADMIN') or authentication.name == @userService.findById(#id).orElse(new com.femi.tickerdesk.model.User()).email")
+    @PreAuthorize("@accessPolicy.isSelfOrAdmin(authentication, #id)")
     public ResponseEntity<ApiResponse<Void>> changePassword(@PathVariable Long id,
                                                             @Valid @RequestBody ChangePasswordRequest request) {
         log.info("Changing password for user ID: {}", id);
@@ -318,12 +337,12 @@ public class UserController {
     }
 
     @GetMapping("/statistics")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public ResponseEntity<ApiResponse<UserServiceImpl.UserStatistics>> getUserStatistics() {
+    @PreAuthorize("@accessPolicy.isStaff(authentication)")
+    public ResponseEntity<ApiResponse<UserStatistics>> getUserStatistics() {
         log.debug("Fetching user statistics");
 
         try {
-            UserServiceImpl.UserStatistics stats = ((UserServiceImpl) userService).getUserStatistics();
+            UserStatistics stats = userService.getUserStatistics();
             return ResponseEntity.ok(ApiResponse.success("Statistics retrieved", stats));
         } catch (Exception e) {
             log.error("Error fetching statistics: ", e);
@@ -333,55 +352,32 @@ public class UserController {
     }
 
     @GetMapping("/technicians/{department}")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or hasRole('TECHNICIAN')")
-    public ResponseEntity<ApiResponse<List<User>>> getTechniciansByDepartment(@PathVariable Department department) {
+    @PreAuthorize("@accessPolicy.isSupport(authentication)")
+    public ResponseEntity<ApiResponse<List<TechnicianSummary>>> getTechniciansByDepartment(@PathVariable Department department) {
         log.debug("Fetching technicians for department: {}", department);
 
-        List<User> technicians = userService.findActiveTechniciansByDepartment(department);
+        List<TechnicianSummary> technicians = userService.findActiveTechniciansByDepartment(department);
 
         return ResponseEntity.ok(ApiResponse.success("Technicians retrieved", technicians));
     }
 
     @PostMapping("/bulk")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<User>>> createBulkUsers(@Valid @RequestBody List<CreateUserRequest> requests) {
-        log.info("Creating {} users in bulk", requests.size());
+    public ResponseEntity<ApiResponse<BulkImportReport>> createBulkUsers(@RequestBody List<CreateUserRequest> requests) {
+        log.info("Importing {} users in bulk", requests.size());
 
-        try {
-            List<User> users = requests.stream()
-                    .map(request -> User.builder()
-                            .email(request.getEmail())
-                            .firstName(request.getFirstName())
-                            .lastName(request.getLastName())
-                            .password(request.getPassword())
-                            .department(request.getDepartment())
-                            .site(request.getSite())
-                            .role(request.getRole())
-                            .employeeId(request.getEmployeeId())
-                            .isActive(true)
-                            .build())
-                    .toList();
-
-            List<User> createdUsers = ((UserServiceImpl) userService).createUsers(users);
-
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(ApiResponse.success("Users created successfully", createdUsers));
+        BulkImportReport report = userImporter.importUsers(requests);
+        String message = String.format("Created %d of %d users", report.getCreated(), report.getTotal());
 
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error(e.getMessage()));
-        } catch (Exception e) {
-            log.error("Error creating bulk users: ", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("Failed to create users"));
-        }
+        return ResponseEntity.status(report.getCreated() > 0 ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(ApiResponse.success(message, report));
     }
 
     @GetMapping("/check-email")
     public ResponseEntity<ApiResponse<Boolean>> checkEmailExists(@RequestParam String email) {
         log.debug("Checking if email exists: {}", email);
 
-        boolean exists = userService.existsByEmail(email);
+        boolean exists = userIdentifierFilter.existsByEmail(email, userService::existsByEmail);
 
         return ResponseEntity.ok(ApiResponse.success("Email check completed", exists));
     }
@@ -390,7 +386,7 @@ public class UserController {
     public ResponseEntity<ApiResponse<Boolean>> checkEmployeeIdExists(@RequestParam String employeeId) {
         log.debug("Checking if employee ID exists: {}", employeeId);
 
-        boolean exists = userService.existsByEmployeeId(employeeId);
+        boolean exists = userIdentifierFilter.existsByEmployeeId(employeeId, userService::existsByEmployeeId);
 
         return ResponseEntity.ok(ApiResponse.success("Employee ID check completed", exists));
     }
@@ -0,0 +1,29 @@
+package com.femi.tickerdesk.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkImportReport {
+    private int total;
+    private int created;
+    private int rejected;
+    private List<Row> rows;
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        DUPLICATE_EMAIL,
+        DUPLICATE_EMPLOYEE_ID,
+        FAILED
+    }
+
+    /**
+     * Outcome of one input row; {@code row} is its zero-based position in the request.
+     */
+    public record Row(int row, String email, Status status, Long userId, String message) {
+    }
+}
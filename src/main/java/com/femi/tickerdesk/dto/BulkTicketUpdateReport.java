@@ -0,0 +1,31 @@
+package com.femi.tickerdesk.dto;
+
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkTicketUpdateReport {
+    private int total;
+    private int updated;
+    private int unchanged;
+    private int rejected;
+    private int notFound;
+    private List<Row> tickets;
+
+    public enum Status {
+        UPDATED,
+        UNCHANGED,
+        NOT_ALLOWED,
+        NOT_FOUND
+    }
+
+    /**
+     * Outcome for one ticket; {@code previousStatus} is null when the ticket does not exist.
+     */
+    public record Row(Long ticketId, Status status, TicketStatus previousStatus) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.femi.tickerdesk.dto;
+
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One change applied to many tickets; exactly one of {@code status}, {@code priority} and
+ * {@code assigneeId} is set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTicketUpdateRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<Long> ticketIds;
+
+    private TicketStatus status;
+
+    private Priority priority;
+
+    private Long assigneeId;
+}
@@ -0,0 +1,23 @@
+package com.femi.tickerdesk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private int size;
+    private String nextCursor;
+    private String previousCursor;
+    private boolean hasNext;
+    private boolean hasPrevious;
+    // Only computed when explicitly requested, since it is the one part of a page that scans
+    private Long totalElements;
+}
@@ -0,0 +1,25 @@
+package com.femi.tickerdesk.dto;
+
+import com.femi.tickerdesk.enumFolder.JobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class DirectorySyncReport {
+    private String runId;
+    private JobStatus status;
+    private String source;
+    private long resumedFrom;
+    private long rowsRead;
+    private long inserted;
+    private long updated;
+    private long unchanged;
+    private long deactivated;
+    private long rejected;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<String> errors;
+}
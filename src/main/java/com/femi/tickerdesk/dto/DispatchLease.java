@@ -0,0 +1,20 @@
+package com.femi.tickerdesk.dto;
+
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Priority;
+
+import java.time.LocalDateTime;
+
+/**
+ * A claimed ticket held for one technician until {@code expiresAt}. Acknowledging it with
+ * {@code token} assigns the ticket; letting it lapse puts the ticket back in the queue.
+ */
+public record DispatchLease(
+        Long ticketId,
+        Department department,
+        Priority priority,
+        Long technicianId,
+        String token,
+        LocalDateTime expiresAt
+) {
+}
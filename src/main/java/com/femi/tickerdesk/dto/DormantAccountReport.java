@@ -0,0 +1,20 @@
+package com.femi.tickerdesk.dto;
+
+import com.femi.tickerdesk.enumFolder.JobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class DormantAccountReport {
+    private String runId;
+    private JobStatus status;
+    private LocalDateTime cutoff;
+    private long resumedAfterId;
+    private long scanned;
+    private long deactivated;
+    private long skipped;
+    private long elapsedMs;
+}
@@ -0,0 +1,15 @@
+package com.femi.tickerdesk.dto;
+
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Site;
+
+public record TechnicianSummary(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String employeeId,
+        Department department,
+        Site site
+) {
+}
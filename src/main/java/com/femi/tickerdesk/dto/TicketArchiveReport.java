@@ -0,0 +1,18 @@
+package com.femi.tickerdesk.dto;
+
+import com.femi.tickerdesk.enumFolder.JobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class TicketArchiveReport {
+    private String runId;
+    private JobStatus status;
+    private LocalDateTime cutoff;
+    private long resumedAfterId;
+    private long archived;
+    private long elapsedMs;
+}
@@ -0,0 +1,70 @@
+package com.femi.tickerdesk.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.model.ServiceCatalogItem;
+import com.femi.tickerdesk.model.Ticket;
+import com.femi.tickerdesk.model.User;
+
+import java.time.LocalDateTime;
+
+public record TicketDetail(
+        Long id,
+        String title,
+        String description,
+        TicketStatus status,
+        Priority priority,
+        TicketCategory category,
+        Long createdById,
+        String createdByName,
+        Long assignedToId,
+        String assignedToName,
+        Long serviceCatalogItemId,
+        String serviceCatalogItemName,
+        String additionalData,
+        String ccEmails,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime resolvedAt,
+        LocalDateTime slaDueAt,
+        boolean slaBreached,
+        Long version
+) {
+
+    @JsonProperty("ticketNumber")
+    public String ticketNumber() {
+        return "TKT-" + String.format("%06d", id);
+    }
+
+    // For a ticket whose associations are already loaded, e.g. one that was just saved
+    public static TicketDetail from(Ticket ticket) {
+        User creator = ticket.getCreatedBy();
+        User assignee = ticket.getAssignedTo();
+        ServiceCatalogItem item = ticket.getServiceCatalogItem();
+
+        return new TicketDetail(
+                ticket.getId(),
+                ticket.getTitle(),
+                ticket.getDescription(),
+                ticket.getStatus(),
+                ticket.getPriority(),
+                ticket.getCategory(),
+                creator.getId(),
+                creator.getFirstName() + " " + creator.getLastName(),
+                assignee != null ? assignee.getId() : null,
+                assignee != null ? assignee.getFirstName() + " " + assignee.getLastName() : null,
+                item != null ? item.getId() : null,
+                item != null ? item.getName() : null,
+                ticket.getAdditionalData(),
+                ticket.getCcEmails(),
+                ticket.getCreatedAt(),
+                ticket.getUpdatedAt(),
+                ticket.getResolvedAt(),
+                ticket.getSlaDueAt(),
+                Boolean.TRUE.equals(ticket.getSlaBreached()),
+                ticket.getVersion()
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package com.femi.tickerdesk.dto;
+
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketFilter {
+    private TicketStatus status;
+    private TicketCategory category;
+    private Priority priority;
+    private Long assignedToId;
+    private Long createdById;
+}
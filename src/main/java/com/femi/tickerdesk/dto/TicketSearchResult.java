@@ -0,0 +1,6 @@
+package com.femi.tickerdesk.dto;
+
+import java.util.Map;
+
+public record TicketSearchResult(TicketSummary ticket, float score, Map<String, String> highlights) {
+}
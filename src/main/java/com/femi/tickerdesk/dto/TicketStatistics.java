@@ -0,0 +1,18 @@
+package com.femi.tickerdesk.dto;
+
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class TicketStatistics {
+    private long totalTickets;
+    private Map<TicketStatus, Long> ticketsByStatus;
+    private Map<Priority, Long> ticketsByPriority;
+    private Map<TicketCategory, Long> ticketsByCategory;
+}
@@ -0,0 +1,33 @@
+package com.femi.tickerdesk.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a ticket listing, populated directly by a constructor expression so no
+ * associations are loaded or serialized.
+ */
+public record TicketSummary(
+        Long id,
+        String title,
+        TicketStatus status,
+        Priority priority,
+        TicketCategory category,
+        Long createdById,
+        String createdByName,
+        Long assignedToId,
+        String assignedToName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime resolvedAt
+) {
+
+    @JsonProperty("ticketNumber")
+    public String ticketNumber() {
+        return "TKT-" + String.format("%06d", id);
+    }
+}
@@ -0,0 +1,30 @@
+package com.femi.tickerdesk.dto;
+
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class UserStatistics {
+    private long totalUsers;
+    private long activeUsers;
+    private long inactiveUsers;
+    private Map<Department, Long> usersByDepartment;
+    private Map<Role, Long> usersByRole;
+    private Map<Site, Long> usersBySite;
+    private List<Segment> segments;
+    private LocalDateTime generatedAt;
+
+    /**
+     * Number of users sharing one department, role, site and activation state.
+     */
+    public record Segment(Department department, Role role, Site site, boolean active, long count) {
+    }
+}
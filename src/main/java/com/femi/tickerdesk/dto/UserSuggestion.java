@@ -0,0 +1,16 @@
+package com.femi.tickerdesk.dto;
+
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+
+public record UserSuggestion(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        Department department,
+        Site site,
+        Role role
+) {
+}
@@ -0,0 +1,7 @@
+package com.femi.tickerdesk.enumFolder;
+
+public enum JobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.femi.tickerdesk.enumFolder;
+
+public enum TicketSort {
+    NEWEST,
+    PRIORITY
+}
@@ -2,6 +2,12 @@ package com.femi.tickerdesk.enumFolder;
 
 import lombok.Getter;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 @Getter
 public enum TicketStatus {
     OPEN("Open"),
@@ -12,10 +18,62 @@ public enum TicketStatus {
     CLOSED("Closed"),
     CANCELLED("Cancelled");
 
+    /**
+     * Statuses of tickets still being worked on, which may be reassigned or reprioritised.
+     */
+    public static final Set<TicketStatus> ACTIVE = Collections.unmodifiableSet(
+            EnumSet.of(OPEN, IN_PROGRESS, WAITING_FOR_APPROVAL, WAITING_FOR_USER));
+
+    // Bit n of TARGETS[s.ordinal()] is set when s may move to the status with ordinal n
+    private static final int[] TARGETS = new int[values().length];
+    private static final Map<TicketStatus, Set<TicketStatus>> SOURCES = new EnumMap<>(TicketStatus.class);
+
+    static {
+        allow(OPEN, IN_PROGRESS, WAITING_FOR_APPROVAL, WAITING_FOR_USER, RESOLVED, CLOSED, CANCELLED);
+        allow(IN_PROGRESS, OPEN, WAITING_FOR_APPROVAL, WAITING_FOR_USER, RESOLVED, CLOSED, CANCELLED);
+        allow(WAITING_FOR_APPROVAL, OPEN, IN_PROGRESS, WAITING_FOR_USER, RESOLVED, CLOSED, CANCELLED);
+        allow(WAITING_FOR_USER, OPEN, IN_PROGRESS, WAITING_FOR_APPROVAL, RESOLVED, CLOSED, CANCELLED);
+        allow(RESOLVED, OPEN, CLOSED);
+        allow(CLOSED, OPEN);
+
+        for (TicketStatus target : values()) {
+            Set<TicketStatus> sources = EnumSet.noneOf(TicketStatus.class);
+            for (TicketStatus source : values()) {
+                if (source.canTransitionTo(target)) {
+                    sources.add(source);
+                }
+            }
+            SOURCES.put(target, Collections.unmodifiableSet(sources));
+        }
+    }
+
     private final String displayName;
 
     TicketStatus(String displayName) {
         this.displayName = displayName;
     }
 
+    public boolean canTransitionTo(TicketStatus target) {
+        return (TARGETS[ordinal()] & 1 << target.ordinal()) != 0;
+    }
+
+    /**
+     * Statuses a ticket may be in to move to {@code target}, for guarding bulk updates.
+     */
+    public static Set<TicketStatus> sourcesOf(TicketStatus target) {
+        return SOURCES.get(target);
+    }
+
+    /**
+     * True for the statuses that carry a resolution time.
+     */
+    public boolean isResolved() {
+        return this == RESOLVED || this == CLOSED;
+    }
+
+    private static void allow(TicketStatus source, TicketStatus... targets) {
+        for (TicketStatus target : targets) {
+            TARGETS[source.ordinal()] |= 1 << target.ordinal();
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package com.femi.tickerdesk.event;
+
+/**
+ * Published inside the transaction that changes a ticket. {@code before} is null for a new
+ * ticket and {@code after} is null for a deleted one. Listeners that maintain derived state
+ * should react after commit only.
+ */
+public record TicketChangedEvent(Long ticketId, TicketSnapshot before, TicketSnapshot after) {
+
+    public static TicketChangedEvent created(TicketSnapshot after) {
+        return new TicketChangedEvent(after.id(), null, after);
+    }
+
+    public static TicketChangedEvent updated(TicketSnapshot before, TicketSnapshot after) {
+        return new TicketChangedEvent(after.id(), before, after);
+    }
+
+    public static TicketChangedEvent deleted(TicketSnapshot before) {
+        return new TicketChangedEvent(before.id(), before, null);
+    }
+}
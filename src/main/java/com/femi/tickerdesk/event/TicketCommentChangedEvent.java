@@ -0,0 +1,4 @@
+package com.femi.tickerdesk.event;
+
+public record TicketCommentChangedEvent(Long ticketId, Long commentId) {
+}
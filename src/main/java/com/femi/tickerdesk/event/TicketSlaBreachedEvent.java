@@ -0,0 +1,12 @@
+package com.femi.tickerdesk.event;
+
+import com.femi.tickerdesk.enumFolder.Priority;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published inside the transaction that flags a ticket as having missed its resolution time.
+ * {@code priority} is the priority it was escalated to.
+ */
+public record TicketSlaBreachedEvent(Long ticketId, LocalDateTime slaDueAt, Priority priority) {
+}
@@ -0,0 +1,62 @@
+package com.femi.tickerdesk.event;
+
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.model.Ticket;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a ticket that derived state (search index, counters, workload, SLA timers) is keyed on,
+ * captured at a point in time so listeners can compare before and after a change.
+ */
+public record TicketSnapshot(
+        Long id,
+        TicketStatus status,
+        Priority priority,
+        TicketCategory category,
+        Long createdById,
+        Department creatorDepartment,
+        Long assignedToId,
+        LocalDateTime slaDueAt,
+        boolean slaBreached,
+        boolean slaWarned
+) {
+
+    public static TicketSnapshot of(Ticket ticket) {
+        return new TicketSnapshot(
+                ticket.getId(),
+                ticket.getStatus(),
+                ticket.getPriority(),
+                ticket.getCategory(),
+                ticket.getCreatedBy().getId(),
+                ticket.getCreatedBy().getDepartment(),
+                ticket.getAssignedTo() != null ? ticket.getAssignedTo().getId() : null,
+                ticket.getSlaDueAt(),
+                Boolean.TRUE.equals(ticket.getSlaBreached()),
+                Boolean.TRUE.equals(ticket.getSlaWarned())
+        );
+    }
+
+    public TicketSnapshot withStatus(TicketStatus status) {
+        return new TicketSnapshot(id, status, priority, category, createdById, creatorDepartment, assignedToId, slaDueAt, slaBreached, slaWarned);
+    }
+
+    public TicketSnapshot withPriority(Priority priority) {
+        return new TicketSnapshot(id, status, priority, category, createdById, creatorDepartment, assignedToId, slaDueAt, slaBreached, slaWarned);
+    }
+
+    public TicketSnapshot withAssignedToId(Long assignedToId) {
+        return new TicketSnapshot(id, status, priority, category, createdById, creatorDepartment, assignedToId, slaDueAt, slaBreached, slaWarned);
+    }
+
+    public TicketSnapshot withSlaBreached() {
+        return new TicketSnapshot(id, status, priority, category, createdById, creatorDepartment, assignedToId, slaDueAt, true, slaWarned);
+    }
+
+    public TicketSnapshot withSlaWarned() {
+        return new TicketSnapshot(id, status, priority, category, createdById, creatorDepartment, assignedToId, slaDueAt, slaBreached, true);
+    }
+}
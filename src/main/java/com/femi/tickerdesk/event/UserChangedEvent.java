@@ -0,0 +1,15 @@
+package com.femi.tickerdesk.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published inside the transaction that creates, updates, deactivates or deletes users.
+ * Listeners re-read the users they need after commit.
+ */
+public record UserChangedEvent(Collection<Long> userIds) {
+
+    public static UserChangedEvent of(Long userId) {
+        return new UserChangedEvent(List.of(userId));
+    }
+}
@@ -0,0 +1,95 @@
+package com.femi.tickerdesk.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row. Quoted fields may contain commas, doubled quotes and line breaks.
+ */
+class CsvDirectoryReader implements DirectoryReader {
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private long line;
+
+    CsvDirectoryReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> names = readRecord();
+        if (names == null) {
+            throw new IOException("CSV file is empty");
+        }
+        this.header = names.stream()
+                .map(name -> name.trim().replace("_", "").toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    @Override
+    public DirectoryRow next() throws IOException {
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return DirectoryRow.from(line, fields);
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        line++;
+
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next == -1) {
+                            break;
+                        }
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        values.add(field.toString());
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
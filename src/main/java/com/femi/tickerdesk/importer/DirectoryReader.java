@@ -0,0 +1,40 @@
+package com.femi.tickerdesk.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Reads an HR export one row at a time, so a file of any size is processed in constant memory.
+ * Field names are matched case-insensitively.
+ */
+public interface DirectoryReader extends Closeable {
+
+    /**
+     * Returns the next row, or null at the end of the file.
+     */
+    DirectoryRow next() throws IOException;
+
+    enum Format {
+        CSV,
+        NDJSON;
+
+        public static Format detect(String fileName) {
+            String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+            return name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json") ? NDJSON : CSV;
+        }
+    }
+
+    static DirectoryReader open(InputStream input, Format format, ObjectMapper objectMapper) throws IOException {
+        if (format == Format.NDJSON) {
+            return new NdjsonDirectoryReader(input, objectMapper);
+        }
+        return new CsvDirectoryReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+    }
+}
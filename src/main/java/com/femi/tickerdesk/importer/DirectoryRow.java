@@ -0,0 +1,96 @@
+package com.femi.tickerdesk.importer;
+
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One employee from an HR export. {@code error} is set when the row could not be parsed; the
+ * employee ID is still kept when present so the employee is not deactivated over a bad row.
+ */
+public record DirectoryRow(
+        long line,
+        String employeeId,
+        String email,
+        String firstName,
+        String lastName,
+        Department department,
+        Site site,
+        Role role,
+        boolean active,
+        String error
+) {
+
+    static DirectoryRow from(long line, Map<String, String> fields) {
+        String employeeId = blankToNull(fields.get("employeeid"));
+        try {
+            if (employeeId == null) {
+                throw new IllegalArgumentException("employeeId is required");
+            }
+            String active = blankToNull(fields.get("active"));
+            return new DirectoryRow(
+                    line,
+                    employeeId,
+                    blankToNull(fields.get("email")),
+                    blankToNull(fields.get("firstname")),
+                    blankToNull(fields.get("lastname")),
+                    parse(Department.class, fields.get("department")),
+                    parse(Site.class, fields.get("site")),
+                    parse(Role.class, fields.get("role")),
+                    active == null || Boolean.parseBoolean(active),
+                    null
+            );
+        } catch (IllegalArgumentException e) {
+            return new DirectoryRow(line, employeeId, null, null, null, null, null, null, false, e.getMessage());
+        }
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    public Role roleOrDefault() {
+        return role != null ? role : Role.USER;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the fields the directory owns, so an HR row and an existing user
+     * can be compared with a single {@code long} comparison.
+     */
+    public static long fingerprint(Department department, Site site, Role role, boolean active) {
+        long hash = 0xcbf29ce484222325L;
+        String key = name(department) + '|' + name(site) + '|' + name(role) + '|' + active;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public long fingerprint() {
+        return fingerprint(department, site, roleOrDefault(), active);
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        String trimmed = blankToNull(value);
+        if (trimmed == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, trimmed.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + ": " + trimmed);
+        }
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : "";
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,386 @@
+package com.femi.tickerdesk.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femi.tickerdesk.auth.UserSecurityVersions;
+import com.femi.tickerdesk.dto.DirectorySyncReport;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.JobStatus;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.event.UserChangedEvent;
+import com.femi.tickerdesk.model.JobCheckpoint;
+import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.repository.DirectorySyncSeenRepository;
+import com.femi.tickerdesk.repository.JobCheckpointRepository;
+import com.femi.tickerdesk.repository.UserDirectoryChange;
+import com.femi.tickerdesk.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an HR export and applies only what changed: new employees are inserted, changed
+ * department, site, role or activation is updated, and directory-managed users (those with an
+ * employee ID) missing from the file are deactivated. Each chunk commits together with its
+ * {@link JobCheckpoint}, so re-running a failed sync of the same file resumes after the last
+ * committed chunk.
+ */
+@Component
+@Slf4j
+public class DirectorySync {
+
+    static final String JOB_NAME = "directory-sync";
+
+    // Never matches, so directory-created users cannot sign in until an admin sets a password
+    // through PUT /api/users/{id}/change-password; self-service reset is not implemented yet
+    static final String UNUSABLE_PASSWORD = "{disabled}";
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final UserRepository userRepository;
+    private final DirectorySyncSeenRepository seenRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final UserSecurityVersions userSecurityVersions;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final String scheduledFile;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public DirectorySync(UserRepository userRepository, DirectorySyncSeenRepository seenRepository,
+                         JobCheckpointRepository checkpointRepository, UserSecurityVersions userSecurityVersions,
+                         Validator validator, ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${directory-sync.chunk-size:500}") int chunkSize,
+                         @Value("${directory-sync.file:}") String scheduledFile) {
+        this.userRepository = userRepository;
+        this.seenRepository = seenRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.userSecurityVersions = userSecurityVersions;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.scheduledFile = scheduledFile;
+    }
+
+    @Scheduled(cron = "${directory-sync.cron:-}")
+    public void syncScheduledFile() {
+        if (scheduledFile.isBlank()) {
+            log.warn("directory-sync.cron is set but directory-sync.file is not, skipping");
+            return;
+        }
+        Path path = Path.of(scheduledFile);
+        try (InputStream input = Files.newInputStream(path)) {
+            sync(path.getFileName().toString(), Files.size(path), input,
+                    DirectoryReader.Format.detect(scheduledFile), true);
+        } catch (IOException | RuntimeException e) {
+            log.error("Scheduled directory sync of {} failed", scheduledFile, e);
+        }
+    }
+
+    /**
+     * Syncs the directory from {@code input}. A previous run that failed on a file with the same
+     * name and size is resumed rather than restarted.
+     *
+     * @throws IllegalStateException if another sync is already running
+     */
+    public DirectorySyncReport sync(String source, long size, InputStream input, DirectoryReader.Format format,
+                                    boolean deactivateMissing) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A directory sync is already running");
+        }
+        try {
+            return run(source, size, input, format, deactivateMissing);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private DirectorySyncReport run(String source, long size, InputStream input, DirectoryReader.Format format,
+                                    boolean deactivateMissing) throws IOException {
+        long start = System.nanoTime();
+        JobCheckpoint checkpoint = transactionTemplate.execute(status -> startOrResume(source, size));
+        long resumedFrom = checkpoint.getPosition();
+        List<String> errors = new ArrayList<>();
+
+        if (resumedFrom > 0) {
+            log.info("Resuming directory sync {} of {} after row {}", checkpoint.getRunId(), source, resumedFrom);
+        }
+
+        try (DirectoryReader reader = DirectoryReader.open(input, format, objectMapper)) {
+            List<DirectoryRow> chunk = new ArrayList<>(chunkSize);
+            long position = 0;
+            DirectoryRow row;
+            while ((row = reader.next()) != null) {
+                if (position++ < resumedFrom) {
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    checkpoint = applyChunk(checkpoint, chunk, errors);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                checkpoint = applyChunk(checkpoint, chunk, errors);
+            }
+
+            // An empty or unreadable export must not deactivate the whole directory
+            if (deactivateMissing && checkpoint.getInserted() + checkpoint.getUpdated() + checkpoint.getUnchanged() > 0) {
+                checkpoint = deactivateUnseen(checkpoint);
+            }
+            checkpoint = complete(checkpoint);
+        } catch (IOException | RuntimeException e) {
+            Long checkpointId = checkpoint.getId();
+            transactionTemplate.executeWithoutResult(status -> checkpointRepository.findById(checkpointId)
+                    .ifPresent(failed -> failed.setStatus(JobStatus.FAILED)));
+            throw e;
+        }
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        long rowsRead = checkpoint.getPosition() - resumedFrom;
+        double rowsPerSecond = rowsRead * 1000.0 / elapsedMs;
+        log.info("Directory sync {} of {} finished: {} rows in {} ms ({} rows/s), {} inserted, {} updated, "
+                        + "{} unchanged, {} deactivated, {} rejected",
+                checkpoint.getRunId(), source, rowsRead, elapsedMs, Math.round(rowsPerSecond), checkpoint.getInserted(),
+                checkpoint.getUpdated(), checkpoint.getUnchanged(), checkpoint.getDeactivated(), checkpoint.getRejected());
+
+        return DirectorySyncReport.builder()
+                .runId(checkpoint.getRunId())
+                .status(checkpoint.getStatus())
+                .source(source)
+                .resumedFrom(resumedFrom)
+                .rowsRead(rowsRead)
+                .inserted(checkpoint.getInserted())
+                .updated(checkpoint.getUpdated())
+                .unchanged(checkpoint.getUnchanged())
+                .deactivated(checkpoint.getDeactivated())
+                .rejected(checkpoint.getRejected())
+                .elapsedMs(elapsedMs)
+                .rowsPerSecond(rowsPerSecond)
+                .errors(errors)
+                .build();
+    }
+
+    private JobCheckpoint startOrResume(String source, long size) {
+        JobCheckpoint checkpoint = checkpointRepository.findByJobName(JOB_NAME).orElse(null);
+        if (checkpoint != null && checkpoint.getStatus() != JobStatus.COMPLETED
+                && Objects.equals(checkpoint.getSource(), source) && Objects.equals(checkpoint.getSourceSize(), size)) {
+            checkpoint.setStatus(JobStatus.RUNNING);
+            return checkpointRepository.save(checkpoint);
+        }
+
+        if (checkpoint == null) {
+            checkpoint = JobCheckpoint.builder().jobName(JOB_NAME).build();
+        } else if (checkpoint.getStatus() != JobStatus.COMPLETED) {
+            seenRepository.deleteByRunId(checkpoint.getRunId());
+        }
+        checkpoint.setRunId(UUID.randomUUID().toString());
+        checkpoint.setSource(source);
+        checkpoint.setSourceSize(size);
+        checkpoint.setStatus(JobStatus.RUNNING);
+        checkpoint.setPosition(0);
+        checkpoint.setInserted(0);
+        checkpoint.setUpdated(0);
+        checkpoint.setUnchanged(0);
+        checkpoint.setDeactivated(0);
+        checkpoint.setRejected(0);
+        checkpoint.setStartedAt(LocalDateTime.now());
+        checkpoint.setFinishedAt(null);
+        return checkpointRepository.save(checkpoint);
+    }
+
+    private JobCheckpoint applyChunk(JobCheckpoint current, List<DirectoryRow> chunk, List<String> errors) {
+        return transactionTemplate.execute(status -> {
+            JobCheckpoint checkpoint = checkpointRepository.findById(current.getId()).orElseThrow();
+
+            Set<String> seen = chunk.stream()
+                    .map(DirectoryRow::employeeId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            Map<String, Object[]> existing = new HashMap<>();
+            if (!seen.isEmpty()) {
+                for (Object[] entry : userRepository.findDirectoryEntries(seen)) {
+                    existing.put((String) entry[1], entry);
+                }
+            }
+
+            List<DirectoryRow> candidates = new ArrayList<>();
+            List<UserDirectoryChange> changes = new ArrayList<>();
+            Set<String> inChunk = new HashSet<>();
+            long unchanged = 0;
+            long rejected = 0;
+
+            for (DirectoryRow row : chunk) {
+                if (!row.isValid()) {
+                    rejected += reject(errors, row, row.error());
+                } else if (!inChunk.add(row.employeeId())) {
+                    rejected += reject(errors, row, "Duplicate employeeId " + row.employeeId());
+                } else if (existing.containsKey(row.employeeId())) {
+                    UserDirectoryChange change = diff(existing.get(row.employeeId()), row);
+                    if (change == null) {
+                        unchanged++;
+                    } else {
+                        changes.add(change);
+                    }
+                } else {
+                    candidates.add(row);
+                }
+            }
+
+            List<User> inserts = new ArrayList<>();
+            Set<String> takenEmails = takenEmails(candidates);
+            for (DirectoryRow row : candidates) {
+                String problem = validateNewUser(row, takenEmails);
+                if (problem != null) {
+                    rejected += reject(errors, row, problem);
+                } else {
+                    inserts.add(toUser(row));
+                }
+            }
+
+            seenRepository.recordSeen(checkpoint.getRunId(), seen);
+            userRepository.insertAll(inserts);
+            userRepository.applyDirectoryChanges(changes);
+            changes.stream()
+                    .filter(UserDirectoryChange::revokeTokens)
+                    .forEach(change -> userSecurityVersions.forget(change.userId()));
+            List<Long> changedIds = new ArrayList<>(inserts.size() + changes.size());
+            inserts.forEach(user -> changedIds.add(user.getId()));
+            changes.forEach(change -> changedIds.add(change.userId()));
+            if (!changedIds.isEmpty()) {
+                eventPublisher.publishEvent(new UserChangedEvent(changedIds));
+            }
+
+            checkpoint.setPosition(checkpoint.getPosition() + chunk.size());
+            checkpoint.setInserted(checkpoint.getInserted() + inserts.size());
+            checkpoint.setUpdated(checkpoint.getUpdated() + changes.size());
+            checkpoint.setUnchanged(checkpoint.getUnchanged() + unchanged);
+            checkpoint.setRejected(checkpoint.getRejected() + rejected);
+            return checkpointRepository.save(checkpoint);
+        });
+    }
+
+    private JobCheckpoint deactivateUnseen(JobCheckpoint checkpoint) {
+        while (true) {
+            Long checkpointId = checkpoint.getId();
+            JobCheckpoint updated = transactionTemplate.execute(status -> {
+                JobCheckpoint current = checkpointRepository.findById(checkpointId).orElseThrow();
+                List<Long> ids = userRepository.findActiveIdsNotSeenInRun(current.getRunId(), Limit.of(chunkSize));
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                userRepository.deactivateAll(ids);
+                ids.forEach(userSecurityVersions::forget);
+                eventPublisher.publishEvent(new UserChangedEvent(ids));
+                current.setDeactivated(current.getDeactivated() + ids.size());
+                return checkpointRepository.save(current);
+            });
+            if (updated == null) {
+                return checkpoint;
+            }
+            checkpoint = updated;
+        }
+    }
+
+    private JobCheckpoint complete(JobCheckpoint checkpoint) {
+        Long checkpointId = checkpoint.getId();
+        return transactionTemplate.execute(status -> {
+            JobCheckpoint current = checkpointRepository.findById(checkpointId).orElseThrow();
+            seenRepository.deleteByRunId(current.getRunId());
+            current.setStatus(JobStatus.COMPLETED);
+            current.setFinishedAt(LocalDateTime.now());
+            return checkpointRepository.save(current);
+        });
+    }
+
+    private UserDirectoryChange diff(Object[] entry, DirectoryRow row) {
+        Department department = (Department) entry[2];
+        Site site = (Site) entry[3];
+        Role role = (Role) entry[4];
+        boolean active = Boolean.TRUE.equals(entry[5]);
+
+        if (DirectoryRow.fingerprint(department, site, role, active) == row.fingerprint()) {
+            return null;
+        }
+        boolean revokeTokens = role != row.roleOrDefault() || active != row.active();
+        return new UserDirectoryChange((Long) entry[0], row.department(), row.site(), row.roleOrDefault(),
+                row.active(), revokeTokens);
+    }
+
+    private Set<String> takenEmails(List<DirectoryRow> candidates) {
+        List<String> emails = candidates.stream().map(DirectoryRow::email).filter(Objects::nonNull).distinct().toList();
+        if (emails.isEmpty()) {
+            return new HashSet<>();
+        }
+        return userRepository.findExistingEmails(emails).stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private String validateNewUser(DirectoryRow row, Set<String> takenEmails) {
+        Set<ConstraintViolation<User>> violations = validator.validate(toUser(row));
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!takenEmails.add(row.email().toLowerCase(Locale.ROOT))) {
+            return "User with email " + row.email() + " already exists";
+        }
+        return null;
+    }
+
+    private User toUser(DirectoryRow row) {
+        return User.builder()
+                .employeeId(row.employeeId())
+                .email(row.email())
+                .firstName(row.firstName())
+                .lastName(row.lastName())
+                .password(UNUSABLE_PASSWORD)
+                .department(row.department())
+                .site(row.site())
+                .role(row.roleOrDefault())
+                .isActive(row.active())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static int reject(List<String> errors, DirectoryRow row, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("Row " + row.line() + ": " + message);
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,45 @@
+package com.femi.tickerdesk.importer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One JSON object per line, streamed through Jackson without materializing the file.
+ */
+class NdjsonDirectoryReader implements DirectoryReader {
+
+    private final MappingIterator<JsonNode> rows;
+    private long line;
+
+    NdjsonDirectoryReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+        this.rows = objectMapper.readerFor(JsonNode.class).readValues(input);
+    }
+
+    @Override
+    public DirectoryRow next() throws IOException {
+        if (!rows.hasNextValue()) {
+            return null;
+        }
+        line++;
+        JsonNode node = rows.nextValue();
+
+        Map<String, String> fields = new HashMap<>();
+        for (Map.Entry<String, JsonNode> field : node.properties()) {
+            JsonNode value = field.getValue();
+            fields.put(field.getKey().replace("_", "").toLowerCase(Locale.ROOT), value.isNull() ? null : value.asText());
+        }
+        return DirectoryRow.from(line, fields);
+    }
+
+    @Override
+    public void close() throws IOException {
+        rows.close();
+    }
+}
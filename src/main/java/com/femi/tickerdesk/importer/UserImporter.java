@@ -0,0 +1,226 @@
+package com.femi.tickerdesk.importer;
+
+import com.femi.tickerdesk.auth.PasswordHashingExecutor;
+import com.femi.tickerdesk.dto.BulkImportReport;
+import com.femi.tickerdesk.dto.BulkImportReport.Status;
+import com.femi.tickerdesk.dto.CreateUserRequest;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.event.UserChangedEvent;
+import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user import that reports on every row instead of failing the whole request. Duplicates
+ * are found with set-based IN queries, passwords are hashed in parallel on the password hashing
+ * pool, and new users are written as JDBC batches in chunks of {@code user-import.batch-size}.
+ */
+@Component
+@Slf4j
+public class UserImporter {
+
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public UserImporter(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                        PasswordHashingExecutor hashingExecutor, Validator validator,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${user-import.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.hashingExecutor = hashingExecutor;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    public BulkImportReport importUsers(List<CreateUserRequest> requests) {
+        long start = System.nanoTime();
+        List<BulkImportReport.Row> results = new ArrayList<>(requests.size());
+        List<Pending> pending = new ArrayList<>(requests.size());
+
+        Set<String> existingEmails = lowerCased(findExisting(requests.stream()
+                .map(CreateUserRequest::getEmail).filter(Objects::nonNull).toList(),
+                userRepository::findExistingEmails));
+        Set<String> existingEmployeeIds = findExisting(requests.stream()
+                .map(CreateUserRequest::getEmployeeId).filter(Objects::nonNull).toList(),
+                userRepository::findExistingEmployeeIds);
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenEmployeeIds = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateUserRequest request = requests.get(i);
+            Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results.add(rejected(i, request, Status.INVALID, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+                continue;
+            }
+
+            String email = request.getEmail().toLowerCase(Locale.ROOT);
+            if (existingEmails.contains(email) || !seenEmails.add(email)) {
+                results.add(rejected(i, request, Status.DUPLICATE_EMAIL, "User with this email already exists"));
+                continue;
+            }
+            String employeeId = request.getEmployeeId();
+            if (employeeId != null && (existingEmployeeIds.contains(employeeId) || !seenEmployeeIds.add(employeeId))) {
+                results.add(rejected(i, request, Status.DUPLICATE_EMPLOYEE_ID, "User with this employee ID already exists"));
+                continue;
+            }
+            pending.add(new Pending(i, request));
+        }
+
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<Pending> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            List<BulkImportReport.Row> inserted = insert(hash(chunk));
+            results.addAll(inserted);
+            List<Long> createdIds = inserted.stream().map(BulkImportReport.Row::userId).filter(Objects::nonNull).toList();
+            if (!createdIds.isEmpty()) {
+                eventPublisher.publishEvent(new UserChangedEvent(createdIds));
+            }
+        }
+
+        results.sort(Comparator.comparingInt(BulkImportReport.Row::row));
+        int created = (int) results.stream().filter(row -> row.status() == Status.CREATED).count();
+        log.info("Imported {} of {} users in {} ms", created, requests.size(), (System.nanoTime() - start) / 1_000_000);
+
+        return BulkImportReport.builder()
+                .total(requests.size())
+                .created(created)
+                .rejected(requests.size() - created)
+                .rows(results)
+                .build();
+    }
+
+    // Leaves one pool thread free so logins keep a worker while an import runs, unless the pool has only one
+    private List<Pending> hash(List<Pending> chunk) {
+        int window = Math.max(1, hashingExecutor.parallelism() - 1);
+        for (int from = 0; from < chunk.size(); from += window) {
+            List<Pending> slice = chunk.subList(from, Math.min(from + window, chunk.size()));
+            List<CompletableFuture<String>> hashes = slice.stream()
+                    .map(row -> hashingExecutor.submit(() -> passwordEncoder.encode(row.request.getPassword())))
+                    .toList();
+            for (int i = 0; i < slice.size(); i++) {
+                try {
+                    slice.get(i).encodedPassword = hashes.get(i).join();
+                } catch (CompletionException e) {
+                    slice.get(i).error = e.getCause() instanceof RejectedExecutionException
+                            ? "Password hashing is saturated, retry this row"
+                            : "Failed to hash password";
+                }
+            }
+        }
+        return chunk;
+    }
+
+    private List<BulkImportReport.Row> insert(List<Pending> chunk) {
+        List<BulkImportReport.Row> results = new ArrayList<>(chunk.size());
+        List<Pending> ready = new ArrayList<>(chunk.size());
+        for (Pending row : chunk) {
+            if (row.error != null) {
+                results.add(rejected(row.index, row.request, Status.FAILED, row.error));
+            } else {
+                ready.add(row);
+            }
+        }
+
+        List<User> users = ready.stream().map(this::toUser).toList();
+        try {
+            userRepository.insertAll(users);
+            for (int i = 0; i < ready.size(); i++) {
+                results.add(created(ready.get(i), users.get(i)));
+            }
+        } catch (DataAccessException e) {
+            // A concurrent writer won a race for an email or employee ID; retry row by row to isolate it
+            log.warn("Batch insert of {} users failed, retrying individually: {}", users.size(), e.getMessage());
+            for (int i = 0; i < ready.size(); i++) {
+                try {
+                    userRepository.insertAll(List.of(users.get(i)));
+                    results.add(created(ready.get(i), users.get(i)));
+                } catch (DataAccessException rowFailure) {
+                    results.add(rejected(ready.get(i).index, ready.get(i).request, Status.FAILED,
+                            "Could not insert user, it may already exist"));
+                }
+            }
+        }
+        return results;
+    }
+
+    private User toUser(Pending row) {
+        CreateUserRequest request = row.request;
+        return User.builder()
+                .email(request.getEmail())
+                .password(row.encodedPassword)
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .department(request.getDepartment())
+                .site(request.getSite())
+                .role(request.getRole() != null ? request.getRole() : Role.USER)
+                .employeeId(request.getEmployeeId())
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private Set<String> findExisting(List<String> values, Function<List<String>, List<String>> query) {
+        Set<String> existing = new HashSet<>();
+        List<String> distinct = values.stream().distinct().toList();
+        for (int from = 0; from < distinct.size(); from += IN_CLAUSE_LIMIT) {
+            existing.addAll(query.apply(distinct.subList(from, Math.min(from + IN_CLAUSE_LIMIT, distinct.size()))));
+        }
+        return existing;
+    }
+
+    private static Set<String> lowerCased(Set<String> values) {
+        return values.stream().map(value -> value.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    }
+
+    private static BulkImportReport.Row created(Pending row, User user) {
+        return new BulkImportReport.Row(row.index, user.getEmail(), Status.CREATED, user.getId(), null);
+    }
+
+    private static BulkImportReport.Row rejected(int index, CreateUserRequest request, Status status, String message) {
+        return new BulkImportReport.Row(index, request.getEmail(), status, null, message);
+    }
+
+    private static final class Pending {
+        final int index;
+        final CreateUserRequest request;
+        String encodedPassword;
+        String error;
+
+        Pending(int index, CreateUserRequest request) {
+            this.index = index;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.femi.tickerdesk.jobs;
+
+import com.femi.tickerdesk.auth.UserSecurityVersions;
+import com.femi.tickerdesk.dto.DormantAccountReport;
+import com.femi.tickerdesk.enumFolder.JobStatus;
+import com.femi.tickerdesk.event.UserChangedEvent;
+import com.femi.tickerdesk.model.JobCheckpoint;
+import com.femi.tickerdesk.repository.JobCheckpointRepository;
+import com.femi.tickerdesk.repository.UserRepository;
+import com.femi.tickerdesk.service.LastLoginRecorder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deactivates non-admin accounts whose last login is older than a cutoff. Users are walked in
+ * id order one chunk at a time, each chunk is deactivated with a single guarded UPDATE and
+ * committed together with its {@link JobCheckpoint}, and chunks are paced to
+ * {@code dormant-accounts.max-per-second} so the job never holds more than one chunk of ids.
+ * An interrupted run with the same inactivity window resumes after the last committed id.
+ */
+@Component
+@Slf4j
+public class DormantAccountJob {
+
+    static final String JOB_NAME = "dormant-accounts";
+
+    private final UserRepository userRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final UserSecurityVersions userSecurityVersions;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int inactiveDays;
+    private final int chunkSize;
+    private final int maxPerSecond;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public DormantAccountJob(UserRepository userRepository, JobCheckpointRepository checkpointRepository,
+                             UserSecurityVersions userSecurityVersions, LastLoginRecorder lastLoginRecorder,
+                             ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                             @Value("${dormant-accounts.inactive-days:90}") int inactiveDays,
+                             @Value("${dormant-accounts.chunk-size:500}") int chunkSize,
+                             @Value("${dormant-accounts.max-per-second:200}") int maxPerSecond) {
+        this.userRepository = userRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.userSecurityVersions = userSecurityVersions;
+        this.lastLoginRecorder = lastLoginRecorder;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.inactiveDays = inactiveDays;
+        this.chunkSize = chunkSize;
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    @Scheduled(cron = "${dormant-accounts.cron:-}")
+    public void runScheduled() {
+        try {
+            run(inactiveDays);
+        } catch (RuntimeException e) {
+            log.error("Scheduled dormant account deactivation failed", e);
+        }
+    }
+
+    /**
+     * Deactivates accounts not signed in to for {@code days} days, or the configured default when null.
+     *
+     * @throws IllegalStateException if the job is already running
+     */
+    public DormantAccountReport run(Integer days) {
+        int window = days != null ? days : inactiveDays;
+        if (window < 1) {
+            throw new IllegalArgumentException("Inactivity window must be at least one day");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Dormant account deactivation is already running");
+        }
+        try {
+            return execute(window);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private DormantAccountReport execute(int days) {
+        long start = System.nanoTime();
+        // Logins still buffered in memory must count before anyone is judged dormant
+        lastLoginRecorder.flush();
+        JobCheckpoint checkpoint = transactionTemplate.execute(status -> startOrResume(days));
+        LocalDateTime cutoff = LocalDateTime.parse(checkpoint.getSource());
+        long resumedAfterId = checkpoint.getPosition();
+        long alreadyScanned = scanned(checkpoint);
+
+        if (resumedAfterId > 0) {
+            log.info("Resuming dormant account run {} after user {}", checkpoint.getRunId(), resumedAfterId);
+        }
+
+        try {
+            JobCheckpoint next;
+            while ((next = deactivateChunk(checkpoint, cutoff)) != null) {
+                checkpoint = next;
+                pace(scanned(checkpoint) - alreadyScanned, start);
+            }
+            checkpoint = finish(checkpoint, JobStatus.COMPLETED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Dormant account run {} interrupted after user {}", checkpoint.getRunId(), checkpoint.getPosition());
+            checkpoint = finish(checkpoint, JobStatus.FAILED);
+        } catch (RuntimeException e) {
+            finish(checkpoint, JobStatus.FAILED);
+            throw e;
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Dormant account run {} {}: cutoff {}, {} accounts scanned, {} deactivated, {} skipped in {} ms",
+                checkpoint.getRunId(), checkpoint.getStatus(), cutoff, scanned(checkpoint), checkpoint.getDeactivated(),
+                checkpoint.getUnchanged(), elapsedMs);
+
+        return DormantAccountReport.builder()
+                .runId(checkpoint.getRunId())
+                .status(checkpoint.getStatus())
+                .cutoff(cutoff)
+                .resumedAfterId(resumedAfterId)
+                .scanned(scanned(checkpoint))
+                .deactivated(checkpoint.getDeactivated())
+                .skipped(checkpoint.getUnchanged())
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
+    private JobCheckpoint startOrResume(int days) {
+        JobCheckpoint checkpoint = checkpointRepository.findByJobName(JOB_NAME).orElse(null);
+        if (checkpoint != null && checkpoint.getStatus() != JobStatus.COMPLETED
+                && Objects.equals(checkpoint.getSourceSize(), (long) days)) {
+            checkpoint.setStatus(JobStatus.RUNNING);
+            return checkpointRepository.save(checkpoint);
+        }
+
+        if (checkpoint == null) {
+            checkpoint = JobCheckpoint.builder().jobName(JOB_NAME).build();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        checkpoint.setRunId(UUID.randomUUID().toString());
+        checkpoint.setSource(now.minusDays(days).toString());
+        checkpoint.setSourceSize((long) days);
+        checkpoint.setStatus(JobStatus.RUNNING);
+        checkpoint.setPosition(0);
+        checkpoint.setInserted(0);
+        checkpoint.setUpdated(0);
+        checkpoint.setUnchanged(0);
+        checkpoint.setDeactivated(0);
+        checkpoint.setRejected(0);
+        checkpoint.setStartedAt(now);
+        checkpoint.setFinishedAt(null);
+        return checkpointRepository.save(checkpoint);
+    }
+
+    // Returns null once no dormant account is left after the checkpointed id
+    private JobCheckpoint deactivateChunk(JobCheckpoint current, LocalDateTime cutoff) {
+        Long checkpointId = current.getId();
+        return transactionTemplate.execute(status -> {
+            JobCheckpoint checkpoint = checkpointRepository.findById(checkpointId).orElseThrow();
+            List<Long> ids = userRepository.findDormantIdsAfter(cutoff, checkpoint.getPosition(), Limit.of(chunkSize));
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int deactivated = userRepository.deactivateDormant(ids, cutoff);
+            ids.forEach(userSecurityVersions::forget);
+            eventPublisher.publishEvent(new UserChangedEvent(ids));
+
+            checkpoint.setPosition(ids.get(ids.size() - 1));
+            checkpoint.setDeactivated(checkpoint.getDeactivated() + deactivated);
+            checkpoint.setUnchanged(checkpoint.getUnchanged() + ids.size() - deactivated);
+            return checkpointRepository.save(checkpoint);
+        });
+    }
+
+    private JobCheckpoint finish(JobCheckpoint checkpoint, JobStatus status) {
+        Long checkpointId = checkpoint.getId();
+        return transactionTemplate.execute(tx -> {
+            JobCheckpoint current = checkpointRepository.findById(checkpointId).orElseThrow();
+            current.setStatus(status);
+            if (status == JobStatus.COMPLETED) {
+                current.setFinishedAt(LocalDateTime.now());
+            }
+            return checkpointRepository.save(current);
+        });
+    }
+
+    private static long scanned(JobCheckpoint checkpoint) {
+        return checkpoint.getDeactivated() + checkpoint.getUnchanged();
+    }
+
+    // Sleeps until the accounts processed so far fit within the configured rate
+    private void pace(long processed, long startNanos) throws InterruptedException {
+        if (maxPerSecond <= 0) {
+            return;
+        }
+        long dueNanos = startNanos + processed * 1_000_000_000L / maxPerSecond;
+        long waitMs = (dueNanos - System.nanoTime()) / 1_000_000;
+        if (waitMs > 0) {
+            Thread.sleep(waitMs);
+        }
+    }
+}
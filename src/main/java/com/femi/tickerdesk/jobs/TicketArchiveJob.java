@@ -0,0 +1,204 @@
+package com.femi.tickerdesk.jobs;
+
+import com.femi.tickerdesk.dto.TicketArchiveReport;
+import com.femi.tickerdesk.enumFolder.JobStatus;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.event.TicketSnapshot;
+import com.femi.tickerdesk.model.ArchivedTicket;
+import com.femi.tickerdesk.model.JobCheckpoint;
+import com.femi.tickerdesk.repository.ArchivedTicketRepository;
+import com.femi.tickerdesk.repository.AttachmentRepository;
+import com.femi.tickerdesk.repository.JobCheckpointRepository;
+import com.femi.tickerdesk.repository.TicketCommentRepository;
+import com.femi.tickerdesk.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves tickets that have sat closed or cancelled for a number of days, with their comments and
+ * attachment metadata, into the {@link ArchivedTicket} tables so the live tables only grow with
+ * open work. Tickets are walked in id order one chunk at a time; each chunk is copied with
+ * INSERT ... SELECT statements, deleted from the live tables and committed together with its
+ * {@link JobCheckpoint}, so an interrupted run with the same window resumes after the last
+ * committed id.
+ * <p>
+ * Archiving publishes no {@link com.femi.tickerdesk.event.TicketChangedEvent}: an archived ticket
+ * keeps its status and stays in the ticket counters and the search index, which read the archive
+ * tables when they rebuild, just as {@code findById} falls back to them.
+ */
+@Component
+@Slf4j
+public class TicketArchiveJob {
+
+    static final String JOB_NAME = "ticket-archive";
+    private static final Set<TicketStatus> ARCHIVABLE = EnumSet.of(TicketStatus.CLOSED, TicketStatus.CANCELLED);
+
+    private final TicketRepository ticketRepository;
+    private final TicketCommentRepository commentRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int closedDays;
+    private final int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public TicketArchiveJob(TicketRepository ticketRepository, TicketCommentRepository commentRepository,
+                            AttachmentRepository attachmentRepository, ArchivedTicketRepository archivedTicketRepository,
+                            JobCheckpointRepository checkpointRepository, PlatformTransactionManager transactionManager,
+                            @Value("${ticket-archive.closed-days:180}") int closedDays,
+                            @Value("${ticket-archive.chunk-size:500}") int chunkSize) {
+        this.ticketRepository = ticketRepository;
+        this.commentRepository = commentRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.archivedTicketRepository = archivedTicketRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.closedDays = closedDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${ticket-archive.cron:-}")
+    public void runScheduled() {
+        try {
+            run(closedDays);
+        } catch (RuntimeException e) {
+            log.error("Scheduled ticket archival failed", e);
+        }
+    }
+
+    /**
+     * Archives tickets closed or cancelled and untouched for {@code days} days, or the configured
+     * default when null.
+     *
+     * @throws IllegalStateException if the job is already running
+     */
+    public TicketArchiveReport run(Integer days) {
+        int window = days != null ? days : closedDays;
+        if (window < 1) {
+            throw new IllegalArgumentException("Archive window must be at least one day");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ticket archival is already running");
+        }
+        try {
+            return execute(window);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private TicketArchiveReport execute(int days) {
+        long start = System.nanoTime();
+        JobCheckpoint checkpoint = transactionTemplate.execute(status -> startOrResume(days));
+        LocalDateTime cutoff = LocalDateTime.parse(checkpoint.getSource());
+        long resumedAfterId = checkpoint.getPosition();
+
+        if (resumedAfterId > 0) {
+            log.info("Resuming ticket archive run {} after ticket {}", checkpoint.getRunId(), resumedAfterId);
+        }
+
+        try {
+            JobCheckpoint next;
+            while ((next = archiveChunk(checkpoint, cutoff)) != null) {
+                checkpoint = next;
+            }
+            checkpoint = finish(checkpoint, JobStatus.COMPLETED);
+        } catch (RuntimeException e) {
+            finish(checkpoint, JobStatus.FAILED);
+            throw e;
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Ticket archive run {} {}: cutoff {}, {} tickets archived in {} ms",
+                checkpoint.getRunId(), checkpoint.getStatus(), cutoff, checkpoint.getArchived(), elapsedMs);
+
+        return TicketArchiveReport.builder()
+                .runId(checkpoint.getRunId())
+                .status(checkpoint.getStatus())
+                .cutoff(cutoff)
+                .resumedAfterId(resumedAfterId)
+                .archived(checkpoint.getArchived())
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
+    private JobCheckpoint startOrResume(int days) {
+        JobCheckpoint checkpoint = checkpointRepository.findByJobName(JOB_NAME).orElse(null);
+        if (checkpoint != null && checkpoint.getStatus() != JobStatus.COMPLETED
+                && Objects.equals(checkpoint.getSourceSize(), (long) days)) {
+            checkpoint.setStatus(JobStatus.RUNNING);
+            return checkpointRepository.save(checkpoint);
+        }
+
+        if (checkpoint == null) {
+            checkpoint = JobCheckpoint.builder().jobName(JOB_NAME).build();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        checkpoint.setRunId(UUID.randomUUID().toString());
+        checkpoint.setSource(now.minusDays(days).toString());
+        checkpoint.setSourceSize((long) days);
+        checkpoint.setStatus(JobStatus.RUNNING);
+        checkpoint.setPosition(0);
+        checkpoint.setArchived(0);
+        checkpoint.setStartedAt(now);
+        checkpoint.setFinishedAt(null);
+        return checkpointRepository.save(checkpoint);
+    }
+
+    // Returns null once no archivable ticket is left after the checkpointed id
+    private JobCheckpoint archiveChunk(JobCheckpoint current, LocalDateTime cutoff) {
+        Long checkpointId = current.getId();
+        return transactionTemplate.execute(status -> {
+            JobCheckpoint checkpoint = checkpointRepository.findById(checkpointId).orElseThrow();
+            List<Long> candidates = ticketRepository.findArchivableIdsAfter(
+                    checkpoint.getPosition(), ARCHIVABLE, cutoff, Limit.of(chunkSize));
+            if (candidates.isEmpty()) {
+                return null;
+            }
+
+            List<TicketSnapshot> tickets = ticketRepository.lockArchivableSnapshots(candidates, ARCHIVABLE, cutoff);
+            if (!tickets.isEmpty()) {
+                List<Long> ids = tickets.stream().map(TicketSnapshot::id).toList();
+                archivedTicketRepository.copyTickets(ids, LocalDateTime.now());
+                archivedTicketRepository.copyComments(ids);
+                archivedTicketRepository.copyAttachments(ids);
+                attachmentRepository.deleteByTicketIdIn(ids);
+                commentRepository.deleteByTicketIdIn(ids);
+                ticketRepository.deleteByIdIn(ids);
+            }
+
+            // The bulk delete cleared the persistence context, so the checkpoint is read again
+            checkpoint = checkpointRepository.findById(checkpointId).orElseThrow();
+            checkpoint.setPosition(candidates.get(candidates.size() - 1));
+            checkpoint.setArchived(checkpoint.getArchived() + tickets.size());
+            return checkpointRepository.save(checkpoint);
+        });
+    }
+
+    private JobCheckpoint finish(JobCheckpoint checkpoint, JobStatus status) {
+        Long checkpointId = checkpoint.getId();
+        return transactionTemplate.execute(tx -> {
+            JobCheckpoint current = checkpointRepository.findById(checkpointId).orElseThrow();
+            current.setStatus(status);
+            if (status == JobStatus.COMPLETED) {
+                current.setFinishedAt(LocalDateTime.now());
+            }
+            return checkpointRepository.save(current);
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.femi.tickerdesk.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Metadata of an attachment of an {@link ArchivedTicket}. The stored file itself is left where it is.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(indexes = @Index(name = "idx_archived_attachment_ticket", columnList = "ticket_id"))
+public class ArchivedAttachment {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long ticketId;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false)
+    private String originalFileName;
+
+    @Column(nullable = false)
+    private String filePath;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Long fileSize;
+
+    @Column(nullable = false)
+    private Long uploadedById;
+
+    @Column(nullable = false)
+    private LocalDateTime uploadedAt;
+}
@@ -0,0 +1,81 @@
+package com.femi.tickerdesk.model;
+
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A closed or cancelled ticket moved out of the {@link Ticket} table by the archive job. It keeps
+ * the ticket's id, and refers to users and the catalog item by id only so archived history never
+ * blocks deleting them.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "idx_archived_ticket_creator", columnList = "created_by_id, created_at"),
+        @Index(name = "idx_archived_ticket_archived", columnList = "archived_at")
+})
+public class ArchivedTicket {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TicketStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Priority priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TicketCategory category;
+
+    @Column(nullable = false)
+    private Long createdById;
+
+    private Long assignedToId;
+
+    private Long serviceCatalogItemId;
+
+    @Column(columnDefinition = "TEXT")
+    private String additionalData;
+
+    private String ccEmails;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime resolvedAt;
+
+    private LocalDateTime slaDueAt;
+
+    @Column(nullable = false)
+    private Boolean slaBreached;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
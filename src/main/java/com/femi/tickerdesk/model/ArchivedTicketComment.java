@@ -0,0 +1,42 @@
+package com.femi.tickerdesk.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment of an {@link ArchivedTicket}, archived together with it.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(indexes = @Index(name = "idx_archived_comment_ticket", columnList = "ticket_id, created_at"))
+public class ArchivedTicketComment {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long ticketId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String comment;
+
+    @Column(nullable = false)
+    private Boolean isInternal;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private Long version;
+}
@@ -0,0 +1,30 @@
+package com.femi.tickerdesk.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Employee IDs present in the file of a directory sync run. Users missing from this table at
+ * the end of the run are deactivated, without holding the whole file's IDs in memory.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(indexes = @Index(name = "idx_directory_sync_seen_run", columnList = "runId, employeeId"))
+public class DirectorySyncSeen {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String runId;
+
+    @Column(nullable = false)
+    private String employeeId;
+}
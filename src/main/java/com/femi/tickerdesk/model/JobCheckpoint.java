@@ -0,0 +1,70 @@
+package com.femi.tickerdesk.model;
+
+import com.femi.tickerdesk.enumFolder.JobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a long-running job, committed together with each chunk of work so a failed run
+ * can resume from {@code position} instead of starting over.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class JobCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String jobName;
+
+    @Column(nullable = false, length = 36)
+    private String runId;
+
+    private String source;
+
+    private Long sourceSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    @Builder.Default
+    private long position = 0;
+
+    @Builder.Default
+    private long inserted = 0;
+
+    @Builder.Default
+    private long updated = 0;
+
+    @Builder.Default
+    private long unchanged = 0;
+
+    @Builder.Default
+    private long deactivated = 0;
+
+    @Builder.Default
+    private long rejected = 0;
+
+    @Builder.Default
+    private long archived = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
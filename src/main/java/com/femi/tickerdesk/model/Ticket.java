@@ -20,12 +20,25 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "idx_ticket_created", columnList = "created_at, id"),
+        @Index(name = "idx_ticket_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_ticket_priority_created", columnList = "priority, created_at, id"),
+        @Index(name = "idx_ticket_category_created", columnList = "category, created_at, id"),
+        @Index(name = "idx_ticket_assignee_created", columnList = "assigned_to, created_at, id"),
+        @Index(name = "idx_ticket_creator_created", columnList = "created_by, created_at, id")
+})
 public class Ticket {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Optimistic lock version, also sent to clients as the ticket's ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false)
     private String title;
 
@@ -79,6 +92,18 @@ public class Ticket {
 
     private LocalDateTime resolvedAt;
 
+    // When the ticket should be resolved by, fixed at creation from its catalog item or priority
+    private LocalDateTime slaDueAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean slaBreached = false;
+
+    // Set once the pre-deadline warning has raised the priority, so it fires at most once
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean slaWarned = false;
+
     // Additional fields for specific request types (JSON storage for flexibility)
     @Column(columnDefinition = "TEXT")
     private String additionalData; // JSON string for dynamic fields
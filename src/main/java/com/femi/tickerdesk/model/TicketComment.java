@@ -20,6 +20,10 @@ public class TicketComment {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(columnDefinition = "TEXT", nullable = false)
     private String comment;
 
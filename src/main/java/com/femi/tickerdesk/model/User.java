@@ -66,6 +66,11 @@ public class User implements UserDetails {
     @Column(nullable = true)
     private LocalDateTime lastLogin;
 
+    // Bumped on role, email, password or activation changes to invalidate previously issued tokens
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer securityVersion = 0;
+
     @OneToMany(mappedBy = "createdBy", fetch = FetchType.LAZY)
     @Builder.Default
     private List<Ticket> createdTickets = new ArrayList<>();
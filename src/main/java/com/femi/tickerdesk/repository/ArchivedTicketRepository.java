@@ -0,0 +1,91 @@
+package com.femi.tickerdesk.repository;
+
+import com.femi.tickerdesk.dto.TicketDetail;
+import com.femi.tickerdesk.dto.TicketSummary;
+import com.femi.tickerdesk.model.ArchivedTicket;
+import com.femi.tickerdesk.search.TicketSearchDocument;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedTicketRepository extends JpaRepository<ArchivedTicket, Long> {
+
+    // Archived rows refer to users by id, so the joins are explicit and the creator may be gone
+    String SUMMARY_SELECT = "SELECT new com.femi.tickerdesk.dto.TicketSummary("
+            + "t.id, t.title, t.status, t.priority, t.category, "
+            + "t.createdById, CASE WHEN c.id IS NULL THEN NULL ELSE CONCAT(c.firstName, ' ', c.lastName) END, "
+            + "t.assignedToId, CASE WHEN a.id IS NULL THEN NULL ELSE CONCAT(a.firstName, ' ', a.lastName) END, "
+            + "t.createdAt, t.updatedAt, t.resolvedAt) "
+            + "FROM ArchivedTicket t LEFT JOIN User c ON c.id = t.createdById LEFT JOIN User a ON a.id = t.assignedToId";
+
+    String SEARCH_DOCUMENT_SELECT = "SELECT new com.femi.tickerdesk.search.TicketSearchDocument("
+            + "t.id, t.title, t.description, t.status, t.priority, t.category) FROM ArchivedTicket t";
+
+    // Each copy is one INSERT ... SELECT, so archiving a chunk never loads its rows into memory
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO ArchivedTicket (id, title, description, status, priority, category, createdById, "
+            + "assignedToId, serviceCatalogItemId, additionalData, ccEmails, createdAt, updatedAt, resolvedAt, "
+            + "slaDueAt, slaBreached, version, archivedAt) "
+            + "SELECT t.id, t.title, t.description, t.status, t.priority, t.category, t.createdBy.id, "
+            + "t.assignedTo.id, t.serviceCatalogItem.id, t.additionalData, t.ccEmails, t.createdAt, t.updatedAt, "
+            + "t.resolvedAt, t.slaDueAt, t.slaBreached, t.version, :now FROM Ticket t WHERE t.id IN :ids")
+    int copyTickets(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO ArchivedTicketComment (id, ticketId, userId, comment, isInternal, createdAt, version) "
+            + "SELECT c.id, c.ticket.id, c.user.id, c.comment, c.isInternal, c.createdAt, c.version "
+            + "FROM TicketComment c WHERE c.ticket.id IN :ticketIds")
+    int copyComments(@Param("ticketIds") Collection<Long> ticketIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO ArchivedAttachment (id, ticketId, fileName, originalFileName, filePath, contentType, "
+            + "fileSize, uploadedById, uploadedAt) "
+            + "SELECT a.id, a.ticket.id, a.fileName, a.originalFileName, a.filePath, a.contentType, "
+            + "a.fileSize, a.uploadedBy.id, a.uploadedAt FROM Attachment a WHERE a.ticket.id IN :ticketIds")
+    int copyAttachments(@Param("ticketIds") Collection<Long> ticketIds);
+
+    @Query("SELECT new com.femi.tickerdesk.dto.TicketDetail("
+            + "t.id, t.title, t.description, t.status, t.priority, t.category, "
+            + "t.createdById, CASE WHEN c.id IS NULL THEN NULL ELSE CONCAT(c.firstName, ' ', c.lastName) END, "
+            + "t.assignedToId, CASE WHEN a.id IS NULL THEN NULL ELSE CONCAT(a.firstName, ' ', a.lastName) END, "
+            + "t.serviceCatalogItemId, s.name, t.additionalData, t.ccEmails, t.createdAt, t.updatedAt, "
+            + "t.resolvedAt, t.slaDueAt, t.slaBreached, t.version) "
+            + "FROM ArchivedTicket t LEFT JOIN User c ON c.id = t.createdById "
+            + "LEFT JOIN User a ON a.id = t.assignedToId "
+            + "LEFT JOIN ServiceCatalogItem s ON s.id = t.serviceCatalogItemId "
+            + "WHERE t.id = :id")
+    Optional<TicketDetail> findDetailById(@Param("id") Long id);
+
+    @Query(SUMMARY_SELECT + " WHERE t.id IN :ids")
+    List<TicketSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SEARCH_DOCUMENT_SELECT + " WHERE t.id IN :ids")
+    List<TicketSearchDocument> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SEARCH_DOCUMENT_SELECT + " WHERE t.id > :afterId ORDER BY t.id")
+    List<TicketSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT c.ticketId, c.comment FROM ArchivedTicketComment c WHERE c.ticketId IN :ticketIds ORDER BY c.createdAt ASC")
+    List<Object[]> findCommentTextByTicketIdIn(@Param("ticketIds") Collection<Long> ticketIds);
+
+    // Same shapes as the TicketRepository counts, so TicketCounters can add them cell by cell
+    @Query("SELECT t.status, t.priority, t.category, c.department, COUNT(t) FROM ArchivedTicket t "
+            + "LEFT JOIN User c ON c.id = t.createdById GROUP BY t.status, t.priority, t.category, c.department")
+    List<Object[]> countByStatusPriorityCategoryAndCreatorDepartment();
+
+    @Query("SELECT t.assignedToId, t.status, COUNT(t) FROM ArchivedTicket t WHERE t.assignedToId IS NOT NULL "
+            + "GROUP BY t.assignedToId, t.status")
+    List<Object[]> countByAssigneeAndStatus();
+
+    @Query("SELECT t.createdById, COUNT(t) FROM ArchivedTicket t GROUP BY t.createdById")
+    List<Object[]> countByCreator();
+}
@@ -4,11 +4,13 @@ import com.femi.tickerdesk.model.Attachment;
 import com.femi.tickerdesk.model.Ticket;
 import com.femi.tickerdesk.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,4 +44,8 @@ public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
     Long countAttachmentsByUser(@Param("user") User user);
 
     boolean existsByFileName(String fileName);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Attachment a WHERE a.ticket.id IN :ticketIds")
+    int deleteByTicketIdIn(@Param("ticketIds") Collection<Long> ticketIds);
 }
@@ -0,0 +1,18 @@
+package com.femi.tickerdesk.repository;
+
+import com.femi.tickerdesk.model.DirectorySyncSeen;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface DirectorySyncSeenRepository extends JpaRepository<DirectorySyncSeen, Long>, DirectorySyncSeenRepositoryCustom {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DirectorySyncSeen s WHERE s.runId = :runId")
+    int deleteByRunId(@Param("runId") String runId);
+}
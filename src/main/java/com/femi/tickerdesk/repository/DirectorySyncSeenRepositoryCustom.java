@@ -0,0 +1,8 @@
+package com.femi.tickerdesk.repository;
+
+import java.util.Collection;
+
+public interface DirectorySyncSeenRepositoryCustom {
+
+    void recordSeen(String runId, Collection<String> employeeIds);
+}
@@ -0,0 +1,36 @@
+package com.femi.tickerdesk.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+
+public class DirectorySyncSeenRepositoryImpl implements DirectorySyncSeenRepositoryCustom {
+
+    private static final String INSERT_SEEN = "INSERT INTO directory_sync_seen (run_id, employee_id) VALUES (?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void recordSeen(String runId, Collection<String> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SEEN)) {
+                for (String employeeId : employeeIds) {
+                    statement.setString(1, runId);
+                    statement.setString(2, employeeId);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
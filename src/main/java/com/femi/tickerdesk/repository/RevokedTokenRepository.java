@@ -0,0 +1,29 @@
+package com.femi.tickerdesk.repository;
+
+import com.femi.tickerdesk.model.RevokedToken;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    boolean existsByJti(String jti);
+
+    long countByExpiresAtAfter(LocalDateTime now);
+
+    @Query("SELECT r.id, r.jti FROM RevokedToken r WHERE r.id > :afterId AND r.expiresAt > :now ORDER BY r.id")
+    List<Object[]> findActiveAfter(@Param("afterId") Long afterId, @Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -6,11 +6,13 @@ import com.femi.tickerdesk.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -40,4 +42,11 @@ public interface TicketCommentRepository extends JpaRepository<TicketComment, Lo
 
     @Query("SELECT COUNT(c) FROM TicketComment c WHERE c.user = :user")
     Long countCommentsByUser(@Param("user") User user);
+
+    @Query("SELECT c.ticket.id, c.comment FROM TicketComment c WHERE c.ticket.id IN :ticketIds ORDER BY c.createdAt ASC")
+    List<Object[]> findCommentTextByTicketIdIn(@Param("ticketIds") Collection<Long> ticketIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM TicketComment c WHERE c.ticket.id IN :ticketIds")
+    int deleteByTicketIdIn(@Param("ticketIds") Collection<Long> ticketIds);
 }
@@ -0,0 +1,63 @@
+package com.femi.tickerdesk.repository;
+
+import com.femi.tickerdesk.dto.TicketSummary;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketSort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in a ticket listing: the sort key of the row a page starts after (or,
+ * when {@code backward}, ends before). Serialized as an opaque URL-safe token.
+ */
+public record TicketCursor(
+        TicketSort sort,
+        boolean backward,
+        Priority priority,
+        LocalDateTime createdAt,
+        Long id
+) {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    public static TicketCursor after(TicketSummary ticket, TicketSort sort) {
+        return new TicketCursor(sort, false, ticket.priority(), ticket.createdAt(), ticket.id());
+    }
+
+    public static TicketCursor before(TicketSummary ticket, TicketSort sort) {
+        return new TicketCursor(sort, true, ticket.priority(), ticket.createdAt(), ticket.id());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                VERSION,
+                sort.name(),
+                backward ? "b" : "f",
+                priority.name(),
+                createdAt.toString(),
+                id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TicketCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 6 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TicketCursor(
+                    TicketSort.valueOf(parts[1]),
+                    "b".equals(parts[2]),
+                    Priority.valueOf(parts[3]),
+                    LocalDateTime.parse(parts[4]),
+                    Long.parseLong(parts[5])
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
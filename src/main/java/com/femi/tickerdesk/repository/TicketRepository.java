@@ -1,22 +1,52 @@
 package com.femi.tickerdesk.repository;
 
+import com.femi.tickerdesk.dto.TicketDetail;
+import com.femi.tickerdesk.dto.TicketSummary;
+import com.femi.tickerdesk.enumFolder.Department;
 import com.femi.tickerdesk.enumFolder.Priority;
 import com.femi.tickerdesk.enumFolder.TicketCategory;
 import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.event.TicketSnapshot;
 import com.femi.tickerdesk.model.Ticket;
 import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.search.TicketSearchDocument;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketRepositoryCustom {
+
+    String SUMMARY_SELECT = "SELECT new com.femi.tickerdesk.dto.TicketSummary("
+            + "t.id, t.title, t.status, t.priority, t.category, "
+            + "c.id, CONCAT(c.firstName, ' ', c.lastName), "
+            + "a.id, CASE WHEN a.id IS NULL THEN NULL ELSE CONCAT(a.firstName, ' ', a.lastName) END, "
+            + "t.createdAt, t.updatedAt, t.resolvedAt) "
+            + "FROM Ticket t JOIN t.createdBy c LEFT JOIN t.assignedTo a";
+
+    String NEWEST_FIRST = " ORDER BY t.createdAt DESC, t.id DESC";
+
+    String SEARCH_DOCUMENT_SELECT = "SELECT new com.femi.tickerdesk.search.TicketSearchDocument("
+            + "t.id, t.title, t.description, t.status, t.priority, t.category) FROM Ticket t";
+
+    String SNAPSHOT_SELECT = "SELECT new com.femi.tickerdesk.event.TicketSnapshot("
+            + "t.id, t.status, t.priority, t.category, c.id, c.department, t.assignedTo.id, t.slaDueAt, t.slaBreached, t.slaWarned) "
+            + "FROM Ticket t JOIN t.createdBy c";
+
+    String DISPATCH_SELECT = "SELECT t.id, t.priority, t.createdAt, t.category, s.autoAssignToDepartment "
+            + "FROM Ticket t LEFT JOIN t.serviceCatalogItem s WHERE t.assignedTo IS NULL AND t.status IN :statuses";
 
     List<Ticket> findByCreatedBy(User createdBy);
 
@@ -42,9 +72,6 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     @Query("SELECT t FROM Ticket t WHERE t.status IN :statuses")
     List<Ticket> findByStatusIn(@Param("statuses") List<TicketStatus> statuses);
 
-    @Query("SELECT t FROM Ticket t WHERE t.title LIKE %:keyword% OR t.description LIKE %:keyword%")
-    Page<Ticket> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
-
     @Query("SELECT t FROM Ticket t WHERE t.createdAt BETWEEN :startDate AND :endDate")
     List<Ticket> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
@@ -62,4 +89,159 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.createdBy = :user")
     Long countTicketsCreatedByUser(@Param("user") User user);
+
+    @Query("SELECT t.assignedTo.id, t.priority, COUNT(t) FROM Ticket t "
+            + "WHERE t.assignedTo IS NOT NULL AND t.status IN :statuses GROUP BY t.assignedTo.id, t.priority")
+    List<Object[]> countActiveByAssigneeAndPriority(@Param("statuses") Collection<TicketStatus> statuses);
+
+    @Query("SELECT t.status, t.priority, t.category, c.department, COUNT(t) FROM Ticket t JOIN t.createdBy c "
+            + "GROUP BY t.status, t.priority, t.category, c.department")
+    List<Object[]> countByStatusPriorityCategoryAndCreatorDepartment();
+
+    @Query("SELECT t.assignedTo.id, t.status, COUNT(t) FROM Ticket t WHERE t.assignedTo IS NOT NULL "
+            + "GROUP BY t.assignedTo.id, t.status")
+    List<Object[]> countByAssigneeAndStatus();
+
+    @Query("SELECT t.createdBy.id, COUNT(t) FROM Ticket t GROUP BY t.createdBy.id")
+    List<Object[]> countByCreator();
+
+    @Query(SUMMARY_SELECT + NEWEST_FIRST)
+    List<TicketSummary> findAllSummaries();
+
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(t) FROM Ticket t")
+    Page<TicketSummary> findAllSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE c.id = :userId" + NEWEST_FIRST)
+    List<TicketSummary> findSummariesByCreatedById(@Param("userId") Long userId);
+
+    @Query(value = SUMMARY_SELECT + " WHERE c.id = :userId",
+            countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.createdBy.id = :userId")
+    Page<TicketSummary> findSummariesByCreatedById(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE a.id = :userId" + NEWEST_FIRST)
+    List<TicketSummary> findSummariesByAssignedToId(@Param("userId") Long userId);
+
+    @Query(value = SUMMARY_SELECT + " WHERE a.id = :userId",
+            countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.assignedTo.id = :userId")
+    Page<TicketSummary> findSummariesByAssignedToId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE t.status = :status" + NEWEST_FIRST)
+    List<TicketSummary> findSummariesByStatus(@Param("status") TicketStatus status);
+
+    @Query(value = SUMMARY_SELECT + " WHERE t.status = :status",
+            countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.status = :status")
+    Page<TicketSummary> findSummariesByStatus(@Param("status") TicketStatus status, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE t.category = :category" + NEWEST_FIRST)
+    List<TicketSummary> findSummariesByCategory(@Param("category") TicketCategory category);
+
+    @Query(value = SUMMARY_SELECT + " WHERE t.category = :category",
+            countQuery = "SELECT COUNT(t) FROM Ticket t WHERE t.category = :category")
+    Page<TicketSummary> findSummariesByCategory(@Param("category") TicketCategory category, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE c.department = :department" + NEWEST_FIRST)
+    List<TicketSummary> findSummariesByCreatorDepartment(@Param("department") Department department);
+
+    @Query(SUMMARY_SELECT + " WHERE t.status IN :statuses" + NEWEST_FIRST)
+    List<TicketSummary> findSummariesByStatusIn(@Param("statuses") List<TicketStatus> statuses);
+
+    @Query(SUMMARY_SELECT + " WHERE t.createdAt BETWEEN :startDate AND :endDate" + NEWEST_FIRST)
+    List<TicketSummary> findSummariesCreatedBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    @Query(SUMMARY_SELECT + " WHERE a.id IS NULL AND t.status = 'OPEN'" + NEWEST_FIRST)
+    List<TicketSummary> findUnassignedOpenSummaries();
+
+    @Query(SUMMARY_SELECT + " WHERE t.priority = 'URGENT' AND t.status IN ('OPEN', 'IN_PROGRESS')" + NEWEST_FIRST)
+    List<TicketSummary> findUrgentActiveSummaries();
+
+    @Query(SUMMARY_SELECT + " WHERE t.id IN :ids")
+    List<TicketSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SEARCH_DOCUMENT_SELECT + " WHERE t.id IN :ids")
+    List<TicketSearchDocument> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SEARCH_DOCUMENT_SELECT + " WHERE t.id > :afterId ORDER BY t.id")
+    List<TicketSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Locks the rows so the guarded bulk update that follows applies to exactly these states
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(SNAPSHOT_SELECT + " WHERE t.id IN :ids")
+    List<TicketSnapshot> lockSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Bulk updates bypass the entity version check, so each one bumps the version itself
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = :status, t.resolvedAt = NULL, t.updatedAt = :now, "
+            + "t.version = t.version + 1 WHERE t.id IN :ids AND t.status IN :sources")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") TicketStatus status,
+                     @Param("sources") Collection<TicketStatus> sources, @Param("now") LocalDateTime now);
+
+    // Closing a resolved ticket keeps the time it was resolved
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = :status, t.resolvedAt = COALESCE(t.resolvedAt, :now), t.updatedAt = :now, "
+            + "t.version = t.version + 1 WHERE t.id IN :ids AND t.status IN :sources")
+    int updateStatusResolved(@Param("ids") Collection<Long> ids, @Param("status") TicketStatus status,
+                             @Param("sources") Collection<TicketStatus> sources, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.priority = :priority, t.updatedAt = :now, t.version = t.version + 1 "
+            + "WHERE t.id IN :ids AND t.status IN :sources")
+    int updatePriority(@Param("ids") Collection<Long> ids, @Param("priority") Priority priority,
+                       @Param("sources") Collection<TicketStatus> sources, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.assignedTo = :assignee, t.updatedAt = :now, t.version = t.version + 1 "
+            + "WHERE t.id IN :ids AND t.status IN :sources")
+    int updateAssignee(@Param("ids") Collection<Long> ids, @Param("assignee") User assignee,
+                       @Param("sources") Collection<TicketStatus> sources, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.slaWarned = true, t.priority = :priority, t.updatedAt = :now, "
+            + "t.version = t.version + 1 WHERE t.id IN :ids AND t.slaWarned = false AND t.slaBreached = false "
+            + "AND t.status IN :sources")
+    int markSlaWarned(@Param("ids") Collection<Long> ids, @Param("priority") Priority priority,
+                      @Param("sources") Collection<TicketStatus> sources, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.slaBreached = true, t.priority = :priority, t.updatedAt = :now, "
+            + "t.version = t.version + 1 WHERE t.id IN :ids AND t.slaBreached = false AND t.status IN :sources")
+    int markSlaBreached(@Param("ids") Collection<Long> ids, @Param("priority") Priority priority,
+                        @Param("sources") Collection<TicketStatus> sources, @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.id, t.priority, t.slaDueAt, t.slaWarned FROM Ticket t WHERE t.id > :afterId AND t.status IN :statuses "
+            + "AND t.slaBreached = false AND t.slaDueAt IS NOT NULL ORDER BY t.id")
+    List<Object[]> findSlaDeadlinesAfter(@Param("afterId") Long afterId,
+                                         @Param("statuses") Collection<TicketStatus> statuses, Limit limit);
+
+    @Query(DISPATCH_SELECT + " AND t.id > :afterId ORDER BY t.id")
+    List<Object[]> findDispatchableAfter(@Param("afterId") Long afterId,
+                                         @Param("statuses") Collection<TicketStatus> statuses, Limit limit);
+
+    @Query(DISPATCH_SELECT + " AND t.id IN :ids")
+    List<Object[]> findDispatchableByIdIn(@Param("ids") Collection<Long> ids,
+                                          @Param("statuses") Collection<TicketStatus> statuses);
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.id > :afterId AND t.status IN :statuses AND t.updatedAt < :cutoff "
+            + "ORDER BY t.id")
+    List<Long> findArchivableIdsAfter(@Param("afterId") Long afterId, @Param("statuses") Collection<TicketStatus> statuses,
+                                      @Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    // Re-checks under the row locks that the tickets are still finished, so none is archived mid-reopen
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(SNAPSHOT_SELECT + " WHERE t.id IN :ids AND t.status IN :statuses AND t.updatedAt < :cutoff")
+    List<TicketSnapshot> lockArchivableSnapshots(@Param("ids") Collection<Long> ids,
+                                                 @Param("statuses") Collection<TicketStatus> statuses,
+                                                 @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Ticket t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.femi.tickerdesk.dto.TicketDetail("
+            + "t.id, t.title, t.description, t.status, t.priority, t.category, "
+            + "c.id, CONCAT(c.firstName, ' ', c.lastName), "
+            + "a.id, CASE WHEN a.id IS NULL THEN NULL ELSE CONCAT(a.firstName, ' ', a.lastName) END, "
+            + "s.id, s.name, t.additionalData, t.ccEmails, t.createdAt, t.updatedAt, t.resolvedAt, t.slaDueAt, t.slaBreached, t.version) "
+            + "FROM Ticket t JOIN t.createdBy c LEFT JOIN t.assignedTo a LEFT JOIN t.serviceCatalogItem s "
+            + "WHERE t.id = :id")
+    Optional<TicketDetail> findDetailById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.femi.tickerdesk.repository;
+
+import com.femi.tickerdesk.dto.TicketFilter;
+import com.femi.tickerdesk.dto.TicketSummary;
+import com.femi.tickerdesk.enumFolder.TicketSort;
+
+import java.util.List;
+
+public interface TicketRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} tickets in listing order, starting after (or ending before)
+     * the cursor. Each query seeks on {@code (created_at, id)} within a priority or filter
+     * prefix, so deep pages cost the same as the first one.
+     */
+    List<TicketSummary> findSlice(TicketFilter filter, TicketSort sort, TicketCursor cursor, int limit);
+
+    long countMatching(TicketFilter filter);
+}
@@ -0,0 +1,133 @@
+package com.femi.tickerdesk.repository;
+
+import com.femi.tickerdesk.dto.TicketFilter;
+import com.femi.tickerdesk.dto.TicketSummary;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TicketRepositoryImpl implements TicketRepositoryCustom {
+
+    // Priority is stored as its name, so SQL cannot order by it; PRIORITY listings walk one bucket at a time
+    private static final List<Priority> PRIORITIES_DESCENDING = Arrays.stream(Priority.values())
+            .sorted(Comparator.comparingInt(Priority::getLevel).reversed())
+            .toList();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TicketSummary> findSlice(TicketFilter filter, TicketSort sort, TicketCursor cursor, int limit) {
+        boolean backward = cursor != null && cursor.backward();
+
+        List<TicketSummary> tickets = sort == TicketSort.PRIORITY
+                ? seekByPriority(filter, cursor, backward, limit)
+                : seek(filter, filter.getPriority(), cursor, backward, limit);
+
+        if (backward) {
+            Collections.reverse(tickets);
+        }
+        return tickets;
+    }
+
+    @Override
+    public long countMatching(TicketFilter filter) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> where = filterConditions(filter, filter.getPriority(), params);
+
+        TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT COUNT(t) FROM Ticket t" + whereClause(where), Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    private List<TicketSummary> seekByPriority(TicketFilter filter, TicketCursor cursor, boolean backward, int limit) {
+        List<Priority> buckets = filter.getPriority() != null
+                ? List.of(filter.getPriority())
+                : PRIORITIES_DESCENDING;
+        if (backward) {
+            buckets = buckets.reversed();
+        }
+
+        List<TicketSummary> tickets = new ArrayList<>();
+        for (Priority priority : buckets) {
+            TicketCursor anchor = null;
+            if (cursor != null) {
+                int compared = Integer.compare(priority.getLevel(), cursor.priority().getLevel());
+                if (backward ? compared < 0 : compared > 0) {
+                    continue;
+                }
+                anchor = compared == 0 ? cursor : null;
+            }
+
+            tickets.addAll(seek(filter, priority, anchor, backward, limit - tickets.size()));
+            if (tickets.size() >= limit) {
+                break;
+            }
+        }
+        return tickets;
+    }
+
+    // Rows come back in query order: newest first, or oldest first when seeking backward
+    private List<TicketSummary> seek(TicketFilter filter, Priority priority, TicketCursor anchor, boolean backward, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> where = filterConditions(filter, priority, params);
+
+        if (anchor != null) {
+            String op = backward ? ">" : "<";
+            where.add("(t.createdAt " + op + " :cursorCreatedAt OR (t.createdAt = :cursorCreatedAt AND t.id " + op + " :cursorId))");
+            params.put("cursorCreatedAt", anchor.createdAt());
+            params.put("cursorId", anchor.id());
+        }
+
+        String direction = backward ? "ASC" : "DESC";
+        TypedQuery<TicketSummary> query = entityManager.createQuery(
+                TicketRepository.SUMMARY_SELECT + whereClause(where)
+                        + " ORDER BY t.createdAt " + direction + ", t.id " + direction,
+                TicketSummary.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(limit);
+
+        return new ArrayList<>(query.getResultList());
+    }
+
+    private List<String> filterConditions(TicketFilter filter, Priority priority, Map<String, Object> params) {
+        List<String> where = new ArrayList<>();
+
+        if (filter.getStatus() != null) {
+            where.add("t.status = :status");
+            params.put("status", filter.getStatus());
+        }
+        if (filter.getCategory() != null) {
+            where.add("t.category = :category");
+            params.put("category", filter.getCategory());
+        }
+        if (priority != null) {
+            where.add("t.priority = :priority");
+            params.put("priority", priority);
+        }
+        if (filter.getAssignedToId() != null) {
+            where.add("t.assignedTo.id = :assignedToId");
+            params.put("assignedToId", filter.getAssignedToId());
+        }
+        if (filter.getCreatedById() != null) {
+            where.add("t.createdBy.id = :createdById");
+            params.put("createdById", filter.getCreatedById());
+        }
+        return where;
+    }
+
+    private String whereClause(List<String> where) {
+        return where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where);
+    }
+}
@@ -0,0 +1,13 @@
+package com.femi.tickerdesk.repository;
+
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+
+/**
+ * New directory-managed fields for an existing user. {@code revokeTokens} bumps the security
+ * version so tokens issued under the old role or activation state stop working.
+ */
+public record UserDirectoryChange(Long userId, Department department, Site site, Role role, boolean active,
+                                  boolean revokeTokens) {
+}
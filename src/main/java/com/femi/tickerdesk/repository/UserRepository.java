@@ -1,22 +1,35 @@
 package com.femi.tickerdesk.repository;
 
+import com.femi.tickerdesk.dto.TechnicianSummary;
+import com.femi.tickerdesk.dto.UserSuggestion;
 import com.femi.tickerdesk.enumFolder.Department;
 import com.femi.tickerdesk.enumFolder.Role;
 import com.femi.tickerdesk.enumFolder.Site;
 import com.femi.tickerdesk.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    String SUGGESTION_SELECT = "SELECT new com.femi.tickerdesk.dto.UserSuggestion("
+            + "u.id, u.firstName, u.lastName, u.email, u.department, u.site, u.role) FROM User u ";
+
+    String TECHNICIAN_SELECT = "SELECT new com.femi.tickerdesk.dto.TechnicianSummary("
+            + "u.id, u.firstName, u.lastName, u.email, u.employeeId, u.department, u.site) FROM User u "
+            + "WHERE u.role = 'TECHNICIAN' AND u.isActive = true AND u.department IS NOT NULL ";
 
     Optional<User> findByEmail(String email);
 
@@ -34,8 +47,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByIsActiveFalse();
 
-    @Query("SELECT u FROM User u WHERE u.department = :department AND u.role = :role AND u.isActive = true")
-    List<User> findActiveTechniciansByDepartment(@Param("department") Department department, @Param("role") Role role);
+    @Query(TECHNICIAN_SELECT)
+    List<TechnicianSummary> findActiveTechnicianSummaries();
+
+    @Query(TECHNICIAN_SELECT + "AND u.id IN :ids")
+    List<TechnicianSummary> findActiveTechnicianSummariesByIdIn(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT u FROM User u WHERE u.firstName LIKE %:name% OR u.lastName LIKE %:name% OR u.email LIKE %:name%")
     Page<User> searchByName(@Param("name") String name, Pageable pageable);
@@ -43,10 +59,64 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT COUNT(u) FROM User u WHERE u.department = :department AND u.isActive = true")
     Long countActiveUsersByDepartment(@Param("department") Department department);
 
+    @Query("SELECT u.department, u.role, u.site, u.isActive, COUNT(u) FROM User u " +
+            "GROUP BY u.department, u.role, u.site, u.isActive")
+    List<Object[]> countByDepartmentRoleSiteAndActive();
+
     boolean existsByEmail(String email);
 
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.employeeId FROM User u WHERE u.employeeId IN :employeeIds")
+    List<String> findExistingEmployeeIds(@Param("employeeIds") Collection<String> employeeIds);
+
     boolean existsByEmployeeId(String employeeId);
 
+    @Query("SELECT u.id, u.email, u.employeeId FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Object[]> findIdentifiersAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT u.id, u.email, u.employeeId FROM User u WHERE u.id IN :ids")
+    List<Object[]> findIdentifiersByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id, u.department FROM User u WHERE u.role = 'TECHNICIAN' AND u.isActive = true")
+    List<Object[]> findActiveTechnicianDepartments();
+
+    @Query("SELECT u.id, u.employeeId, u.department, u.site, u.role, u.isActive FROM User u WHERE u.employeeId IN :employeeIds")
+    List<Object[]> findDirectoryEntries(@Param("employeeIds") Collection<String> employeeIds);
+
+    @Query("SELECT u.id FROM User u WHERE u.isActive = true AND u.employeeId IS NOT NULL AND NOT EXISTS " +
+            "(SELECT s.id FROM DirectorySyncSeen s WHERE s.runId = :runId AND s.employeeId = u.employeeId) ORDER BY u.id")
+    List<Long> findActiveIdsNotSeenInRun(@Param("runId") String runId, Limit limit);
+
+    @Modifying
+    @Query("UPDATE User u SET u.isActive = false, u.securityVersion = u.securityVersion + 1 WHERE u.id IN :ids")
+    int deactivateAll(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id FROM User u WHERE u.isActive = true AND u.role <> 'ADMIN' AND u.lastLogin < :cutoff "
+            + "AND u.id > :afterId ORDER BY u.id")
+    List<Long> findDormantIdsAfter(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Long afterId, Limit limit);
+
+    // Re-checks the last login so users who signed in after being selected are left alone
+    @Modifying
+    @Query("UPDATE User u SET u.isActive = false, u.securityVersion = u.securityVersion + 1 "
+            + "WHERE u.id IN :ids AND u.isActive = true AND u.lastLogin < :cutoff")
+    int deactivateDormant(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query(SUGGESTION_SELECT + "WHERE u.isActive = true AND u.id > :afterId ORDER BY u.id")
+    List<UserSuggestion> findActiveSuggestionsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(SUGGESTION_SELECT + "WHERE u.isActive = true AND u.id IN :ids")
+    List<UserSuggestion> findActiveSuggestionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.securityVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findSecurityVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
     @Query("SELECT u FROM User u WHERE u.lastLogin < :date")
     List<User> findInactiveUsersSince(@Param("date") LocalDateTime date);
 }
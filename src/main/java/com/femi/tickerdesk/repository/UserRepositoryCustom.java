@@ -0,0 +1,24 @@
+package com.femi.tickerdesk.repository;
+
+import com.femi.tickerdesk.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Writes each user's last-login timestamp as one JDBC batch of a single fixed statement,
+     * so the batch size never changes the SQL text.
+     */
+    int updateLastLogins(Map<Long, LocalDateTime> lastLogins);
+
+    /**
+     * Inserts new users as a single JDBC batch and sets their generated ids. Passwords must
+     * already be encoded and the users validated, as no entity lifecycle callbacks run.
+     */
+    void insertAll(List<User> users);
+
+    void applyDirectoryChanges(List<UserDirectoryChange> changes);
+}
@@ -0,0 +1,115 @@
+package com.femi.tickerdesk.repository;
+
+import com.femi.tickerdesk.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String UPDATE_LAST_LOGIN = "UPDATE user SET last_login = ? WHERE id = ?";
+
+    private static final String UPDATE_DIRECTORY_FIELDS = "UPDATE user SET department = ?, site = ?, role = ?, " +
+            "is_active = ?, security_version = security_version + ? WHERE id = ?";
+
+    private static final String INSERT_USER = "INSERT INTO user (email, password, first_name, last_name, department, " +
+            "site, role, is_active, employee_id, security_version, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateLastLogins(Map<Long, LocalDateTime> lastLogins) {
+        if (lastLogins.isEmpty()) {
+            return 0;
+        }
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_LAST_LOGIN)) {
+                for (Map.Entry<Long, LocalDateTime> entry : lastLogins.entrySet()) {
+                    statement.setTimestamp(1, Timestamp.valueOf(entry.getValue()));
+                    statement.setLong(2, entry.getKey());
+                    statement.addBatch();
+                }
+                int updated = 0;
+                for (int count : statement.executeBatch()) {
+                    // Rewritten MySQL batches report SUCCESS_NO_INFO instead of a row count
+                    updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+                }
+                return updated;
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS)) {
+                for (User user : users) {
+                    statement.setString(1, user.getEmail());
+                    statement.setString(2, user.getPassword());
+                    statement.setString(3, user.getFirstName());
+                    statement.setString(4, user.getLastName());
+                    statement.setString(5, user.getDepartment() != null ? user.getDepartment().name() : null);
+                    statement.setString(6, user.getSite() != null ? user.getSite().name() : null);
+                    statement.setString(7, user.getRole().name());
+                    statement.setBoolean(8, user.getIsActive());
+                    if (user.getEmployeeId() != null) {
+                        statement.setString(9, user.getEmployeeId());
+                    } else {
+                        statement.setNull(9, Types.VARCHAR);
+                    }
+                    statement.setInt(10, user.getSecurityVersion());
+                    statement.setTimestamp(11, Timestamp.valueOf(user.getCreatedAt()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (int i = 0; i < users.size() && keys.next(); i++) {
+                        users.get(i).setId(keys.getLong(1));
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public void applyDirectoryChanges(List<UserDirectoryChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_DIRECTORY_FIELDS)) {
+                for (UserDirectoryChange change : changes) {
+                    statement.setString(1, change.department() != null ? change.department().name() : null);
+                    statement.setString(2, change.site() != null ? change.site().name() : null);
+                    statement.setString(3, change.role().name());
+                    statement.setBoolean(4, change.active());
+                    statement.setInt(5, change.revokeTokens() ? 1 : 0);
+                    statement.setLong(6, change.userId());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
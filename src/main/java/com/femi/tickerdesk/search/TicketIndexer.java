@@ -0,0 +1,192 @@
+package com.femi.tickerdesk.search;
+
+import com.femi.tickerdesk.event.TicketChangedEvent;
+import com.femi.tickerdesk.event.TicketCommentChangedEvent;
+import com.femi.tickerdesk.repository.ArchivedTicketRepository;
+import com.femi.tickerdesk.repository.TicketCommentRepository;
+import com.femi.tickerdesk.repository.TicketRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Keeps {@link TicketSearchIndex} in step with the database. Changed ticket ids are collected
+ * after commit and re-read in batches on a single indexing thread, so a burst of edits to one
+ * ticket costs one re-index and a full rebuild never interleaves with incremental updates.
+ * Archived tickets stay in the index; they are read from the archive tables.
+ */
+@Component
+@Slf4j
+public class TicketIndexer {
+
+    private final TicketSearchIndex index;
+    private final TicketRepository ticketRepository;
+    private final TicketCommentRepository commentRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final int batchSize;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ticket-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TicketIndexer(
+            TicketSearchIndex index,
+            TicketRepository ticketRepository,
+            TicketCommentRepository commentRepository,
+            ArchivedTicketRepository archivedTicketRepository,
+            @Value("${ticket-search.batch-size:500}") int batchSize
+    ) {
+        this.index = index;
+        this.ticketRepository = ticketRepository;
+        this.commentRepository = commentRepository;
+        this.archivedTicketRepository = archivedTicketRepository;
+        this.batchSize = batchSize;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        enqueue(event.ticketId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(TicketCommentChangedEvent event) {
+        enqueue(event.ticketId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (index.size() == 0 && ticketRepository.count() + archivedTicketRepository.count() > 0) {
+            log.info("Ticket search index is empty, rebuilding from the database");
+            rebuild();
+        }
+    }
+
+    /**
+     * Re-indexes every live and archived ticket from the database. Searches keep seeing the previous index
+     * until the rebuild completes.
+     */
+    public CompletableFuture<Integer> rebuild() {
+        return CompletableFuture.supplyAsync(this::rebuildNow, executor);
+    }
+
+    @Scheduled(fixedDelayString = "${ticket-search.commit-interval-ms:30000}")
+    public void commit() {
+        executor.execute(index::commit);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Ticket indexer did not drain within 30s");
+        }
+        index.commit();
+    }
+
+    private void enqueue(Long ticketId) {
+        if (pending.add(ticketId)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        Iterator<Long> iterator = pending.iterator();
+        while (iterator.hasNext() && batch.size() < batchSize) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            reindex(batch);
+            index.refresh();
+        } catch (RuntimeException e) {
+            log.error("Failed to index {} tickets", batch.size(), e);
+        }
+    }
+
+    private void reindex(List<Long> ticketIds) {
+        List<TicketSearchDocument> documents = ticketRepository.findSearchDocumentsByIdIn(ticketIds);
+        Set<Long> missing = new HashSet<>(ticketIds);
+        writeAll(documents, commentRepository::findCommentTextByTicketIdIn);
+        documents.forEach(document -> missing.remove(document.id()));
+
+        if (!missing.isEmpty()) {
+            List<TicketSearchDocument> archived = archivedTicketRepository.findSearchDocumentsByIdIn(missing);
+            writeAll(archived, archivedTicketRepository::findCommentTextByTicketIdIn);
+            archived.forEach(document -> missing.remove(document.id()));
+        }
+        missing.forEach(index::delete);
+    }
+
+    private int rebuildNow() {
+        long start = System.nanoTime();
+        index.deleteAll();
+
+        int indexed = writeChunks(ticketRepository::findSearchDocumentsAfter, commentRepository::findCommentTextByTicketIdIn)
+                + writeChunks(archivedTicketRepository::findSearchDocumentsAfter,
+                archivedTicketRepository::findCommentTextByTicketIdIn);
+
+        index.commit();
+        index.refresh();
+        log.info("Rebuilt ticket search index with {} tickets in {} ms",
+                indexed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return indexed;
+    }
+
+    private int writeChunks(BiFunction<Long, Limit, List<TicketSearchDocument>> source,
+                            Function<List<Long>, List<Object[]>> commentText) {
+        int written = 0;
+        long afterId = 0;
+        List<TicketSearchDocument> documents;
+        while (!(documents = source.apply(afterId, Limit.of(batchSize))).isEmpty()) {
+            writeAll(documents, commentText);
+            written += documents.size();
+            afterId = documents.getLast().id();
+        }
+        return written;
+    }
+
+    private void writeAll(List<TicketSearchDocument> documents, Function<List<Long>, List<Object[]>> commentText) {
+        if (documents.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = documents.stream().map(TicketSearchDocument::id).toList();
+        Map<Long, List<String>> comments = new HashMap<>();
+        for (Object[] row : commentText.apply(ids)) {
+            comments.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        for (TicketSearchDocument document : documents) {
+            index.update(document, comments.getOrDefault(document.id(), List.of()));
+        }
+    }
+}
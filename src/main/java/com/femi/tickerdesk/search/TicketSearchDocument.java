@@ -0,0 +1,15 @@
+package com.femi.tickerdesk.search;
+
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+
+public record TicketSearchDocument(
+        Long id,
+        String title,
+        String description,
+        TicketStatus status,
+        Priority priority,
+        TicketCategory category
+) {
+}
@@ -0,0 +1,6 @@
+package com.femi.tickerdesk.search;
+
+import java.util.Map;
+
+public record TicketSearchHit(Long ticketId, float score, Map<String, String> highlights) {
+}
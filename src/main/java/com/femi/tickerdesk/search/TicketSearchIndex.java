@@ -0,0 +1,231 @@
+package com.femi.tickerdesk.search;
+
+import com.femi.tickerdesk.dto.TicketFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Embedded Lucene index over ticket title, description and comment text. Writes go through a
+ * single {@link IndexWriter}; searches use near-real-time readers from a {@link SearcherManager},
+ * so they see a change once {@link #refresh()} has run, without waiting for a commit.
+ */
+@Component
+@Slf4j
+public class TicketSearchIndex {
+
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    static final String COMMENTS = "comments";
+    static final String STATUS = "status";
+    static final String PRIORITY = "priority";
+    static final String CATEGORY = "category";
+
+    // A title match outranks the same words buried in a long description or comment thread
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(TITLE, 3.0f, DESCRIPTION, 1.0f, COMMENTS, 0.5f);
+    private static final String[] HIGHLIGHT_FIELDS = {TITLE, DESCRIPTION, COMMENTS};
+
+    private final String indexPath;
+    private final int totalHitsThreshold;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public TicketSearchIndex(@Value("${ticket-search.index-path:}") String indexPath,
+                             @Value("${ticket-search.total-hits-threshold:10000}") int totalHitsThreshold) {
+        this.indexPath = indexPath;
+        this.totalHitsThreshold = totalHitsThreshold;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        log.info("Opened ticket search index at {} with {} documents",
+                indexPath.isBlank() ? "memory" : indexPath, size());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public void update(TicketSearchDocument ticket, List<String> comments) {
+        Document document = new Document();
+        document.add(new StringField(ID, ticket.id().toString(), Field.Store.YES));
+        document.add(new TextField(TITLE, nullToEmpty(ticket.title()), Field.Store.YES));
+        document.add(new TextField(DESCRIPTION, nullToEmpty(ticket.description()), Field.Store.YES));
+        document.add(new TextField(COMMENTS, String.join("\n", comments), Field.Store.YES));
+        document.add(new StringField(STATUS, ticket.status().name(), Field.Store.NO));
+        document.add(new StringField(PRIORITY, ticket.priority().name(), Field.Store.NO));
+        document.add(new StringField(CATEGORY, ticket.category().name(), Field.Store.NO));
+
+        try {
+            writer.updateDocument(new Term(ID, ticket.id().toString()), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(Long ticketId) {
+        try {
+            writer.deleteDocuments(new Term(ID, ticketId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Ranks tickets matching every term of {@code text} by BM25 relevance. The status, category
+     * and priority of the filter narrow the match without affecting the score. Text is parsed
+     * with Lucene's simple query syntax, so user input never causes a parse error.
+     * <p>
+     * Hits are counted in the same pass that collects the page, and only up to
+     * {@code ticket-search.total-hits-threshold}; past that the total is a lower bound, which
+     * lets Lucene skip non-competitive documents instead of visiting every match.
+     */
+    public TicketSearchResults search(String text, TicketFilter filter, int offset, int limit) {
+        Query query = buildQuery(text, filter);
+
+        IndexSearcher searcher;
+        try {
+            searcher = searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            TopDocs top = searcher.search(query, new TopScoreDocCollectorManager(Math.max(offset + limit, 1), totalHitsThreshold));
+            ScoreDoc[] page = Arrays.copyOfRange(top.scoreDocs, Math.min(offset, top.scoreDocs.length), top.scoreDocs.length);
+            long totalHits = top.totalHits.value;
+
+            if (page.length == 0) {
+                return new TicketSearchResults(totalHits, List.of());
+            }
+
+            Map<String, String[]> highlights = UnifiedHighlighter.builder(searcher, analyzer).withMaxNoHighlightPassages(0).build()
+                    .highlightFields(HIGHLIGHT_FIELDS, query, new TopDocs(top.totalHits, page));
+
+            List<TicketSearchHit> hits = new ArrayList<>(page.length);
+            for (int i = 0; i < page.length; i++) {
+                String id = searcher.storedFields().document(page[i].doc, Set.of(ID)).get(ID);
+                hits.add(new TicketSearchHit(Long.valueOf(id), page[i].score, highlightsAt(highlights, i)));
+            }
+            return new TicketSearchResults(totalHits, hits);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                searcherManager.release(searcher);
+            } catch (IOException e) {
+                log.warn("Failed to release ticket index searcher", e);
+            }
+        }
+    }
+
+    private Query buildQuery(String text, TicketFilter filter) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(parser.parse(nullToEmpty(text)), BooleanClause.Occur.MUST);
+
+        if (filter.getStatus() != null) {
+            query.add(new TermQuery(new Term(STATUS, filter.getStatus().name())), BooleanClause.Occur.FILTER);
+        }
+        if (filter.getCategory() != null) {
+            query.add(new TermQuery(new Term(CATEGORY, filter.getCategory().name())), BooleanClause.Occur.FILTER);
+        }
+        if (filter.getPriority() != null) {
+            query.add(new TermQuery(new Term(PRIORITY, filter.getPriority().name())), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private Map<String, String> highlightsAt(Map<String, String[]> highlights, int index) {
+        Map<String, String> fragments = new LinkedHashMap<>();
+        for (String field : HIGHLIGHT_FIELDS) {
+            String fragment = highlights.get(field)[index];
+            if (fragment != null && !fragment.isEmpty()) {
+                fragments.put(field, fragment);
+            }
+        }
+        return fragments;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
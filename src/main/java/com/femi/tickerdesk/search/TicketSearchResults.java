@@ -0,0 +1,6 @@
+package com.femi.tickerdesk.search;
+
+import java.util.List;
+
+public record TicketSearchResults(long totalHits, List<TicketSearchHit> hits) {
+}
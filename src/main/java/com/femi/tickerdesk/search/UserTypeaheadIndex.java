@@ -0,0 +1,435 @@
+package com.femi.tickerdesk.search;
+
+import com.femi.tickerdesk.dto.UserSuggestion;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.event.UserChangedEvent;
+import com.femi.tickerdesk.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory typeahead over active users, so the assignee picker never runs a {@code LIKE} scan.
+ * Name and email tokens sit in a sorted array for prefix lookups, and trigrams of each token in
+ * sorted posting arrays for substring lookups. Both are built by {@link #rebuild()}; changes in
+ * between go to small concurrent side structures that the next rebuild folds in. Postings may
+ * still point at a user's old tokens, so every candidate is re-scored against its current entry.
+ */
+@Component
+@Slf4j
+public class UserTypeaheadIndex {
+
+    public static final int MAX_LIMIT = 50;
+
+    private static final int MAX_CANDIDATES = 500;
+    private static final int LOAD_BATCH = 1000;
+    private static final long[] NO_IDS = new long[0];
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Comparator<Scored> RANKING = Comparator.comparingInt(Scored::score).reversed()
+            .thenComparing(scored -> scored.entry().sortKey)
+            .thenComparingLong(scored -> scored.entry().user.id());
+
+    private final UserRepository userRepository;
+
+    private volatile Index index = Index.build(List.of());
+    private volatile Set<Long> changedDuringRebuild;
+
+    public UserTypeaheadIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Returns up to {@code limit} active users matching every word of the query, best match first:
+     * an exact name word beats a name prefix, which beats an email prefix, which beats a substring.
+     * Null filters match any value.
+     */
+    public List<UserSuggestion> suggest(String query, Department department, Site site, Role role, int limit) {
+        String[] terms = terms(query);
+        if (terms.length == 0) {
+            return List.of();
+        }
+        Index current = index;
+        Predicate<Entry> filter = entry -> (department == null || entry.user.department() == department)
+                && (site == null || entry.user.site() == site)
+                && (role == null || entry.user.role() == role);
+        Collector collector = new Collector(terms, filter, Math.max(1, Math.min(limit, MAX_LIMIT)));
+
+        String lead = Arrays.stream(terms).max(Comparator.comparingInt(String::length)).orElseThrow();
+        current.collectPrefix(lead, collector);
+        if (lead.length() >= 3 && !collector.isFull()) {
+            current.collectSubstring(lead, collector);
+        }
+        return collector.ranked();
+    }
+
+    public int size() {
+        return index.users.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        Set<Long> pending = changedDuringRebuild;
+        if (pending != null) {
+            pending.addAll(event.userIds());
+        }
+        refresh(index, event.userIds());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${user-typeahead.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${user-typeahead.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Set<Long> pending = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = pending;
+        Index fresh;
+        try {
+            List<UserSuggestion> users = new ArrayList<>();
+            List<UserSuggestion> page;
+            long afterId = 0;
+            do {
+                page = userRepository.findActiveSuggestionsAfter(afterId, Limit.of(LOAD_BATCH));
+                users.addAll(page);
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).id();
+                }
+            } while (page.size() == LOAD_BATCH);
+            fresh = Index.build(users);
+            index = fresh;
+        } finally {
+            changedDuringRebuild = null;
+        }
+
+        // Changes committed while the users were loading may be missing from the snapshot
+        refresh(fresh, pending);
+        log.info("Built user typeahead index of {} users in {} ms", fresh.users.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    void replaceAll(Collection<UserSuggestion> users) {
+        index = Index.build(users);
+    }
+
+    private void refresh(Index target, Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(new HashSet<>(userIds));
+        for (int from = 0; from < ids.size(); from += LOAD_BATCH) {
+            List<Long> batch = ids.subList(from, Math.min(from + LOAD_BATCH, ids.size()));
+            Set<Long> active = new HashSet<>();
+            for (UserSuggestion user : userRepository.findActiveSuggestionsByIdIn(batch)) {
+                target.put(user);
+                active.add(user.id());
+            }
+            for (Long id : batch) {
+                if (!active.contains(id)) {
+                    target.remove(id);
+                }
+            }
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static String[] terms(String query) {
+        String normalized = normalize(query);
+        return normalized.isEmpty() ? new String[0] : WHITESPACE.split(normalized);
+    }
+
+    private record Scored(Entry entry, int score) {
+
+        UserSuggestion user() {
+            return entry.user;
+        }
+    }
+
+    // Scores candidates as they are found and keeps only the best few, worst on top of the heap
+    private static final class Collector {
+
+        final String[] terms;
+        final Predicate<Entry> filter;
+        final int wanted;
+        final Set<Long> seen = new HashSet<>();
+        final PriorityQueue<Scored> best;
+        int examined;
+
+        Collector(String[] terms, Predicate<Entry> filter, int wanted) {
+            this.terms = terms;
+            this.filter = filter;
+            this.wanted = wanted;
+            this.best = new PriorityQueue<>(wanted + 1, RANKING.reversed());
+        }
+
+        boolean offer(long id, Map<Long, Entry> users) {
+            if (!seen.add(id)) {
+                return true;
+            }
+            Entry entry = users.get(id);
+            if (entry == null || !filter.test(entry)) {
+                return true;
+            }
+            examined++;
+            int score = entry.score(terms);
+            if (score > 0) {
+                Scored scored = new Scored(entry, score);
+                if (best.size() < wanted) {
+                    best.add(scored);
+                } else if (RANKING.compare(scored, best.peek()) < 0) {
+                    best.poll();
+                    best.add(scored);
+                }
+            }
+            return !isFull();
+        }
+
+        boolean isFull() {
+            return examined >= MAX_CANDIDATES;
+        }
+
+        List<UserSuggestion> ranked() {
+            List<Scored> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            return ranked.stream().map(Scored::user).toList();
+        }
+    }
+
+    private static final class Entry {
+
+        final UserSuggestion user;
+        final String[] nameTokens;
+        final String[] emailTokens;
+        final String haystack;
+        final String sortKey;
+
+        Entry(UserSuggestion user) {
+            this.user = user;
+            String first = normalize(user.firstName());
+            String last = normalize(user.lastName());
+            String email = normalize(user.email());
+            this.nameTokens = split(first + " " + last);
+
+            Set<String> emailParts = new LinkedHashSet<>();
+            emailParts.add(email);
+            int at = email.indexOf('@');
+            emailParts.addAll(Arrays.asList(split(at >= 0 ? email.substring(0, at) : email)));
+            this.emailTokens = emailParts.stream().filter(token -> !token.isEmpty()).toArray(String[]::new);
+
+            this.haystack = first + " " + last + " " + email;
+            this.sortKey = last + " " + first;
+        }
+
+        Set<String> tokens() {
+            Set<String> tokens = new LinkedHashSet<>(Arrays.asList(nameTokens));
+            tokens.addAll(Arrays.asList(emailTokens));
+            return tokens;
+        }
+
+        // The full email is left out so common domain trigrams do not bloat every posting list
+        Set<String> trigrams() {
+            Set<String> trigrams = new HashSet<>();
+            for (String token : tokens()) {
+                if (token.indexOf('@') >= 0) {
+                    continue;
+                }
+                for (int i = 0; i + 3 <= token.length(); i++) {
+                    trigrams.add(token.substring(i, i + 3));
+                }
+            }
+            return trigrams;
+        }
+
+        int score(String[] terms) {
+            int total = 0;
+            for (String term : terms) {
+                int best = 0;
+                for (String token : nameTokens) {
+                    if (token.equals(term)) {
+                        best = 4;
+                        break;
+                    }
+                    if (token.startsWith(term)) {
+                        best = 3;
+                    }
+                }
+                if (best == 0) {
+                    for (String token : emailTokens) {
+                        if (token.startsWith(term)) {
+                            best = 2;
+                            break;
+                        }
+                    }
+                }
+                if (best == 0 && haystack.contains(term)) {
+                    best = 1;
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+
+        private static String[] split(String value) {
+            return Arrays.stream(TOKEN_SEPARATOR.split(value)).filter(token -> !token.isEmpty()).toArray(String[]::new);
+        }
+    }
+
+    private static final class Index {
+
+        final Map<Long, Entry> users;
+
+        // Built once: tokens sorted for binary search, with the owning user id at the same position
+        final String[] tokens;
+        final long[] tokenIds;
+        final Map<String, long[]> trigrams;
+
+        // Entries added since the build, keyed by token + '\0' + id
+        final NavigableMap<String, Long> addedTokens = new ConcurrentSkipListMap<>();
+        final Map<String, Set<Long>> addedTrigrams = new ConcurrentHashMap<>();
+
+        private Index(Map<Long, Entry> users, String[] tokens, long[] tokenIds, Map<String, long[]> trigrams) {
+            this.users = users;
+            this.tokens = tokens;
+            this.tokenIds = tokenIds;
+            this.trigrams = trigrams;
+        }
+
+        static Index build(Collection<UserSuggestion> suggestions) {
+            Map<Long, Entry> users = new ConcurrentHashMap<>(Math.max(16, suggestions.size() * 4 / 3));
+            List<String> tokenList = new ArrayList<>();
+            List<Long> idList = new ArrayList<>();
+            Map<String, List<Long>> postings = new HashMap<>();
+
+            for (UserSuggestion suggestion : suggestions) {
+                Entry entry = new Entry(suggestion);
+                users.put(suggestion.id(), entry);
+                for (String token : entry.tokens()) {
+                    tokenList.add(token);
+                    idList.add(suggestion.id());
+                }
+                for (String trigram : entry.trigrams()) {
+                    postings.computeIfAbsent(trigram, key -> new ArrayList<>()).add(suggestion.id());
+                }
+            }
+
+            Integer[] order = new Integer[tokenList.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(tokenList::get));
+            String[] tokens = new String[order.length];
+            long[] tokenIds = new long[order.length];
+            for (int i = 0; i < order.length; i++) {
+                tokens[i] = tokenList.get(order[i]);
+                tokenIds[i] = idList.get(order[i]);
+            }
+
+            Map<String, long[]> trigrams = new HashMap<>(Math.max(16, postings.size() * 4 / 3));
+            postings.forEach((trigram, ids) -> {
+                long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+                trigrams.put(trigram, sorted);
+            });
+
+            return new Index(users, tokens, tokenIds, trigrams);
+        }
+
+        synchronized void put(UserSuggestion user) {
+            Entry entry = new Entry(user);
+            users.put(user.id(), entry);
+            for (String token : entry.tokens()) {
+                addedTokens.put(token + '\0' + user.id(), user.id());
+            }
+            for (String trigram : entry.trigrams()) {
+                addedTrigrams.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(user.id());
+            }
+        }
+
+        void remove(Long userId) {
+            users.remove(userId);
+        }
+
+        void collectPrefix(String prefix, Collector collector) {
+            int low = 0;
+            int high = tokens.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (tokens[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (int i = low; i < tokens.length && tokens[i].startsWith(prefix); i++) {
+                if (!collector.offer(tokenIds[i], users)) {
+                    return;
+                }
+            }
+            for (Long id : addedTokens.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+                if (!collector.offer(id, users)) {
+                    return;
+                }
+            }
+        }
+
+        void collectSubstring(String term, Collector collector) {
+            List<long[]> lists = new ArrayList<>();
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                lists.add(trigrams.getOrDefault(term.substring(i, i + 3), NO_IDS));
+            }
+            lists.sort(Comparator.comparingInt(ids -> ids.length));
+
+            long[] smallest = lists.get(0);
+            outer:
+            for (long id : smallest) {
+                for (int i = 1; i < lists.size(); i++) {
+                    if (Arrays.binarySearch(lists.get(i), id) < 0) {
+                        continue outer;
+                    }
+                }
+                if (!collector.offer(id, users)) {
+                    return;
+                }
+            }
+
+            Set<Long> added = addedTrigrams.get(term.substring(0, 3));
+            if (added != null) {
+                for (Long id : added) {
+                    if (!collector.offer(id, users)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
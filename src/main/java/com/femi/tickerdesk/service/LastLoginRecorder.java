@@ -0,0 +1,76 @@
+package com.femi.tickerdesk.service;
+
+import com.femi.tickerdesk.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers last-login timestamps per user and writes them in batches, so a login
+ * costs a map put instead of a read-modify-write transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LastLoginRecorder {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(Long userId) {
+        pending.merge(userId, LocalDateTime.now(), (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${last-login.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Long, LocalDateTime> batch = new HashMap<>();
+        int written = 0;
+        for (Long userId : pending.keySet()) {
+            LocalDateTime lastLogin = pending.remove(userId);
+            if (lastLogin != null) {
+                batch.put(userId, lastLogin);
+            }
+            if (batch.size() == BATCH_SIZE) {
+                written += write(batch);
+                batch = new HashMap<>();
+            }
+        }
+        written += write(batch);
+        log.debug("Flushed {} last-login timestamps", written);
+    }
+
+    private int write(Map<Long, LocalDateTime> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            return userRepository.updateLastLogins(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} last-login timestamps, will retry", batch.size(), e);
+            batch.forEach(this::restore);
+            return 0;
+        }
+    }
+
+    private void restore(Long userId, LocalDateTime lastLogin) {
+        pending.merge(userId, lastLogin, (current, previous) -> current.isAfter(previous) ? current : previous);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
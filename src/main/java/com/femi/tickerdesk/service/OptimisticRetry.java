@@ -0,0 +1,87 @@
+package com.femi.tickerdesk.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a command in its own transaction and runs it again when it loses an optimistic version
+ * check to a concurrent writer. Commands must be idempotent: each attempt re-reads what it
+ * changes, re-validates it and sets it to a value, so a retry applies the command to the
+ * winner's state instead of overwriting it. Attempts back off exponentially with full jitter so
+ * writers to the same hot row do not collide again in lockstep. Inside a caller's transaction
+ * the command runs once, since only the outermost transaction can be retried.
+ */
+@Component
+@Slf4j
+public class OptimisticRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final Counter retried;
+    private final Counter exhausted;
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                           @Value("${optimistic-retry.max-attempts:5}") int maxAttempts,
+                           @Value("${optimistic-retry.backoff-ms:10}") long backoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+        this.retried = conflicts(meterRegistry, "retried");
+        this.exhausted = conflicts(meterRegistry, "exhausted");
+    }
+
+    /**
+     * Returns the command's result from the first attempt that commits.
+     *
+     * @throws IllegalStateException if every attempt lost to a concurrent writer
+     */
+    public <T> T execute(Supplier<T> command) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return command.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> command.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw new IllegalStateException("Changed concurrently by someone else, try again", e);
+                }
+                retried.increment();
+                log.debug("Optimistic lock conflict on attempt {}: {}", attempt, e.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        long ceiling = backoffMillis << Math.min(attempt - 1, 10);
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a conflicting update", e);
+        }
+    }
+
+    private static Counter conflicts(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("optimistic.conflicts")
+                .description("Updates that lost an optimistic version check to a concurrent writer")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
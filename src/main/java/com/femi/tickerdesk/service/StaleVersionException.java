@@ -0,0 +1,18 @@
+package com.femi.tickerdesk.service;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a caller changes an entity it last read at a version that has since moved on,
+ * e.g. a ticket update sent with an outdated {@code If-Match} header.
+ */
+@Getter
+public class StaleVersionException extends IllegalStateException {
+
+    private final Long currentVersion;
+
+    public StaleVersionException(Long expectedVersion, Long currentVersion) {
+        super("Expected version " + expectedVersion + " but it is now at version " + currentVersion);
+        this.currentVersion = currentVersion;
+    }
+}
@@ -0,0 +1,149 @@
+package com.femi.tickerdesk.service;
+
+import com.femi.tickerdesk.event.TicketCommentChangedEvent;
+import com.femi.tickerdesk.model.Ticket;
+import com.femi.tickerdesk.model.TicketComment;
+import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.repository.TicketCommentRepository;
+import com.femi.tickerdesk.repository.TicketRepository;
+import com.femi.tickerdesk.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class TicketCommentServiceImpl implements TicketCommentService {
+
+    private final TicketCommentRepository commentRepository;
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OptimisticRetry optimisticRetry;
+
+    @Override
+    @Transactional
+    public TicketComment createComment(TicketComment comment) {
+        TicketComment saved = commentRepository.save(comment);
+        publishChange(saved);
+        return saved;
+    }
+
+    @Override
+    public TicketComment updateComment(Long id, TicketComment comment) {
+        return optimisticRetry.execute(() -> {
+            TicketComment existing = commentRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Comment not found"));
+
+            if (comment.getComment() != null) {
+                existing.setComment(comment.getComment());
+            }
+            if (comment.getIsInternal() != null) {
+                existing.setIsInternal(comment.getIsInternal());
+            }
+
+            publishChange(existing);
+            return existing;
+        });
+    }
+
+    @Override
+    public Optional<TicketComment> findById(Long id) {
+        return commentRepository.findById(id);
+    }
+
+    @Override
+    public List<TicketComment> findAll() {
+        return commentRepository.findAll();
+    }
+
+    @Override
+    public List<TicketComment> findByTicket(Ticket ticket) {
+        return commentRepository.findByTicket(ticket);
+    }
+
+    @Override
+    public List<TicketComment> findByTicketOrderByCreatedAtAsc(Ticket ticket) {
+        return commentRepository.findByTicketOrderByCreatedAtAsc(ticket);
+    }
+
+    @Override
+    public List<TicketComment> findByTicketOrderByCreatedAtDesc(Ticket ticket) {
+        return commentRepository.findByTicketOrderByCreatedAtDesc(ticket);
+    }
+
+    @Override
+    public List<TicketComment> findByUser(User user) {
+        return commentRepository.findByUser(user);
+    }
+
+    @Override
+    public Page<TicketComment> findByTicket(Ticket ticket, Pageable pageable) {
+        return commentRepository.findByTicket(ticket, pageable);
+    }
+
+    @Override
+    public List<TicketComment> findByTicketAndIsInternal(Ticket ticket, Boolean isInternal) {
+        return commentRepository.findByTicketAndIsInternal(ticket, isInternal);
+    }
+
+    @Override
+    public List<TicketComment> findPublicCommentsByTicket(Ticket ticket) {
+        return commentRepository.findPublicCommentsByTicket(ticket);
+    }
+
+    @Override
+    @Transactional
+    public TicketComment addCommentToTicket(Long ticketId, String comment, Long userId, Boolean isInternal) {
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new EntityNotFoundException("Ticket not found"));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+
+        TicketComment ticketComment = TicketComment.builder()
+                .comment(comment)
+                .ticket(ticket)
+                .user(user)
+                .isInternal(isInternal != null ? isInternal : false)
+                .build();
+
+        return createComment(ticketComment);
+    }
+
+    @Override
+    @Transactional
+    public void deleteComment(Long id) {
+        TicketComment comment = commentRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Comment not found"));
+
+        commentRepository.delete(comment);
+        publishChange(comment);
+    }
+
+    @Override
+    public Long countCommentsByTicket(Ticket ticket) {
+        return commentRepository.countCommentsByTicket(ticket);
+    }
+
+    @Override
+    public List<TicketComment> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return commentRepository.findByCreatedAtBetween(startDate, endDate);
+    }
+
+    @Override
+    public Long countCommentsByUser(User user) {
+        return commentRepository.countCommentsByUser(user);
+    }
+
+    private void publishChange(TicketComment comment) {
+        eventPublisher.publishEvent(new TicketCommentChangedEvent(comment.getTicket().getId(), comment.getId()));
+    }
+}
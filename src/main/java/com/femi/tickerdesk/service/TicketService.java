@@ -1,7 +1,17 @@
 package com.femi.tickerdesk.service;
 
+import com.femi.tickerdesk.dto.BulkTicketUpdateReport;
+import com.femi.tickerdesk.dto.BulkTicketUpdateRequest;
+import com.femi.tickerdesk.dto.CursorPage;
+import com.femi.tickerdesk.dto.TicketDetail;
+import com.femi.tickerdesk.dto.TicketFilter;
+import com.femi.tickerdesk.dto.TicketSearchResult;
+import com.femi.tickerdesk.dto.TicketStatistics;
+import com.femi.tickerdesk.dto.TicketSummary;
+import com.femi.tickerdesk.enumFolder.Department;
 import com.femi.tickerdesk.enumFolder.Priority;
 import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketSort;
 import com.femi.tickerdesk.enumFolder.TicketStatus;
 import com.femi.tickerdesk.model.Ticket;
 import com.femi.tickerdesk.model.User;
@@ -18,49 +28,104 @@ public interface TicketService {
 
     Ticket updateTicket(Long id, Ticket ticket);
 
+    /**
+     * Finds a live ticket, or else an archived one. An archived ticket comes back as a detached,
+     * read-only copy without its comments and attachments.
+     */
     Optional<Ticket> findById(Long id);
 
-    List<Ticket> findAll();
+    /**
+     * Finds the details of a live ticket, or else of an archived one.
+     */
+    Optional<TicketDetail> findDetailById(Long id);
 
-    Page<Ticket> findAll(Pageable pageable);
+    List<TicketSummary> findAll();
 
-    List<Ticket> findByCreatedBy(User createdBy);
+    Page<TicketSummary> findAll(Pageable pageable);
 
-    Page<Ticket> findByCreatedBy(User createdBy, Pageable pageable);
+    List<TicketSummary> findByCreatedBy(User createdBy);
 
-    List<Ticket> findByAssignedTo(User assignedTo);
+    Page<TicketSummary> findByCreatedBy(User createdBy, Pageable pageable);
 
-    Page<Ticket> findByAssignedTo(User assignedTo, Pageable pageable);
+    List<TicketSummary> findByAssignedTo(User assignedTo);
 
-    List<Ticket> findByStatus(TicketStatus status);
+    Page<TicketSummary> findByAssignedTo(User assignedTo, Pageable pageable);
 
-    Page<Ticket> findByStatus(TicketStatus status, Pageable pageable);
+    List<TicketSummary> findByStatus(TicketStatus status);
 
-    List<Ticket> findByCategory(TicketCategory category);
+    Page<TicketSummary> findByStatus(TicketStatus status, Pageable pageable);
 
-    Page<Ticket> findByCategory(TicketCategory category, Pageable pageable);
+    List<TicketSummary> findByCategory(TicketCategory category);
 
-    List<Ticket> findByCreatedByDepartment(String department);
+    Page<TicketSummary> findByCategory(TicketCategory category, Pageable pageable);
 
-    List<Ticket> findByStatusIn(List<TicketStatus> statuses);
+    List<TicketSummary> findByCreatedByDepartment(String department);
 
-    Page<Ticket> searchByKeyword(String keyword, Pageable pageable);
+    List<TicketSummary> findByStatusIn(List<TicketStatus> statuses);
 
-    List<Ticket> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
+    Page<TicketSummary> searchByKeyword(String keyword, Pageable pageable);
 
-    Ticket assignTicket(Long ticketId, Long userId);
+    Page<TicketSearchResult> search(String text, TicketFilter filter, Pageable pageable);
 
-    Ticket unassignTicket(Long ticketId);
+    CursorPage<TicketSummary> findPage(TicketFilter filter, TicketSort sort, String cursor, int size, boolean includeTotal);
 
-    Ticket updateTicketStatus(Long ticketId, TicketStatus status);
+    List<TicketSummary> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
 
-    Ticket updateTicketPriority(Long ticketId, Priority priority);
+    /**
+     * Assigns the ticket to a user. Like the other single-ticket changes below, the change is
+     * re-applied when it loses to a concurrent update of the same ticket.
+     *
+     * @param expectedVersion the version the caller last saw, or null to apply to any version
+     * @throws StaleVersionException if {@code expectedVersion} is no longer the ticket's version
+     */
+    Ticket assignTicket(Long ticketId, Long userId, Long expectedVersion);
 
-    Ticket resolveTicket(Long ticketId);
+    default Ticket assignTicket(Long ticketId, Long userId) {
+        return assignTicket(ticketId, userId, null);
+    }
 
-    Ticket closeTicket(Long ticketId);
+    Ticket unassignTicket(Long ticketId, Long expectedVersion);
 
-    Ticket reopenTicket(Long ticketId);
+    default Ticket unassignTicket(Long ticketId) {
+        return unassignTicket(ticketId, null);
+    }
+
+    Ticket updateTicketStatus(Long ticketId, TicketStatus status, Long expectedVersion);
+
+    default Ticket updateTicketStatus(Long ticketId, TicketStatus status) {
+        return updateTicketStatus(ticketId, status, null);
+    }
+
+    Ticket updateTicketPriority(Long ticketId, Priority priority, Long expectedVersion);
+
+    default Ticket updateTicketPriority(Long ticketId, Priority priority) {
+        return updateTicketPriority(ticketId, priority, null);
+    }
+
+    Ticket resolveTicket(Long ticketId, Long expectedVersion);
+
+    default Ticket resolveTicket(Long ticketId) {
+        return resolveTicket(ticketId, null);
+    }
+
+    Ticket closeTicket(Long ticketId, Long expectedVersion);
+
+    default Ticket closeTicket(Long ticketId) {
+        return closeTicket(ticketId, null);
+    }
+
+    Ticket reopenTicket(Long ticketId, Long expectedVersion);
+
+    default Ticket reopenTicket(Long ticketId) {
+        return reopenTicket(ticketId, null);
+    }
+
+    /**
+     * Applies one status, priority or assignee change to many tickets with a single guarded
+     * update and reports the outcome for each id. Tickets whose status does not allow the change
+     * are left alone.
+     */
+    BulkTicketUpdateReport bulkUpdate(BulkTicketUpdateRequest request);
 
     void deleteTicket(Long id);
 
@@ -68,11 +133,17 @@ public interface TicketService {
 
     Long countAssignedTicketsByStatus(User user, List<TicketStatus> statuses);
 
-    List<Ticket> findUnassignedOpenTickets();
+    List<TicketSummary> findUnassignedOpenTickets();
 
-    List<Ticket> findUrgentActiveTickets();
+    List<TicketSummary> findUrgentActiveTickets();
 
     Long countTicketsCreatedByUser(User user);
 
-    Ticket autoAssignTicket(Long ticketId);
+    TicketStatistics getTicketStatistics(Department department);
+
+    Ticket autoAssignTicket(Long ticketId, Long expectedVersion);
+
+    default Ticket autoAssignTicket(Long ticketId) {
+        return autoAssignTicket(ticketId, null);
+    }
 }
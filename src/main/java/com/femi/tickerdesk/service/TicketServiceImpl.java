@@ -1,31 +1,82 @@
 package com.femi.tickerdesk.service;
 
+import com.femi.tickerdesk.assignment.AssignmentEngine;
+import com.femi.tickerdesk.dto.BulkTicketUpdateReport;
+import com.femi.tickerdesk.dto.BulkTicketUpdateRequest;
+import com.femi.tickerdesk.dto.CursorPage;
+import com.femi.tickerdesk.dto.TicketDetail;
+import com.femi.tickerdesk.dto.TicketFilter;
+import com.femi.tickerdesk.dto.TicketSearchResult;
+import com.femi.tickerdesk.dto.TicketStatistics;
+import com.femi.tickerdesk.dto.TicketSummary;
+import com.femi.tickerdesk.enumFolder.Department;
 import com.femi.tickerdesk.enumFolder.Priority;
 import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketSort;
 import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.event.TicketChangedEvent;
+import com.femi.tickerdesk.event.TicketSnapshot;
+import com.femi.tickerdesk.model.ArchivedTicket;
+import com.femi.tickerdesk.model.ServiceCatalogItem;
 import com.femi.tickerdesk.model.Ticket;
 import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.repository.ArchivedTicketRepository;
+import com.femi.tickerdesk.repository.ServiceCatalogItemRepository;
+import com.femi.tickerdesk.repository.TicketCursor;
 import com.femi.tickerdesk.repository.TicketRepository;
 import com.femi.tickerdesk.repository.UserRepository;
+import com.femi.tickerdesk.search.TicketSearchHit;
+import com.femi.tickerdesk.search.TicketSearchIndex;
+import com.femi.tickerdesk.search.TicketSearchResults;
+import com.femi.tickerdesk.sla.SlaEngine;
+import com.femi.tickerdesk.stats.TicketCounters;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TicketServiceImpl implements TicketService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    // Relevance pages past this are noise, and each one makes the index collect every hit before it
+    private static final int MAX_SEARCH_OFFSET = 1000;
+    private static final int MAX_BULK_SIZE = 1000;
+
     private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final ServiceCatalogItemRepository serviceCatalogItemRepository;
     private final UserRepository userRepository;
-
+    private final TicketSearchIndex ticketSearchIndex;
+    private final AssignmentEngine assignmentEngine;
+    private final TicketCounters ticketCounters;
+    private final SlaEngine slaEngine;
+    private final OptimisticRetry optimisticRetry;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public Ticket createTicket(Ticket ticket) {
         Long creatorId = ticket.getCreatedBy().getId();
 
@@ -49,7 +100,19 @@ public class TicketServiceImpl implements TicketService {
             ticket.setPriority(Priority.MEDIUM);
         }
 
-        return ticketRepository.save(ticket);
+        // Catalog items that name a department are routed on creation; others wait for a manual or auto assign
+        ServiceCatalogItem item = ticket.getServiceCatalogItem();
+        if (ticket.getAssignedTo() == null && item != null && item.getAutoAssignToDepartment() != null) {
+            Department department = assignmentEngine.route(item, ticket.getCategory());
+            assignmentEngine.reserve(department, ticket.getPriority())
+                    .ifPresent(technicianId -> ticket.setAssignedTo(userRepository.getReferenceById(technicianId)));
+        }
+
+        ticket.setSlaDueAt(slaEngine.dueAt(LocalDateTime.now(), item, ticket.getPriority()));
+
+        Ticket saved = ticketRepository.save(ticket);
+        eventPublisher.publishEvent(TicketChangedEvent.created(TicketSnapshot.of(saved)));
+        return saved;
     }
 
     @Override
@@ -58,147 +121,447 @@ public class TicketServiceImpl implements TicketService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Ticket> findById(Long id) {
-        return Optional.empty();
+        return ticketRepository.findById(id).or(() -> archivedTicketRepository.findById(id).map(this::restore));
     }
 
     @Override
-    public List<Ticket> findAll() {
-        return List.of();
+    @Transactional(readOnly = true)
+    public Optional<TicketDetail> findDetailById(Long id) {
+        return ticketRepository.findDetailById(id).or(() -> archivedTicketRepository.findDetailById(id));
     }
 
     @Override
-    public Page<Ticket> findAll(Pageable pageable) {
-        return null;
+    @Transactional(readOnly = true)
+    public List<TicketSummary> findAll() {
+        return ticketRepository.findAllSummaries();
     }
 
     @Override
-    public List<Ticket> findByCreatedBy(User createdBy) {
-        return List.of();
+    @Transactional(readOnly = true)
+    public Page<TicketSummary> findAll(Pageable pageable) {
+        return ticketRepository.findAllSummaries(pageable);
     }
 
     @Override
-    public Page<Ticket> findByCreatedBy(User createdBy, Pageable pageable) {
-        return null;
+    @Transactional(readOnly = true)
+    public List<TicketSummary> findByCreatedBy(User createdBy) {
+        return ticketRepository.findSummariesByCreatedById(createdBy.getId());
     }
 
     @Override
-    public List<Ticket> findByAssignedTo(User assignedTo) {
-        return List.of();
+    @Transactional(readOnly = true)
+    public Page<TicketSummary> findByCreatedBy(User createdBy, Pageable pageable) {
+        return ticketRepository.findSummariesByCreatedById(createdBy.getId(), pageable);
     }
 
     @Override
-    public Page<Ticket> findByAssignedTo(User assignedTo, Pageable pageable) {
-        return null;
+    @Transactional(readOnly = true)
+    public List<TicketSummary> findByAssignedTo(User assignedTo) {
+        return ticketRepository.findSummariesByAssignedToId(assignedTo.getId());
     }
 
     @Override
-    public List<Ticket> findByStatus(TicketStatus status) {
-        return List.of();
+    @Transactional(readOnly = true)
+    public Page<TicketSummary> findByAssignedTo(User assignedTo, Pageable pageable) {
+        return ticketRepository.findSummariesByAssignedToId(assignedTo.getId(), pageable);
     }
 
     @Override
-    public Page<Ticket> findByStatus(TicketStatus status, Pageable pageable) {
-        return null;
+    @Transactional(readOnly = true)
+    public List<TicketSummary> findByStatus(TicketStatus status) {
+        return ticketRepository.findSummariesByStatus(status);
     }
 
     @Override
-    public List<Ticket> findByCategory(TicketCategory category) {
-        return List.of();
+    @Transactional(readOnly = true)
+    public Page<TicketSummary> findByStatus(TicketStatus status, Pageable pageable) {
+        return ticketRepository.findSummariesByStatus(status, pageable);
     }
 
     @Override
-    public Page<Ticket> findByCategory(TicketCategory category, Pageable pageable) {
-        return null;
+    @Transactional(readOnly = true)
+    public List<TicketSummary> findByCategory(TicketCategory category) {
+        return ticketRepository.findSummariesByCategory(category);
     }
 
     @Override
-    public List<Ticket> findByCreatedByDepartment(String department) {
-        return List.of();
+    @Transactional(readOnly = true)
+    public Page<TicketSummary> findByCategory(TicketCategory category, Pageable pageable) {
+        return ticketRepository.findSummariesByCategory(category, pageable);
     }
 
     @Override
-    public List<Ticket> findByStatusIn(List<TicketStatus> statuses) {
-        return List.of();
+    @Transactional(readOnly = true)
+    public List<TicketSummary> findByCreatedByDepartment(String department) {
+        return ticketRepository.findSummariesByCreatorDepartment(Department.valueOf(department));
     }
 
     @Override
-    public Page<Ticket> searchByKeyword(String keyword, Pageable pageable) {
-        return null;
+    @Transactional(readOnly = true)
+    public List<TicketSummary> findByStatusIn(List<TicketStatus> statuses) {
+        return ticketRepository.findSummariesByStatusIn(statuses);
     }
 
     @Override
-    public List<Ticket> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
-        return List.of();
+    public Page<TicketSummary> searchByKeyword(String keyword, Pageable pageable) {
+        return search(keyword, new TicketFilter(), pageable).map(TicketSearchResult::ticket);
     }
 
     @Override
-    public Ticket assignTicket(Long ticketId, Long userId) {
-        return null;
+    public Page<TicketSearchResult> search(String text, TicketFilter filter, Pageable requested) {
+        Pageable pageable = PageRequest.of(requested.getPageNumber(),
+                Math.clamp(requested.getPageSize(), 1, MAX_PAGE_SIZE), requested.getSort());
+        if (pageable.getOffset() > MAX_SEARCH_OFFSET) {
+            throw new IllegalArgumentException(
+                    "Search results are limited to the first " + MAX_SEARCH_OFFSET + " hits; refine the query instead");
+        }
+
+        TicketSearchResults results = ticketSearchIndex.search(
+                text, filter, (int) pageable.getOffset(), pageable.getPageSize());
+        if (results.hits().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, results.totalHits());
+        }
+
+        List<Long> ids = results.hits().stream().map(TicketSearchHit::ticketId).toList();
+        Map<Long, TicketSummary> summaries = ticketRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TicketSummary::id, Function.identity(), (a, b) -> a, HashMap::new));
+        if (summaries.size() < ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !summaries.containsKey(id)).toList();
+            archivedTicketRepository.findSummariesByIdIn(missing).forEach(summary -> summaries.put(summary.id(), summary));
+        }
+
+        // Keep the index's relevance order; a hit deleted since the last refresh is dropped
+        List<TicketSearchResult> content = results.hits().stream()
+                .filter(hit -> summaries.containsKey(hit.ticketId()))
+                .map(hit -> new TicketSearchResult(summaries.get(hit.ticketId()), hit.score(), hit.highlights()))
+                .toList();
+
+        return new PageImpl<>(content, pageable, results.totalHits());
     }
 
     @Override
-    public Ticket unassignTicket(Long ticketId) {
-        return null;
+    @Transactional(readOnly = true)
+    public CursorPage<TicketSummary> findPage(TicketFilter filter, TicketSort sort, String cursor, int size, boolean includeTotal) {
+        TicketCursor position = cursor != null && !cursor.isBlank() ? TicketCursor.decode(cursor) : null;
+        if (position != null && position.sort() != sort) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        boolean backward = position != null && position.backward();
+
+        // One extra row tells us whether another page exists without counting
+        List<TicketSummary> tickets = ticketRepository.findSlice(filter, sort, position, pageSize + 1);
+        boolean more = tickets.size() > pageSize;
+        if (more) {
+            tickets = backward ? tickets.subList(1, tickets.size()) : tickets.subList(0, pageSize);
+        }
+
+        boolean hasNext = backward || more;
+        boolean hasPrevious = backward ? more : position != null;
+
+        return CursorPage.<TicketSummary>builder()
+                .items(tickets)
+                .size(tickets.size())
+                .hasNext(hasNext)
+                .hasPrevious(hasPrevious)
+                .nextCursor(hasNext && !tickets.isEmpty()
+                        ? TicketCursor.after(tickets.getLast(), sort).encode() : null)
+                .previousCursor(hasPrevious && !tickets.isEmpty()
+                        ? TicketCursor.before(tickets.getFirst(), sort).encode() : null)
+                .totalElements(includeTotal ? ticketRepository.countMatching(filter) : null)
+                .build();
     }
 
     @Override
-    public Ticket updateTicketStatus(Long ticketId, TicketStatus status) {
-        return null;
+    @Transactional(readOnly = true)
+    public List<TicketSummary> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return ticketRepository.findSummariesCreatedBetween(startDate, endDate);
     }
 
     @Override
-    public Ticket updateTicketPriority(Long ticketId, Priority priority) {
-        return null;
+    public Ticket assignTicket(Long ticketId, Long userId, Long expectedVersion) {
+        return optimisticRetry.execute(() -> {
+            Ticket ticket = load(ticketId, expectedVersion);
+            User assignee = userRepository.findById(userId)
+                    .orElseThrow(() -> new EntityNotFoundException("Assignee user not found"));
+            requireActive(ticket);
+
+            TicketSnapshot before = TicketSnapshot.of(ticket);
+            ticket.setAssignedTo(assignee);
+            eventPublisher.publishEvent(TicketChangedEvent.updated(before, TicketSnapshot.of(ticket)));
+            return ticket;
+        });
     }
 
     @Override
-    public Ticket resolveTicket(Long ticketId) {
-        return null;
+    public Ticket unassignTicket(Long ticketId, Long expectedVersion) {
+        return optimisticRetry.execute(() -> {
+            Ticket ticket = load(ticketId, expectedVersion);
+
+            TicketSnapshot before = TicketSnapshot.of(ticket);
+            ticket.setAssignedTo(null);
+            eventPublisher.publishEvent(TicketChangedEvent.updated(before, TicketSnapshot.of(ticket)));
+            return ticket;
+        });
     }
 
     @Override
-    public Ticket closeTicket(Long ticketId) {
-        return null;
+    public Ticket updateTicketStatus(Long ticketId, TicketStatus status, Long expectedVersion) {
+        return optimisticRetry.execute(() -> moveTo(load(ticketId, expectedVersion), status));
     }
 
     @Override
-    public Ticket reopenTicket(Long ticketId) {
-        return null;
+    public Ticket updateTicketPriority(Long ticketId, Priority priority, Long expectedVersion) {
+        return optimisticRetry.execute(() -> {
+            Ticket ticket = load(ticketId, expectedVersion);
+            if (ticket.getPriority() == priority) {
+                return ticket;
+            }
+            requireActive(ticket);
+
+            TicketSnapshot before = TicketSnapshot.of(ticket);
+            ticket.setPriority(priority);
+            eventPublisher.publishEvent(TicketChangedEvent.updated(before, TicketSnapshot.of(ticket)));
+            return ticket;
+        });
+    }
+
+    @Override
+    public Ticket resolveTicket(Long ticketId, Long expectedVersion) {
+        return updateTicketStatus(ticketId, TicketStatus.RESOLVED, expectedVersion);
     }
 
     @Override
+    public Ticket closeTicket(Long ticketId, Long expectedVersion) {
+        return updateTicketStatus(ticketId, TicketStatus.CLOSED, expectedVersion);
+    }
+
+    @Override
+    public Ticket reopenTicket(Long ticketId, Long expectedVersion) {
+        return optimisticRetry.execute(() -> {
+            Ticket ticket = load(ticketId, expectedVersion);
+            if (!ticket.getStatus().isResolved()) {
+                throw new IllegalStateException("Only resolved or closed tickets can be reopened");
+            }
+            return moveTo(ticket, TicketStatus.OPEN);
+        });
+    }
+
+    @Override
+    @Transactional
+    public BulkTicketUpdateReport bulkUpdate(BulkTicketUpdateRequest request) {
+        TicketStatus status = request.getStatus();
+        Priority priority = request.getPriority();
+        Long assigneeId = request.getAssigneeId();
+        if (Stream.of(status, priority, assigneeId).filter(Objects::nonNull).count() != 1) {
+            throw new IllegalArgumentException("Exactly one of status, priority or assigneeId must be set");
+        }
+        Set<Long> ids = new LinkedHashSet<>(request.getTicketIds());
+        ids.remove(null);
+        if (ids.isEmpty() || ids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BULK_SIZE + " ticket ids must be given");
+        }
+        User assignee = assigneeId == null ? null : userRepository.findById(assigneeId)
+                .orElseThrow(() -> new EntityNotFoundException("Assignee user not found"));
+
+        Set<TicketStatus> sources = status != null ? TicketStatus.sourcesOf(status) : TicketStatus.ACTIVE;
+        UnaryOperator<TicketSnapshot> change = status != null ? ticket -> ticket.withStatus(status)
+                : priority != null ? ticket -> ticket.withPriority(priority)
+                : ticket -> ticket.withAssignedToId(assigneeId);
+
+        Map<Long, TicketSnapshot> current = ticketRepository.lockSnapshotsByIdIn(ids).stream()
+                .collect(Collectors.toMap(TicketSnapshot::id, Function.identity()));
+        List<BulkTicketUpdateReport.Row> rows = new ArrayList<>(ids.size());
+        List<Long> eligible = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TicketSnapshot ticket = current.get(id);
+            BulkTicketUpdateReport.Status outcome;
+            if (ticket == null) {
+                outcome = BulkTicketUpdateReport.Status.NOT_FOUND;
+            } else if (change.apply(ticket).equals(ticket)) {
+                outcome = BulkTicketUpdateReport.Status.UNCHANGED;
+            } else if (!sources.contains(ticket.status())) {
+                outcome = BulkTicketUpdateReport.Status.NOT_ALLOWED;
+            } else {
+                outcome = BulkTicketUpdateReport.Status.UPDATED;
+                eligible.add(id);
+            }
+            rows.add(new BulkTicketUpdateReport.Row(id, outcome, ticket != null ? ticket.status() : null));
+        }
+
+        if (!eligible.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            int updated;
+            if (status != null) {
+                updated = status.isResolved()
+                        ? ticketRepository.updateStatusResolved(eligible, status, sources, now)
+                        : ticketRepository.updateStatus(eligible, status, sources, now);
+            } else if (priority != null) {
+                updated = ticketRepository.updatePriority(eligible, priority, sources, now);
+            } else {
+                updated = ticketRepository.updateAssignee(eligible, assignee, sources, now);
+            }
+            // The rows are locked, so a shortfall means the guard and the checks above disagree
+            if (updated != eligible.size()) {
+                throw new IllegalStateException("Expected to update " + eligible.size() + " tickets but updated " + updated);
+            }
+            for (Long id : eligible) {
+                TicketSnapshot before = current.get(id);
+                eventPublisher.publishEvent(TicketChangedEvent.updated(before, change.apply(before)));
+            }
+        }
+
+        Map<BulkTicketUpdateReport.Status, Long> counts = rows.stream()
+                .collect(Collectors.groupingBy(BulkTicketUpdateReport.Row::status,
+                        () -> new EnumMap<>(BulkTicketUpdateReport.Status.class), Collectors.counting()));
+        return BulkTicketUpdateReport.builder()
+                .total(rows.size())
+                .updated(counts.getOrDefault(BulkTicketUpdateReport.Status.UPDATED, 0L).intValue())
+                .unchanged(counts.getOrDefault(BulkTicketUpdateReport.Status.UNCHANGED, 0L).intValue())
+                .rejected(counts.getOrDefault(BulkTicketUpdateReport.Status.NOT_ALLOWED, 0L).intValue())
+                .notFound(counts.getOrDefault(BulkTicketUpdateReport.Status.NOT_FOUND, 0L).intValue())
+                .tickets(rows)
+                .build();
+    }
+
+    @Override
+    @Transactional
     public void deleteTicket(Long id) {
+        Ticket ticket = ticketRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Ticket not found"));
 
+        TicketSnapshot before = TicketSnapshot.of(ticket);
+        ticketRepository.delete(ticket);
+        eventPublisher.publishEvent(TicketChangedEvent.deleted(before));
     }
 
     @Override
     public Long countByStatus(TicketStatus status) {
-        return 0L;
+        return ticketCounters.count(status, null, null, null);
     }
 
     @Override
     public Long countAssignedTicketsByStatus(User user, List<TicketStatus> statuses) {
-        return 0L;
+        return ticketCounters.countAssigned(user.getId(), statuses);
     }
 
     @Override
-    public List<Ticket> findUnassignedOpenTickets() {
-        return List.of();
+    @Transactional(readOnly = true)
+    public List<TicketSummary> findUnassignedOpenTickets() {
+        return ticketRepository.findUnassignedOpenSummaries();
     }
 
     @Override
-    public List<Ticket> findUrgentActiveTickets() {
-        return List.of();
+    @Transactional(readOnly = true)
+    public List<TicketSummary> findUrgentActiveTickets() {
+        return ticketRepository.findUrgentActiveSummaries();
     }
 
     @Override
     public Long countTicketsCreatedByUser(User user) {
-        return 0L;
+        return ticketCounters.countCreatedBy(user.getId());
     }
 
     @Override
-    public Ticket autoAssignTicket(Long ticketId) {
-        return null;
+    public TicketStatistics getTicketStatistics(Department department) {
+        Map<TicketStatus, Long> byStatus = new EnumMap<>(TicketStatus.class);
+        for (TicketStatus status : TicketStatus.values()) {
+            byStatus.put(status, ticketCounters.count(status, null, null, department));
+        }
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, ticketCounters.count(null, priority, null, department));
+        }
+        Map<TicketCategory, Long> byCategory = new EnumMap<>(TicketCategory.class);
+        for (TicketCategory category : TicketCategory.values()) {
+            byCategory.put(category, ticketCounters.count(null, null, category, department));
+        }
+
+        return TicketStatistics.builder()
+                .totalTickets(byStatus.values().stream().mapToLong(Long::longValue).sum())
+                .ticketsByStatus(byStatus)
+                .ticketsByPriority(byPriority)
+                .ticketsByCategory(byCategory)
+                .build();
+    }
+
+    @Override
+    public Ticket autoAssignTicket(Long ticketId, Long expectedVersion) {
+        // A reservation is dropped when its attempt's transaction ends, so a retry reserves afresh
+        return optimisticRetry.execute(() -> {
+            Ticket ticket = load(ticketId, expectedVersion);
+            if (ticket.getAssignedTo() != null) {
+                return ticket;
+            }
+
+            Department department = assignmentEngine.route(ticket.getServiceCatalogItem(), ticket.getCategory());
+            Long technicianId = assignmentEngine.reserve(department, ticket.getPriority())
+                    .orElseThrow(() -> new IllegalStateException("No active technician in " + department));
+
+            TicketSnapshot before = TicketSnapshot.of(ticket);
+            ticket.setAssignedTo(userRepository.getReferenceById(technicianId));
+            eventPublisher.publishEvent(TicketChangedEvent.updated(before, TicketSnapshot.of(ticket)));
+            return ticket;
+        });
+    }
+
+    private Ticket load(Long ticketId, Long expectedVersion) {
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new EntityNotFoundException("Ticket not found"));
+        if (expectedVersion != null && !expectedVersion.equals(ticket.getVersion())) {
+            throw new StaleVersionException(expectedVersion, ticket.getVersion());
+        }
+        return ticket;
+    }
+
+    private Ticket moveTo(Ticket ticket, TicketStatus status) {
+        if (ticket.getStatus() == status) {
+            return ticket;
+        }
+        if (!ticket.getStatus().canTransitionTo(status)) {
+            throw new IllegalStateException("A " + ticket.getStatus().getDisplayName().toLowerCase()
+                    + " ticket cannot be moved to " + status.getDisplayName().toLowerCase());
+        }
+
+        TicketSnapshot before = TicketSnapshot.of(ticket);
+        ticket.setStatus(status);
+        ticket.setResolvedAt(status.isResolved()
+                ? Objects.requireNonNullElseGet(ticket.getResolvedAt(), LocalDateTime::now) : null);
+        eventPublisher.publishEvent(TicketChangedEvent.updated(before, TicketSnapshot.of(ticket)));
+        return ticket;
+    }
+
+    // A detached copy of an archived ticket; its comments and attachments stay in the archive
+    private Ticket restore(ArchivedTicket archived) {
+        return Ticket.builder()
+                .id(archived.getId())
+                .title(archived.getTitle())
+                .description(archived.getDescription())
+                .status(archived.getStatus())
+                .priority(archived.getPriority())
+                .category(archived.getCategory())
+                .createdBy(userRepository.getReferenceById(archived.getCreatedById()))
+                .assignedTo(archived.getAssignedToId() != null
+                        ? userRepository.getReferenceById(archived.getAssignedToId()) : null)
+                .serviceCatalogItem(archived.getServiceCatalogItemId() != null
+                        ? serviceCatalogItemRepository.getReferenceById(archived.getServiceCatalogItemId()) : null)
+                .additionalData(archived.getAdditionalData())
+                .ccEmails(archived.getCcEmails())
+                .createdAt(archived.getCreatedAt())
+                .updatedAt(archived.getUpdatedAt())
+                .resolvedAt(archived.getResolvedAt())
+                .slaDueAt(archived.getSlaDueAt())
+                .slaBreached(archived.getSlaBreached())
+                .version(archived.getVersion())
+                .build();
+    }
+
+    private static void requireActive(Ticket ticket) {
+        if (!TicketStatus.ACTIVE.contains(ticket.getStatus())) {
+            throw new IllegalStateException("A " + ticket.getStatus().getDisplayName().toLowerCase() + " ticket cannot be changed");
+        }
     }
 }
@@ -0,0 +1,232 @@
+package com.femi.tickerdesk.service;
+
+import com.femi.tickerdesk.event.UserChangedEvent;
+import com.femi.tickerdesk.repository.UserRepository;
+import com.femi.tickerdesk.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Bloom filters over every user's email and employee ID, so availability checks for values
+ * nobody has taken never reach the database. Possible hits are confirmed by the caller's query.
+ * Users created elsewhere are picked up by the periodic sync, and values freed by updates or
+ * deletes stay as false positives until the next rebuild.
+ */
+@Component
+@Slf4j
+public class UserIdentifierFilter implements MeterBinder {
+
+    private static final int LOAD_BATCH = 1000;
+    // Concurrent inserts can commit out of id order, so each sync re-reads a little behind the highest id
+    private static final long SYNC_OVERLAP = 1000;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final UserRepository userRepository;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final Outcomes emailOutcomes;
+    private final Outcomes employeeIdOutcomes;
+
+    private volatile Filters filters;
+    private volatile long highestId;
+    private volatile Set<Long> changedDuringRebuild;
+
+    public UserIdentifierFilter(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${user-identifier-filter.expected-users:100000}") long expectedUsers,
+            @Value("${user-identifier-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.emailOutcomes = new Outcomes("email", meterRegistry);
+        this.employeeIdOutcomes = new Outcomes("employee_id", meterRegistry);
+    }
+
+    // The gauges hold a reference to this filter, so they are bound after construction
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        registerGauges(meterRegistry, "email", Filters::emails);
+        registerGauges(meterRegistry, "employee_id", Filters::employeeIds);
+    }
+
+    /**
+     * Returns false straight away when the email was never stored, otherwise defers to {@code lookup}.
+     * Until the filters are first built every check goes to {@code lookup}.
+     */
+    public boolean existsByEmail(String email, Predicate<String> lookup) {
+        Filters current = filters;
+        return check(email, current != null ? current.emails() : null, emailOutcomes, lookup);
+    }
+
+    public boolean existsByEmployeeId(String employeeId, Predicate<String> lookup) {
+        Filters current = filters;
+        return check(employeeId, current != null ? current.employeeIds() : null, employeeIdOutcomes, lookup);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        Set<Long> pending = changedDuringRebuild;
+        if (pending != null) {
+            pending.addAll(event.userIds());
+        }
+        Filters current = filters;
+        if (current != null) {
+            List<Long> ids = new ArrayList<>(new HashSet<>(event.userIds()));
+            for (int from = 0; from < ids.size(); from += LOAD_BATCH) {
+                addAll(current, userRepository.findIdentifiersByIdIn(ids.subList(from, Math.min(from + LOAD_BATCH, ids.size()))));
+            }
+        }
+    }
+
+    // Picks up users created by other instances
+    @Scheduled(initialDelayString = "${user-identifier-filter.sync-interval-ms:10000}",
+            fixedDelayString = "${user-identifier-filter.sync-interval-ms:10000}")
+    public synchronized void sync() {
+        Filters current = filters;
+        if (current != null) {
+            load(current, Math.max(0, highestId - SYNC_OVERLAP));
+        }
+    }
+
+    // Bloom filters cannot forget, so changed and deleted values are dropped by rebuilding
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${user-identifier-filter.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${user-identifier-filter.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Set<Long> pending = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = pending;
+        Filters fresh;
+        long loaded;
+        try {
+            long size = Math.max(expectedUsers, userRepository.count() * 2);
+            fresh = new Filters(new BloomFilter(size, falsePositiveRate), new BloomFilter(size, falsePositiveRate));
+            highestId = 0;
+            loaded = load(fresh, 0);
+            filters = fresh;
+        } finally {
+            changedDuringRebuild = null;
+        }
+
+        // Values changed while the users were loading may be missing from the fresh filters
+        if (!pending.isEmpty()) {
+            onUserChanged(new UserChangedEvent(pending));
+        }
+        log.info("Built user identifier filters over {} users in {} ms",
+                loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    static String key(String value) {
+        String decomposed = Normalizer.normalize(value.strip(), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private boolean check(String value, BloomFilter filter, Outcomes outcomes, Predicate<String> lookup) {
+        if (value == null || filter == null) {
+            return lookup.test(value);
+        }
+        if (!filter.mightContain(key(value))) {
+            outcomes.skipped.increment();
+            return false;
+        }
+        boolean exists = lookup.test(value);
+        (exists ? outcomes.confirmed : outcomes.falsePositives).increment();
+        return exists;
+    }
+
+    private long load(Filters target, long afterId) {
+        long loaded = 0;
+        List<Object[]> page;
+        long lastId = afterId;
+        do {
+            page = userRepository.findIdentifiersAfter(lastId, Limit.of(LOAD_BATCH));
+            addAll(target, page);
+            loaded += page.size();
+            if (!page.isEmpty()) {
+                lastId = (Long) page.get(page.size() - 1)[0];
+            }
+        } while (page.size() == LOAD_BATCH);
+        highestId = Math.max(highestId, lastId);
+        return loaded;
+    }
+
+    private void addAll(Filters target, Collection<Object[]> rows) {
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                target.emails().put(key((String) row[1]));
+            }
+            if (row[2] != null) {
+                target.employeeIds().put(key((String) row[2]));
+            }
+        }
+    }
+
+    private void registerGauges(MeterRegistry meterRegistry, String field, Function<Filters, BloomFilter> select) {
+        gauge(meterRegistry, "user.identifier.filter.bits", "Size of the Bloom filter in bits",
+                field, select, BloomFilter::bitSize);
+        gauge(meterRegistry, "user.identifier.filter.insertions", "Values added since the last rebuild",
+                field, select, BloomFilter::insertions);
+        gauge(meterRegistry, "user.identifier.filter.false.positive.rate", "Expected false-positive rate at the current fill",
+                field, select, BloomFilter::expectedFalsePositiveRate);
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String name, String description, String field,
+                       Function<Filters, BloomFilter> select, ToDoubleFunction<BloomFilter> value) {
+        Gauge.builder(name, this, self -> {
+                    Filters current = self.filters;
+                    return current != null ? value.applyAsDouble(select.apply(current)) : Double.NaN;
+                })
+                .description(description)
+                .tag("field", field)
+                .register(meterRegistry);
+    }
+
+    private record Filters(BloomFilter emails, BloomFilter employeeIds) {
+    }
+
+    private static final class Outcomes {
+
+        final Counter skipped;
+        final Counter confirmed;
+        final Counter falsePositives;
+
+        Outcomes(String field, MeterRegistry meterRegistry) {
+            this.skipped = counter(field, "skipped", meterRegistry);
+            this.confirmed = counter(field, "confirmed", meterRegistry);
+            this.falsePositives = counter(field, "false_positive", meterRegistry);
+        }
+
+        private static Counter counter(String field, String outcome, MeterRegistry meterRegistry) {
+            return Counter.builder("user.identifier.filter.checks")
+                    .description("Availability checks by whether the Bloom filter skipped the database")
+                    .tag("field", field)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.femi.tickerdesk.service;
 
+import com.femi.tickerdesk.dto.TechnicianSummary;
+import com.femi.tickerdesk.dto.UserStatistics;
 import com.femi.tickerdesk.enumFolder.Department;
 import com.femi.tickerdesk.enumFolder.Role;
 import com.femi.tickerdesk.enumFolder.Site;
@@ -15,6 +17,12 @@ public interface UserService {
 
     User createUser(User user);
 
+    /**
+     * Same as {@link #createUser(User)} for a user whose password has already been encoded,
+     * so the caller can hash on the password pool and persist elsewhere.
+     */
+    User createUserWithEncodedPassword(User user);
+
     User updateUser(Long id, User user);
 
     Optional<User> findById(Long id);
@@ -39,12 +47,14 @@ public interface UserService {
 
     List<User> findInactiveUsers();
 
-    List<User> findActiveTechniciansByDepartment(Department department);
+    List<TechnicianSummary> findActiveTechniciansByDepartment(Department department);
 
     Page<User> searchByName(String name, Pageable pageable);
 
     Long countActiveUsersByDepartment(Department department);
 
+    UserStatistics getUserStatistics();
+
     User activateUser(Long id);
 
     User deactivateUser(Long id);
@@ -1,17 +1,25 @@
 package com.femi.tickerdesk.service;
 
+import com.femi.tickerdesk.assignment.TechnicianRoster;
 import com.femi.tickerdesk.auth.JwtService;
+import com.femi.tickerdesk.auth.UserSecurityVersions;
+import com.femi.tickerdesk.dto.TechnicianSummary;
+import com.femi.tickerdesk.dto.UserStatistics;
 import com.femi.tickerdesk.enumFolder.Department;
 import com.femi.tickerdesk.enumFolder.Role;
 import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.event.UserChangedEvent;
 import com.femi.tickerdesk.model.User;
 import com.femi.tickerdesk.repository.UserRepository;
+import com.femi.tickerdesk.stats.UserStatisticsSnapshot;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -27,26 +35,50 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final UserSecurityVersions userSecurityVersions;
+    private final UserStatisticsSnapshot userStatisticsSnapshot;
+    private final TechnicianRoster technicianRoster;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
-                           AuthenticationManager authenticationManager, JwtService jwtService) {
+                           AuthenticationManager authenticationManager, JwtService jwtService,
+                           UserSecurityVersions userSecurityVersions, UserStatisticsSnapshot userStatisticsSnapshot,
+                           TechnicianRoster technicianRoster, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.userSecurityVersions = userSecurityVersions;
+        this.userStatisticsSnapshot = userStatisticsSnapshot;
+        this.technicianRoster = technicianRoster;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public User createUser(User user) {
         log.info("Creating new user with email: {}", user.getEmail());
+        checkUnique(user);
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        return insert(user);
+    }
+
+    @Override
+    public User createUserWithEncodedPassword(User user) {
+        log.info("Creating new user with email: {}", user.getEmail());
+        checkUnique(user);
+        return insert(user);
+    }
+
+    private void checkUnique(User user) {
         if (userRepository.findByEmail(user.getEmail()).isPresent()) {
             throw new IllegalArgumentException("User with this email already exists");
         }
         if (user.getEmployeeId() != null && userRepository.existsByEmployeeId(user.getEmployeeId())) {
             throw new IllegalArgumentException("User with this employee ID already exists");
         }
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+    }
 
+    private User insert(User user) {
         if (user.getIsActive() == null) {
             user.setIsActive(true);
         }
@@ -56,6 +88,7 @@ public class UserServiceImpl implements UserService {
         }
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(savedUser.getId()));
         log.info("User created successfully with ID: {}", savedUser.getId());
         return savedUser;
     }
@@ -75,6 +108,9 @@ public class UserServiceImpl implements UserService {
                 userRepository.existsByEmployeeId(user.getEmployeeId())) {
             throw new IllegalArgumentException("User with this employee ID already exists");
         }
+        if (!existingUser.getEmail().equals(user.getEmail()) || existingUser.getRole() != user.getRole()) {
+            userSecurityVersions.bump(existingUser);
+        }
         existingUser.setEmail(user.getEmail());
         existingUser.setFirstName(user.getFirstName());
         existingUser.setLastName(user.getLastName());
@@ -84,6 +120,7 @@ public class UserServiceImpl implements UserService {
         existingUser.setEmployeeId(user.getEmployeeId());
 
         User updatedUser = userRepository.save(existingUser);
+        eventPublisher.publishEvent(UserChangedEvent.of(updatedUser.getId()));
         log.info("User updated successfully with ID: {}", updatedUser.getId());
         return updatedUser;
     }
@@ -165,11 +202,11 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByIsActiveFalse();
     }
 
+    // Served from memory, so no transaction (and no pooled connection) is opened for it
     @Override
-    @Transactional(readOnly = true)
-    public List<User> findActiveTechniciansByDepartment(Department department) {
-        log.debug("Finding active technicians by department: {}", department);
-        return userRepository.findActiveTechniciansByDepartment(department, Role.TECHNICIAN);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<TechnicianSummary> findActiveTechniciansByDepartment(Department department) {
+        return technicianRoster.technicians(department);
     }
 
     @Override
@@ -195,6 +232,7 @@ public class UserServiceImpl implements UserService {
 
         user.setIsActive(true);
         User activatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(activatedUser.getId()));
         log.info("User activated successfully with ID: {}", activatedUser.getId());
         return activatedUser;
     }
@@ -207,7 +245,9 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + id));
 
         user.setIsActive(false);
+        userSecurityVersions.bump(user);
         User deactivatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(deactivatedUser.getId()));
         log.info("User deactivated successfully with ID: {}", deactivatedUser.getId());
         return deactivatedUser;
     }
@@ -221,6 +261,8 @@ public class UserServiceImpl implements UserService {
         }
 
         userRepository.deleteById(id);
+        userSecurityVersions.forget(id);
+        eventPublisher.publishEvent(UserChangedEvent.of(id));
         log.info("User deleted successfully with ID: {}", id);
     }
 
@@ -263,72 +305,15 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + id));
         user.setPassword(passwordEncoder.encode(newPassword));
+        userSecurityVersions.bump(user);
 
         User updatedUser = userRepository.save(user);
         log.info("Password changed successfully for user ID: {}", updatedUser.getId());
         return updatedUser;
     }
 
+    @Override
     public UserStatistics getUserStatistics() {
-        log.debug("Generating user statistics");
-
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.findByIsActiveTrue().size();
-        long inactiveUsers = totalUsers - activeUsers;
-
-        return UserStatistics.builder()
-                .totalUsers(totalUsers)
-                .activeUsers(activeUsers)
-                .inactiveUsers(inactiveUsers)
-                .usersByDepartment(getUserCountByDepartment())
-                .usersByRole(getUserCountByRole())
-                .build();
-    }
-
-    private java.util.Map<Department, Long> getUserCountByDepartment() {
-        java.util.Map<Department, Long> departmentCount = new java.util.HashMap<>();
-        for (Department dept : Department.values()) {
-            departmentCount.put(dept, countActiveUsersByDepartment(dept));
-        }
-        return departmentCount;
-    }
-
-    private java.util.Map<Role, Long> getUserCountByRole() {
-        java.util.Map<Role, Long> roleCount = new java.util.HashMap<>();
-        for (Role role : Role.values()) {
-            roleCount.put(role, (long) userRepository.findByRole(role).size());
-        }
-        return roleCount;
-    }
-
-    public List<User> createUsers(List<User> users) {
-        log.info("Creating {} users in bulk", users.size());
-
-        for (User user : users) {
-            if (userRepository.existsByEmail(user.getEmail())) {
-                throw new IllegalArgumentException("User with email " + user.getEmail() + " already exists");
-            }
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
-            if (user.getIsActive() == null) {
-                user.setIsActive(true);
-            }
-            if (user.getRole() == null) {
-                user.setRole(Role.USER);
-            }
-        }
-
-        List<User> savedUsers = userRepository.saveAll(users);
-        log.info("Successfully created {} users", savedUsers.size());
-        return savedUsers;
-    }
-
-    @lombok.Data
-    @lombok.Builder
-    public static class UserStatistics {
-        private long totalUsers;
-        private long activeUsers;
-        private long inactiveUsers;
-        private java.util.Map<Department, Long> usersByDepartment;
-        private java.util.Map<Role, Long> usersByRole;
+        return userStatisticsSnapshot.get();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,272 @@
+package com.femi.tickerdesk.sla;
+
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.event.TicketChangedEvent;
+import com.femi.tickerdesk.event.TicketSlaBreachedEvent;
+import com.femi.tickerdesk.event.TicketSnapshot;
+import com.femi.tickerdesk.model.ServiceCatalogItem;
+import com.femi.tickerdesk.repository.TicketRepository;
+import com.femi.tickerdesk.util.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enforces ticket resolution times from an in-memory {@link TimingWheel} instead of polling for
+ * overdue tickets. Each active ticket holds one timer for its next escalation point: a warning
+ * {@code sla.warning-lead-minutes} before it is due, which raises its priority one level, and
+ * the due time itself, which raises it again and flags the breach. Timers follow
+ * {@link TicketChangedEvent}s after commit, and the wheel is rebuilt from the database at
+ * startup and on a schedule. A warning that fell due while no instance was running is skipped.
+ * Both stages are persisted ({@code slaWarned}, {@code slaBreached}) and guard their UPDATEs,
+ * so instances that rebuilt the same timers never escalate a ticket twice.
+ */
+@Component
+@Slf4j
+public class SlaEngine implements MeterBinder {
+
+    private static final int LOAD_BATCH = 1000;
+
+    // Used when a ticket has no catalog item or its item gives no resolution time
+    private static final Map<Priority, Integer> DEFAULT_RESOLUTION_HOURS = new EnumMap<>(Map.of(
+            Priority.URGENT, 4,
+            Priority.HIGH, 8,
+            Priority.MEDIUM, 24,
+            Priority.LOW, 72
+    ));
+
+    private final TicketRepository ticketRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration warningLead;
+    private final long tickMillis;
+    private final Counter warnings;
+    private final Counter breaches;
+
+    // Guarded by this
+    private TimingWheel wheel;
+    private Map<Long, TicketSnapshot> changedDuringRebuild;
+
+    public SlaEngine(TicketRepository ticketRepository, ApplicationEventPublisher eventPublisher,
+                     PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                     @Value("${sla.warning-lead-minutes:60}") long warningLeadMinutes,
+                     @Value("${sla.tick-ms:1000}") long tickMillis) {
+        this.ticketRepository = ticketRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.warningLead = Duration.ofMinutes(warningLeadMinutes);
+        this.tickMillis = tickMillis;
+        this.wheel = new TimingWheel(currentTick(LocalDateTime.now()), LOAD_BATCH);
+
+        this.warnings = escalations(meterRegistry, "warning");
+        this.breaches = escalations(meterRegistry, "breach");
+    }
+
+    // The gauge holds a reference to this engine, so it is bound after construction
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("ticket.sla.pending", this, SlaEngine::pending)
+                .description("Active tickets waiting on an SLA timer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns when a ticket opened at {@code from} should be resolved by: the catalog item's
+     * estimated resolution time, or a default for the priority.
+     */
+    public LocalDateTime dueAt(LocalDateTime from, ServiceCatalogItem item, Priority priority) {
+        Integer hours = item != null ? item.getEstimatedResolutionHours() : null;
+        return from.plusHours(hours != null && hours > 0 ? hours : DEFAULT_RESOLUTION_HOURS.get(priority));
+    }
+
+    public synchronized int pending() {
+        return wheel.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTicketChanged(TicketChangedEvent event) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(event.ticketId(), event.after());
+        }
+        track(wheel, event.ticketId(), event.after(), LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${sla.tick-ms:1000}")
+    public void tick() {
+        advanceTo(LocalDateTime.now());
+    }
+
+    // Fires every timer due by now and escalates the tickets it belongs to
+    void advanceTo(LocalDateTime now) {
+        List<Long> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(currentTick(now), due::add);
+        }
+        for (int from = 0; from < due.size(); from += LOAD_BATCH) {
+            List<Long> batch = due.subList(from, Math.min(from + LOAD_BATCH, due.size()));
+            try {
+                List<TicketSnapshot> escalated = transactionTemplate.execute(status -> escalate(batch, now));
+                synchronized (this) {
+                    escalated.forEach(ticket -> track(wheel, ticket.id(), ticket, now));
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to escalate {} tickets past an SLA point; retrying in a minute", batch.size(), e);
+                synchronized (this) {
+                    batch.forEach(id -> wheel.schedule(id, deadlineTick(now.plusMinutes(1))));
+                }
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${sla.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${sla.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        TimingWheel fresh;
+        synchronized (this) {
+            changedDuringRebuild = new HashMap<>();
+            fresh = new TimingWheel(currentTick(now), Math.max(LOAD_BATCH, wheel.size()));
+        }
+        try {
+            List<Object[]> page;
+            long lastId = 0;
+            do {
+                page = ticketRepository.findSlaDeadlinesAfter(lastId, TicketStatus.ACTIVE, Limit.of(LOAD_BATCH));
+                for (Object[] row : page) {
+                    lastId = (Long) row[0];
+                    schedule(fresh, lastId, (Priority) row[1], (LocalDateTime) row[2], (Boolean) row[3], now);
+                }
+            } while (page.size() == LOAD_BATCH);
+
+            synchronized (this) {
+                // Tickets changed while loading may have been read before the change
+                changedDuringRebuild.forEach((id, ticket) -> track(fresh, id, ticket, now));
+                wheel = fresh;
+            }
+        } finally {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+        }
+        log.info("Scheduled SLA timers for {} tickets in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Returns the tickets as they stand after escalation, so their next timer can be set
+    private List<TicketSnapshot> escalate(List<Long> ids, LocalDateTime now) {
+        Map<Priority, List<TicketSnapshot>> warned = new EnumMap<>(Priority.class);
+        Map<Priority, List<TicketSnapshot>> breached = new EnumMap<>(Priority.class);
+        List<TicketSnapshot> result = new ArrayList<>(ids.size());
+
+        for (TicketSnapshot ticket : ticketRepository.lockSnapshotsByIdIn(ids)) {
+            if (!isTracked(ticket)) {
+                continue;
+            }
+            if (!now.isBefore(ticket.slaDueAt())) {
+                breached.computeIfAbsent(raise(ticket.priority()), p -> new ArrayList<>()).add(ticket);
+            } else if (needsWarning(ticket.priority(), ticket.slaWarned()) && !now.isBefore(ticket.slaDueAt().minus(warningLead))) {
+                warned.computeIfAbsent(raise(ticket.priority()), p -> new ArrayList<>()).add(ticket);
+            } else {
+                result.add(ticket);
+            }
+        }
+
+        warned.forEach((priority, tickets) -> {
+            ticketRepository.markSlaWarned(ids(tickets), priority, TicketStatus.ACTIVE, now);
+            for (TicketSnapshot before : tickets) {
+                TicketSnapshot after = before.withPriority(priority).withSlaWarned();
+                eventPublisher.publishEvent(TicketChangedEvent.updated(before, after));
+                result.add(after);
+            }
+            warnings.increment(tickets.size());
+        });
+        breached.forEach((priority, tickets) -> {
+            ticketRepository.markSlaBreached(ids(tickets), priority, TicketStatus.ACTIVE, now);
+            for (TicketSnapshot before : tickets) {
+                TicketSnapshot after = before.withPriority(priority).withSlaBreached();
+                eventPublisher.publishEvent(TicketChangedEvent.updated(before, after));
+                eventPublisher.publishEvent(new TicketSlaBreachedEvent(before.id(), before.slaDueAt(), priority));
+                result.add(after);
+            }
+            breaches.increment(tickets.size());
+            log.info("{} tickets breached their SLA and were escalated to {}", tickets.size(), priority);
+        });
+        return result;
+    }
+
+    private void track(TimingWheel target, Long ticketId, TicketSnapshot ticket, LocalDateTime now) {
+        if (ticket == null || !isTracked(ticket)) {
+            target.cancel(ticketId);
+        } else {
+            schedule(target, ticketId, ticket.priority(), ticket.slaDueAt(), ticket.slaWarned(), now);
+        }
+    }
+
+    // Sets the timer for the next escalation point still ahead, or for the due time once that has passed
+    private void schedule(TimingWheel target, long ticketId, Priority priority, LocalDateTime dueAt, boolean warned,
+                          LocalDateTime now) {
+        LocalDateTime warnAt = dueAt.minus(warningLead);
+        boolean warn = needsWarning(priority, warned) && now.isBefore(warnAt);
+        target.schedule(ticketId, deadlineTick(warn ? warnAt : dueAt));
+    }
+
+    private static boolean isTracked(TicketSnapshot ticket) {
+        return TicketStatus.ACTIVE.contains(ticket.status()) && !ticket.slaBreached() && ticket.slaDueAt() != null;
+    }
+
+    private static boolean needsWarning(Priority priority, boolean warned) {
+        return !warned && priority != Priority.URGENT;
+    }
+
+    private static Priority raise(Priority priority) {
+        Priority[] priorities = Priority.values();
+        return priorities[Math.min(priority.ordinal() + 1, priorities.length - 1)];
+    }
+
+    private static List<Long> ids(List<TicketSnapshot> tickets) {
+        return tickets.stream().map(TicketSnapshot::id).toList();
+    }
+
+    // Timers fire on the first tick at or after their deadline, never before it
+    private long deadlineTick(LocalDateTime time) {
+        return Math.ceilDiv(epochMillis(time), tickMillis);
+    }
+
+    private long currentTick(LocalDateTime time) {
+        return Math.floorDiv(epochMillis(time), tickMillis);
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static Counter escalations(MeterRegistry meterRegistry, String stage) {
+        return Counter.builder("ticket.sla.escalations")
+                .description("Tickets escalated for nearing or missing their resolution time")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,195 @@
+package com.femi.tickerdesk.stats;
+
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.event.TicketChangedEvent;
+import com.femi.tickerdesk.event.TicketSnapshot;
+import com.femi.tickerdesk.repository.ArchivedTicketRepository;
+import com.femi.tickerdesk.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live ticket counts held in memory so dashboards never issue {@code COUNT(*)}. Counts are
+ * seeded with GROUP BY queries at startup, follow {@link TicketChangedEvent}s once their
+ * transaction has committed, and are periodically re-read from the database to correct drift.
+ * Archived tickets are counted alongside live ones, so archiving never changes a count.
+ */
+@Component
+@Slf4j
+public class TicketCounters {
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final TicketCategory[] CATEGORIES = TicketCategory.values();
+    private static final Department[] DEPARTMENTS = Department.values();
+
+    // One extra department slot for tickets whose creator has no department
+    private static final int DEPARTMENT_SLOTS = DEPARTMENTS.length + 1;
+
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+
+    private volatile Counts counts = new Counts();
+
+    public TicketCounters(TicketRepository ticketRepository, ArchivedTicketRepository archivedTicketRepository) {
+        this.ticketRepository = ticketRepository;
+        this.archivedTicketRepository = archivedTicketRepository;
+    }
+
+    /**
+     * Counts tickets matching every non-null argument; a null argument matches any value.
+     */
+    public long count(TicketStatus status, Priority priority, TicketCategory category, Department department) {
+        Counts current = counts;
+        long total = 0;
+        for (TicketStatus s : STATUSES) {
+            if (status != null && s != status) {
+                continue;
+            }
+            for (Priority p : PRIORITIES) {
+                if (priority != null && p != priority) {
+                    continue;
+                }
+                for (TicketCategory c : CATEGORIES) {
+                    if (category != null && c != category) {
+                        continue;
+                    }
+                    if (department != null) {
+                        total += current.cells[index(s, p, c, department)].sum();
+                    } else {
+                        for (int d = 0; d < DEPARTMENT_SLOTS; d++) {
+                            total += current.cells[index(s, p, c) + d].sum();
+                        }
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    public long countAssigned(Long assigneeId, Collection<TicketStatus> statuses) {
+        Map<TicketStatus, LongAdder> byStatus = counts.byAssignee.get(assigneeId);
+        if (byStatus == null) {
+            return 0;
+        }
+        return statuses.stream().mapToLong(status -> byStatus.get(status).sum()).sum();
+    }
+
+    public long countCreatedBy(Long creatorId) {
+        LongAdder created = counts.byCreator.get(creatorId);
+        return created != null ? created.sum() : 0;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (Objects.equals(event.before(), event.after())) {
+            return;
+        }
+        Counts current = counts;
+        current.apply(event.before(), -1);
+        current.apply(event.after(), 1);
+    }
+
+    /**
+     * Re-reads all counts from the database and swaps them in. Events that commit while the
+     * queries run may be missed or counted twice; the next reconciliation corrects them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ticket-counters.reconcile-interval-ms:600000}",
+            fixedDelayString = "${ticket-counters.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        Counts fresh = new Counts();
+        fresh.add(ticketRepository.countByStatusPriorityCategoryAndCreatorDepartment(),
+                ticketRepository.countByAssigneeAndStatus(), ticketRepository.countByCreator());
+        fresh.add(archivedTicketRepository.countByStatusPriorityCategoryAndCreatorDepartment(),
+                archivedTicketRepository.countByAssigneeAndStatus(), archivedTicketRepository.countByCreator());
+
+        long drift = 0;
+        Counts previous = counts;
+        for (int i = 0; i < fresh.cells.length; i++) {
+            drift += Math.abs(fresh.cells[i].sum() - previous.cells[i].sum());
+        }
+        counts = fresh;
+
+        if (drift > 0) {
+            log.info("Reconciled ticket counters, corrected a drift of {}", drift);
+        }
+    }
+
+    private static int index(TicketStatus status, Priority priority, TicketCategory category) {
+        return ((status.ordinal() * PRIORITIES.length + priority.ordinal()) * CATEGORIES.length + category.ordinal())
+                * DEPARTMENT_SLOTS;
+    }
+
+    private static int index(TicketStatus status, Priority priority, TicketCategory category, Department department) {
+        return index(status, priority, category) + (department != null ? department.ordinal() : DEPARTMENTS.length);
+    }
+
+    private static final class Counts {
+
+        // Flattened status x priority x category x department cube, indexed by enum ordinals
+        final LongAdder[] cells = new LongAdder[STATUSES.length * PRIORITIES.length * CATEGORIES.length * DEPARTMENT_SLOTS];
+        final Map<Long, Map<TicketStatus, LongAdder>> byAssignee = new ConcurrentHashMap<>();
+        final Map<Long, LongAdder> byCreator = new ConcurrentHashMap<>();
+
+        Counts() {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new LongAdder();
+            }
+        }
+
+        void add(List<Object[]> cube, List<Object[]> byAssigneeAndStatus, List<Object[]> byCreatorId) {
+            for (Object[] row : cube) {
+                cells[index((TicketStatus) row[0], (Priority) row[1], (TicketCategory) row[2], (Department) row[3])]
+                        .add((Long) row[4]);
+            }
+            for (Object[] row : byAssigneeAndStatus) {
+                assignee((Long) row[0]).get((TicketStatus) row[1]).add((Long) row[2]);
+            }
+            for (Object[] row : byCreatorId) {
+                creator((Long) row[0]).add((Long) row[1]);
+            }
+        }
+
+        void apply(TicketSnapshot ticket, int sign) {
+            if (ticket == null) {
+                return;
+            }
+            cells[index(ticket.status(), ticket.priority(), ticket.category(), ticket.creatorDepartment())].add(sign);
+            creator(ticket.createdById()).add(sign);
+            if (ticket.assignedToId() != null) {
+                assignee(ticket.assignedToId()).get(ticket.status()).add(sign);
+            }
+        }
+
+        // Filled with every status up front so the map is never modified after publication
+        Map<TicketStatus, LongAdder> assignee(Long assigneeId) {
+            return byAssignee.computeIfAbsent(assigneeId, id -> {
+                Map<TicketStatus, LongAdder> byStatus = new EnumMap<>(TicketStatus.class);
+                for (TicketStatus status : STATUSES) {
+                    byStatus.put(status, new LongAdder());
+                }
+                return byStatus;
+            });
+        }
+
+        LongAdder creator(Long creatorId) {
+            return byCreator.computeIfAbsent(creatorId, id -> new LongAdder());
+        }
+    }
+}
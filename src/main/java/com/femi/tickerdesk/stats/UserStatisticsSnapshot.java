@@ -0,0 +1,136 @@
+package com.femi.tickerdesk.stats;
+
+import com.femi.tickerdesk.dto.UserStatistics;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * User statistics computed from a single GROUP BY over department, role, site and activation,
+ * so memory does not grow with the number of users. The result is served as a snapshot; once it
+ * is older than the TTL the stale copy is still returned while a refresh runs in the background.
+ */
+@Component
+@Slf4j
+public class UserStatisticsSnapshot {
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-statistics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Snapshot snapshot;
+
+    public UserStatisticsSnapshot(UserRepository userRepository,
+                                  @Value("${user-statistics.ttl-ms:30000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttlMillis * 1_000_000;
+    }
+
+    public UserStatistics get() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return refresh();
+        }
+        if (System.nanoTime() - current.loadedAt() > ttlNanos && refreshing.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    refresh();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to refresh user statistics", e);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+        return current.statistics();
+    }
+
+    public UserStatistics refresh() {
+        UserStatistics statistics = aggregate(userRepository.countByDepartmentRoleSiteAndActive());
+        snapshot = new Snapshot(statistics, System.nanoTime());
+        return statistics;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Folds rows of (department, role, site, isActive, count) into totals and per-dimension
+     * counts. Department and site counts only include active users.
+     */
+    static UserStatistics aggregate(List<Object[]> rows) {
+        long total = 0;
+        long active = 0;
+        Map<Department, Long> byDepartment = zeroed(Department.class);
+        Map<Role, Long> byRole = zeroed(Role.class);
+        Map<Site, Long> bySite = zeroed(Site.class);
+        List<UserStatistics.Segment> segments = new ArrayList<>(rows.size());
+
+        for (Object[] row : rows) {
+            Department department = (Department) row[0];
+            Role role = (Role) row[1];
+            Site site = (Site) row[2];
+            boolean isActive = Boolean.TRUE.equals(row[3]);
+            long count = (Long) row[4];
+
+            total += count;
+            if (role != null) {
+                byRole.merge(role, count, Long::sum);
+            }
+            if (isActive) {
+                active += count;
+                if (department != null) {
+                    byDepartment.merge(department, count, Long::sum);
+                }
+                if (site != null) {
+                    bySite.merge(site, count, Long::sum);
+                }
+            }
+            segments.add(new UserStatistics.Segment(department, role, site, isActive, count));
+        }
+
+        return UserStatistics.builder()
+                .totalUsers(total)
+                .activeUsers(active)
+                .inactiveUsers(total - active)
+                .usersByDepartment(byDepartment)
+                .usersByRole(byRole)
+                .usersBySite(bySite)
+                .segments(segments)
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> zeroed(Class<E> type) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            counts.put(value, 0L);
+        }
+        return counts;
+    }
+
+    private record Snapshot(UserStatistics statistics, long loadedAt) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.femi.tickerdesk.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded LRU map split into independently locked segments. Each segment is an
+ * access-ordered {@link LinkedHashMap} that drops its eldest entry on insert once full, so
+ * lookups, inserts and evictions are O(1) and concurrent callers only contend within a
+ * segment. The bound is approximate across segments: each holds at most
+ * {@code maxEntries / segments} entries (rounded up).
+ */
+public class SegmentedLruCache<K, V> {
+
+    private final Segment<K, V>[] segments;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    public SegmentedLruCache(int maxEntries, int concurrency) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(concurrency, maxEntries)));
+        int perSegment = Math.max(1, Math.ceilDiv(maxEntries, count));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+        this.mask = count - 1;
+    }
+
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    public void remove(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key, value);
+        }
+    }
+
+    /**
+     * Removes every entry whose value matches, one segment at a time. Intended for periodic
+     * sweeps, not the request path.
+     */
+    public int removeIf(Predicate<? super V> filter) {
+        int removed = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                int before = segment.size();
+                segment.values().removeIf(filter);
+                removed += before - segment.size();
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > capacity;
+        }
+    }
+}
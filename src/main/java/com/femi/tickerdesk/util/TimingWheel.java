@@ -0,0 +1,272 @@
+package com.femi.tickerdesk.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical hashed timing wheel holding at most one deadline per {@code long} key, with
+ * deadlines measured in abstract ticks. Scheduling and cancelling are O(1); advancing costs one
+ * step per elapsed tick plus the timers that expire or move down a level. Timers live in
+ * parallel primitive arrays linked into per-slot circular lists, so a pending timer costs a few
+ * dozen bytes instead of a node object and a map entry. Not thread-safe.
+ */
+public class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    // Nodes below this handle are the heads of the slot lists
+    private static final int HEADS = LEVELS * SLOTS;
+    private static final int NONE = -1;
+
+    private long[] keys;
+    private long[] deadlines;
+    private int[] next;
+    private int[] prev;
+    private int allocated = HEADS;
+    private int free = NONE;
+    private int size;
+    private long currentTick;
+    private final Index index;
+
+    public TimingWheel(long startTick, int expectedTimers) {
+        int capacity = HEADS + Math.max(16, expectedTimers);
+        keys = new long[capacity];
+        deadlines = new long[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        for (int head = 0; head < HEADS; head++) {
+            next[head] = head;
+            prev[head] = head;
+        }
+        currentTick = startTick;
+        index = new Index(expectedTimers);
+    }
+
+    /**
+     * Sets the deadline for {@code key}, replacing any earlier one. A deadline that is not
+     * after the current tick fires on the next {@link #advance}.
+     */
+    public void schedule(long key, long deadlineTick) {
+        int node = index.get(key);
+        if (node == NONE) {
+            node = allocate();
+            keys[node] = key;
+            index.put(key, node);
+            size++;
+        } else {
+            unlink(node);
+        }
+        deadlines[node] = deadlineTick;
+        link(node, currentTick + 1);
+    }
+
+    public boolean cancel(long key) {
+        int node = index.remove(key);
+        if (node == NONE) {
+            return false;
+        }
+        unlink(node);
+        release(node);
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the pending deadline for {@code key}, or -1 if none is scheduled.
+     */
+    public long deadline(long key) {
+        int node = index.get(key);
+        return node == NONE ? -1 : deadlines[node];
+    }
+
+    /**
+     * Moves the wheel forward to {@code toTick}, removing every timer that falls due on the way
+     * and handing its key to {@code expired} in deadline order.
+     */
+    public void advance(long toTick, LongConsumer expired) {
+        if (size == 0) {
+            currentTick = Math.max(currentTick, toTick);
+            return;
+        }
+        while (currentTick < toTick) {
+            long tick = ++currentTick;
+            // Higher levels first, so their timers can land in a lower slot cascaded on this same tick
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level * SLOTS + slot(tick, level));
+                }
+            }
+            int head = slot(tick, 0);
+            int node;
+            while ((node = next[head]) != head) {
+                long key = keys[node];
+                unlink(node);
+                index.remove(key);
+                release(node);
+                size--;
+                expired.accept(key);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    // Timers due before earliestTick are filed at it instead
+    private void link(int node, long earliestTick) {
+        long deadline = Math.max(deadlines[node], earliestTick);
+        // The lowest level whose current rotation still contains the deadline
+        int level = 0;
+        while (level < LEVELS - 1
+                && deadline >>> (SLOT_BITS * (level + 1)) != currentTick >>> (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int head = level * SLOTS + slot(deadline, level);
+        int tail = prev[head];
+        next[tail] = node;
+        prev[node] = tail;
+        next[node] = head;
+        prev[head] = node;
+    }
+
+    private void unlink(int node) {
+        next[prev[node]] = next[node];
+        prev[next[node]] = prev[node];
+    }
+
+    // Re-files every timer of a higher-level slot whose rotation has come round. A timer due on
+    // this very tick goes to its level-0 slot, which advance drains right after the cascade.
+    private void cascade(int head) {
+        int node = next[head];
+        next[head] = head;
+        prev[head] = head;
+        while (node != head) {
+            int following = next[node];
+            link(node, currentTick);
+            node = following;
+        }
+    }
+
+    private int allocate() {
+        if (free != NONE) {
+            int node = free;
+            free = next[node];
+            return node;
+        }
+        if (allocated == keys.length) {
+            int capacity = keys.length + (keys.length >> 1);
+            keys = Arrays.copyOf(keys, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+        }
+        return allocated++;
+    }
+
+    private void release(int node) {
+        next[node] = free;
+        free = node;
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK;
+    }
+
+    // Open-addressing map from key to node handle with linear probing and backward-shift deletion
+    private static final class Index {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys;
+        private int[] nodes;
+        private int mask;
+        private int size;
+
+        Index(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 4 / 3) - 1) << 1;
+            keys = new long[capacity];
+            nodes = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            mask = capacity - 1;
+        }
+
+        int get(long key) {
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return nodes[i];
+                }
+                if (keys[i] == EMPTY) {
+                    return NONE;
+                }
+            }
+        }
+
+        void put(long key, int node) {
+            if (key == EMPTY) {
+                throw new IllegalArgumentException("Key " + key + " is reserved");
+            }
+            if (size + 1 > keys.length * 3 / 4) {
+                resize();
+            }
+            int i = hash(key) & mask;
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == EMPTY) {
+                size++;
+            }
+            keys[i] = key;
+            nodes[i] = node;
+        }
+
+        int remove(long key) {
+            int i = hash(key) & mask;
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) {
+                    return NONE;
+                }
+                i = (i + 1) & mask;
+            }
+            int node = nodes[i];
+            size--;
+            int gap = i;
+            for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                // An entry may fill the gap only if the gap lies between its home slot and where it sits
+                if (((j - hash(keys[j])) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    nodes[gap] = nodes[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = EMPTY;
+            return node;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldNodes = nodes;
+            keys = new long[oldKeys.length * 2];
+            nodes = new int[oldNodes.length * 2];
+            Arrays.fill(keys, EMPTY);
+            mask = keys.length - 1;
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldNodes[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.femi.tickerdesk.assignment;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DepartmentWorkloadTest {
+
+    @Test
+    void reservesOnTheLeastLoadedTechnician() {
+        DepartmentWorkload workload = new DepartmentWorkload();
+        workload.reset(Map.of(1L, 6L, 2L, 2L, 3L, 4L));
+
+        assertEquals(2L, workload.reserve(3));
+        assertEquals(3L, workload.reserve(1));
+        assertEquals(2L, workload.reserve(1));
+
+        workload.release(2L, 3);
+        workload.adjust(2L, 3);
+        assertEquals(Map.of(1L, 6L, 2L, 6L, 3L, 5L), workload.loads());
+    }
+
+    @Test
+    void emptyDepartmentHasNoTechnician() {
+        assertNull(new DepartmentWorkload().reserve(1));
+    }
+
+    @Test
+    void resetKeepsOutstandingReservations() {
+        DepartmentWorkload workload = new DepartmentWorkload();
+        workload.reset(Map.of(1L, 0L));
+        workload.reserve(4);
+
+        workload.reset(Map.of(1L, 2L));
+
+        assertEquals(6L, workload.load(1L));
+    }
+
+    @Test
+    void concurrentBurstSpreadsEvenly() throws InterruptedException {
+        DepartmentWorkload workload = new DepartmentWorkload();
+        Map<Long, Long> technicians = new HashMap<>();
+        LongStream.rangeClosed(1, 10).forEach(id -> technicians.put(id, 0L));
+        workload.reset(technicians);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 400; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                workload.reserve(2);
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Map<Long, Long> loads = workload.loads();
+        assertEquals(800L, loads.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(80L, Collections.min(loads.values()));
+        assertEquals(80L, Collections.max(loads.values()));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkReserveAndRelease() {
+        DepartmentWorkload workload = new DepartmentWorkload();
+        Map<Long, Long> technicians = new HashMap<>();
+        LongStream.rangeClosed(1, 200).forEach(id -> technicians.put(id, id % 7));
+        workload.reset(technicians);
+
+        int iterations = 1_000_000;
+        for (int i = 0; i < iterations; i++) {
+            workload.release(workload.reserve(3), 3);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            workload.release(workload.reserve(3), 3);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("reserve+release with 200 technicians: %d ns/op%n", elapsed / iterations);
+    }
+}
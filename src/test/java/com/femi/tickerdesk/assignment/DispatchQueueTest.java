@@ -0,0 +1,160 @@
+package com.femi.tickerdesk.assignment;
+
+import com.femi.tickerdesk.dto.DispatchLease;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.event.TicketChangedEvent;
+import com.femi.tickerdesk.event.TicketSnapshot;
+import com.femi.tickerdesk.repository.TicketRepository;
+import com.femi.tickerdesk.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DispatchQueueTest {
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final List<Object> events = new ArrayList<>();
+    private TicketRepository ticketRepository;
+    private DispatchQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository = mock(TicketRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        queue = new DispatchQueue(ticketRepository, userRepository,
+                new AssignmentEngine(userRepository, ticketRepository), events::add,
+                mock(PlatformTransactionManager.class), 60);
+    }
+
+    @Test
+    void claimsHighestPriorityThenOldestFirst() {
+        load(List.of(
+                row(1L, Priority.MEDIUM, now.minusHours(3), TicketCategory.HARDWARE),
+                row(2L, Priority.URGENT, now.minusHours(1), TicketCategory.NETWORKING),
+                row(3L, Priority.MEDIUM, now.minusHours(5), TicketCategory.HARDWARE),
+                row(4L, Priority.HIGH, now.minusHours(9), TicketCategory.FINANCE)
+        ));
+
+        assertEquals(List.of(2L, 3L, 1L), drain(Department.SYSTEM_NETWORK));
+        assertEquals(List.of(4L), drain(Department.FINANCE));
+    }
+
+    @Test
+    void concurrentClaimsNeverShareATicket() throws Exception {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            rows.add(row(id, Priority.values()[(int) (id % 4)], now.minusMinutes(id), TicketCategory.HARDWARE));
+        }
+        load(rows);
+
+        Set<Long> claimed = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> workers = new ArrayList<>();
+        for (int worker = 0; worker < 8; worker++) {
+            long technicianId = worker;
+            workers.add(executor.submit(() -> {
+                int count = 0;
+                Optional<DispatchLease> lease;
+                while ((lease = queue.claim(Department.SYSTEM_NETWORK, technicianId)).isPresent()) {
+                    assertTrue(claimed.add(lease.get().ticketId()));
+                    count++;
+                }
+                return count;
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> worker : workers) {
+            total += worker.get();
+        }
+        executor.shutdown();
+
+        assertEquals(2_000, total);
+        assertEquals(2_000, claimed.size());
+    }
+
+    @Test
+    void unacknowledgedLeasesReturnToTheQueue() {
+        load(List.<Object[]>of(row(1L, Priority.HIGH, now, TicketCategory.HARDWARE)));
+        DispatchLease lease = queue.claim(Department.SYSTEM_NETWORK, 7L).orElseThrow();
+        assertTrue(queue.claim(Department.SYSTEM_NETWORK, 8L).isEmpty());
+
+        queue.expireLeases(now.plusMinutes(2));
+        assertThrows(IllegalStateException.class, () -> queue.acknowledge(1L, lease.token(), 7L));
+        assertEquals(1L, queue.claim(Department.SYSTEM_NETWORK, 8L).orElseThrow().ticketId());
+    }
+
+    @Test
+    void acknowledgingAssignsOnlyTheLeaseHolder() {
+        load(List.<Object[]>of(row(1L, Priority.HIGH, now, TicketCategory.HARDWARE)));
+        DispatchLease lease = queue.claim(Department.SYSTEM_NETWORK, 7L).orElseThrow();
+        TicketSnapshot ticket = new TicketSnapshot(1L, TicketStatus.OPEN, Priority.HIGH, TicketCategory.HARDWARE,
+                10L, Department.FINANCE, null, null, false, false);
+        when(ticketRepository.lockSnapshotsByIdIn(List.of(1L))).thenReturn(List.of(ticket));
+
+        assertThrows(IllegalStateException.class, () -> queue.acknowledge(1L, lease.token(), 8L));
+        queue.acknowledge(1L, lease.token(), 7L);
+
+        verify(ticketRepository).updateAssignee(eq(List.of(1L)), any(), eq(TicketStatus.ACTIVE), any());
+        assertEquals(ticket.withAssignedToId(7L), ((TicketChangedEvent) events.getFirst()).after());
+        assertTrue(queue.claim(Department.SYSTEM_NETWORK, 8L).isEmpty());
+    }
+
+    @Test
+    void followsTicketChanges() {
+        load(List.<Object[]>of(row(1L, Priority.LOW, now.minusHours(1), TicketCategory.HARDWARE)));
+        TicketSnapshot created = new TicketSnapshot(2L, TicketStatus.OPEN, Priority.LOW, TicketCategory.HARDWARE,
+                10L, Department.FINANCE, null, null, false, false);
+        when(ticketRepository.findDispatchableByIdIn(anyCollection(), any()))
+                .thenReturn(List.<Object[]>of(row(2L, Priority.LOW, now, TicketCategory.HARDWARE)));
+        queue.onTicketChanged(TicketChangedEvent.created(created));
+        queue.onTicketChanged(TicketChangedEvent.updated(created, created.withPriority(Priority.URGENT)));
+
+        TicketSnapshot first = new TicketSnapshot(1L, TicketStatus.OPEN, Priority.LOW, TicketCategory.HARDWARE,
+                10L, Department.FINANCE, null, null, false, false);
+        queue.onTicketChanged(TicketChangedEvent.updated(first, first.withStatus(TicketStatus.CANCELLED)));
+
+        assertEquals(List.of(2L), drain(Department.SYSTEM_NETWORK));
+    }
+
+    private void load(List<Object[]> rows) {
+        when(ticketRepository.findDispatchableAfter(anyLong(), any(), any())).thenReturn(rows);
+        queue.rebuild();
+    }
+
+    private List<Long> drain(Department department) {
+        List<Long> ids = new ArrayList<>();
+        Optional<DispatchLease> lease;
+        while ((lease = queue.claim(department, 1L)).isPresent()) {
+            ids.add(lease.get().ticketId());
+        }
+        return ids;
+    }
+
+    private static Object[] row(Long id, Priority priority, LocalDateTime createdAt, TicketCategory category) {
+        return new Object[]{id, priority, createdAt, category, null};
+    }
+}
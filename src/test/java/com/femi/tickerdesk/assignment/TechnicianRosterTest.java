@@ -0,0 +1,91 @@
+package com.femi.tickerdesk.assignment;
+
+import com.femi.tickerdesk.dto.TechnicianSummary;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.event.UserChangedEvent;
+import com.femi.tickerdesk.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TechnicianRosterTest {
+
+    private UserRepository userRepository;
+    private TechnicianRoster roster;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findActiveTechnicianSummaries()).thenReturn(List.of(
+                technician(1L, "Okafor", Department.SYSTEM_NETWORK),
+                technician(2L, "Adams", Department.SYSTEM_NETWORK),
+                technician(3L, "Bello", Department.FINANCE)
+        ));
+        roster = new TechnicianRoster(userRepository);
+    }
+
+    @Test
+    void loadsOnceAndServesImmutableRostersOrderedByName() {
+        List<TechnicianSummary> network = roster.technicians(Department.SYSTEM_NETWORK);
+
+        assertEquals(List.of(2L, 1L), ids(network));
+        assertEquals(List.of(3L), ids(roster.technicians(Department.FINANCE)));
+        assertEquals(List.of(), roster.technicians(Department.MARKETING));
+        assertSame(network, roster.technicians(Department.SYSTEM_NETWORK));
+        assertThrows(UnsupportedOperationException.class, () -> network.add(technician(9L, "Eze", Department.SYSTEM_NETWORK)));
+        verify(userRepository, times(1)).findActiveTechnicianSummaries();
+    }
+
+    @Test
+    void replacesOnlyTheDepartmentsOfChangedUsers() {
+        List<TechnicianSummary> finance = roster.technicians(Department.FINANCE);
+        // User 1 moved to HR, user 2 was deactivated and user 4 became a technician
+        when(userRepository.findActiveTechnicianSummariesByIdIn(anyCollection())).thenReturn(List.of(
+                technician(1L, "Okafor", Department.HR_ADMIN),
+                technician(4L, "Eze", Department.SYSTEM_NETWORK)
+        ));
+
+        roster.onUserChanged(new UserChangedEvent(List.of(1L, 2L, 4L)));
+
+        assertEquals(List.of(4L), ids(roster.technicians(Department.SYSTEM_NETWORK)));
+        assertEquals(List.of(1L), ids(roster.technicians(Department.HR_ADMIN)));
+        assertSame(finance, roster.technicians(Department.FINANCE));
+    }
+
+    @Test
+    void technicianMovedToAnEarlierDepartmentIsTrackedThere() {
+        assertEquals(List.of(2L, 1L), ids(roster.technicians(Department.SYSTEM_NETWORK)));
+        // Finance sorts before system/network, so its new roster is written before the old one is cleared
+        when(userRepository.findActiveTechnicianSummariesByIdIn(anyCollection()))
+                .thenReturn(List.of(technician(2L, "Adams", Department.FINANCE)));
+        roster.onUserChanged(new UserChangedEvent(List.of(2L)));
+
+        assertEquals(List.of(1L), ids(roster.technicians(Department.SYSTEM_NETWORK)));
+        assertEquals(List.of(2L, 3L), ids(roster.technicians(Department.FINANCE)));
+
+        // Deactivating the moved technician must find them in their new department
+        when(userRepository.findActiveTechnicianSummariesByIdIn(anyCollection())).thenReturn(List.of());
+        roster.onUserChanged(new UserChangedEvent(List.of(2L)));
+
+        assertEquals(List.of(3L), ids(roster.technicians(Department.FINANCE)));
+    }
+
+    private static List<Long> ids(List<TechnicianSummary> technicians) {
+        return technicians.stream().map(TechnicianSummary::id).toList();
+    }
+
+    private static TechnicianSummary technician(Long id, String lastName, Department department) {
+        return new TechnicianSummary(id, "Tech", lastName, "tech" + id + "@example.com", "T" + id, department, Site.LAGOS_OFFICE);
+    }
+}
@@ -0,0 +1,78 @@
+package com.femi.tickerdesk.auth;
+
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessPolicyTest {
+
+    private final AccessPolicy accessPolicy = new AccessPolicy();
+
+    @Test
+    void staffIsAdminOrManager() {
+        assertTrue(accessPolicy.isStaff(tokenAuth(1L, Role.ADMIN)));
+        assertTrue(accessPolicy.isStaff(tokenAuth(1L, Role.MANAGER)));
+        assertFalse(accessPolicy.isStaff(tokenAuth(1L, Role.TECHNICIAN)));
+        assertFalse(accessPolicy.isStaff(tokenAuth(1L, Role.USER)));
+    }
+
+    @Test
+    void supportAddsTechnicians() {
+        assertTrue(accessPolicy.isSupport(tokenAuth(1L, Role.TECHNICIAN)));
+        assertTrue(accessPolicy.isSupport(tokenAuth(1L, Role.MANAGER)));
+        assertFalse(accessPolicy.isSupport(tokenAuth(1L, Role.USER)));
+    }
+
+    @Test
+    void usersOnlyReachTheirOwnRecords() {
+        Authentication user = tokenAuth(7L, Role.USER);
+
+        assertTrue(accessPolicy.isSelfOrStaff(user, 7L));
+        assertFalse(accessPolicy.isSelfOrStaff(user, 8L));
+        assertTrue(accessPolicy.isSelfOrAdmin(user, 7L));
+        assertFalse(accessPolicy.isSelfOrAdmin(user, 8L));
+        assertTrue(accessPolicy.isSelfOrSupport(user, 7L));
+        assertFalse(accessPolicy.isSelfOrSupport(user, 8L));
+    }
+
+    @Test
+    void managerIsStaffButNotAdmin() {
+        Authentication manager = tokenAuth(1L, Role.MANAGER);
+
+        assertTrue(accessPolicy.isSelfOrStaff(manager, 8L));
+        assertFalse(accessPolicy.isSelfOrAdmin(manager, 8L));
+    }
+
+    @Test
+    void loadedUserPrincipalIsHonoured() {
+        User admin = User.builder().id(3L).role(Role.ADMIN).build();
+        Authentication authentication = new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities());
+
+        assertTrue(accessPolicy.isSelfOrAdmin(authentication, 8L));
+        assertEquals(3L, accessPolicy.userIdOf(authentication));
+    }
+
+    @Test
+    void unauthenticatedOrMissingPrincipalIsDenied() {
+        Authentication unauthenticated = new UsernamePasswordAuthenticationToken(
+                new TokenPrincipal(7L, "user@example.com", Role.ADMIN), null);
+
+        assertFalse(accessPolicy.isStaff(unauthenticated));
+        assertFalse(accessPolicy.isStaff(null));
+        assertFalse(accessPolicy.isSelfOrStaff(null, 7L));
+        assertNull(accessPolicy.userIdOf(null));
+        assertFalse(accessPolicy.isSelfOrAdmin(tokenAuth(null, Role.USER), null));
+    }
+
+    private static Authentication tokenAuth(Long id, Role role) {
+        TokenPrincipal principal = new TokenPrincipal(id, "user@example.com", role);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
@@ -0,0 +1,29 @@
+package com.femi.tickerdesk.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+    private final CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+    @Test
+    void hashWithCalibratedCostIsNotUpgraded() {
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    @Test
+    void hashWithOtherCostIsUpgradedEitherWay() {
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        int strength = CalibratedBCryptPasswordEncoder.calibrate(1, 4, 6).getStrength();
+        assertTrue(strength >= 4 && strength <= 6);
+    }
+}
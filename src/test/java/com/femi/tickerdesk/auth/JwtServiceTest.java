@@ -0,0 +1,194 @@
+package com.femi.tickerdesk.auth;
+
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.util.SegmentedLruCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtServiceTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("ticker-desk-test-secret-key-with-32+bytes".getBytes());
+
+    private final UserDetails user = User.withUsername("jane@example.com").password("x").roles("USER").build();
+
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newJwtService(60_000L);
+    }
+
+    @Test
+    void verifyReturnsSubjectAndExpiryOfValidToken() {
+        String token = jwtService.generateToken(user);
+
+        Optional<VerifiedToken> verified = jwtService.verify(token);
+
+        assertTrue(verified.isPresent());
+        assertEquals("jane@example.com", verified.get().subject());
+        assertTrue(verified.get().expiration().after(new Date()));
+        assertSame(verified.get(), jwtService.verify(token).orElseThrow());
+        assertTrue(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    void verifyRejectsTamperedMalformedAndExpiredTokens() {
+        String token = jwtService.generateToken(user);
+        // The last base64url character of the signature carries padding bits, so alter an earlier one
+        int position = token.length() - 5;
+        String tampered = token.substring(0, position) + (token.charAt(position) == 'A' ? 'B' : 'A') + token.substring(position + 1);
+        String expired = newJwtService(-1_000L).generateToken(user);
+
+        assertTrue(jwtService.verify(tampered).isEmpty());
+        assertTrue(jwtService.verify("not-a-jwt").isEmpty());
+        assertTrue(jwtService.verify("a..b").isEmpty());
+        assertTrue(jwtService.verify(expired).isEmpty());
+        assertFalse(jwtService.isTokenValid(expired, user));
+    }
+
+    @Test
+    void verifyRejectsRevokedToken() {
+        String token = jwtService.generateToken(user);
+        VerifiedToken verified = jwtService.verify(token).orElseThrow();
+
+        when(tokenRevocationService.isRevoked(anyString())).thenAnswer(call -> verified.id().equals(call.getArgument(0)));
+
+        assertTrue(jwtService.verify(token).isEmpty());
+        assertTrue(jwtService.verify(jwtService.generateToken(user)).isPresent());
+    }
+
+    @Test
+    void tokenForAccountCarriesPrincipalClaims() {
+        com.femi.tickerdesk.model.User account = com.femi.tickerdesk.model.User.builder()
+                .id(42L)
+                .email("tech@example.com")
+                .role(Role.TECHNICIAN)
+                .securityVersion(3)
+                .build();
+
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken(account)).orElseThrow();
+
+        assertTrue(verified.hasPrincipalClaims());
+        assertEquals(42L, verified.userId());
+        assertEquals(Role.TECHNICIAN, verified.role());
+        assertEquals(3, verified.securityVersion());
+        assertTrue(jwtService.belongsTo(verified, account));
+
+        account.setSecurityVersion(4);
+        assertFalse(jwtService.belongsTo(verified, account));
+    }
+
+    @Test
+    void fullCacheEvictsLeastRecentlyUsedTokensAndKeepsCachingNewOnes() {
+        JwtService small = newJwtService(60_000L, 2);
+        String first = small.generateToken(user);
+        String second = small.generateToken(user);
+        String third = small.generateToken(user);
+
+        VerifiedToken firstVerified = small.verify(first).orElseThrow();
+        VerifiedToken secondVerified = small.verify(second).orElseThrow();
+        assertSame(firstVerified, small.verify(first).orElseThrow());
+        VerifiedToken thirdVerified = small.verify(third).orElseThrow();
+
+        assertSame(thirdVerified, small.verify(third).orElseThrow());
+        assertSame(firstVerified, small.verify(first).orElseThrow());
+        // The least recently used token was evicted and is verified again from scratch
+        assertNotSame(secondVerified, small.verify(second).orElseThrow());
+    }
+
+    @Test
+    void sweepDropsExpiredTokens() {
+        JwtService expiring = newJwtService(1L);
+        VerifiedToken verified = new VerifiedToken("jti", "jane@example.com", null, null, null,
+                new Date(), new Date(System.currentTimeMillis() - 1));
+        SegmentedLruCache<ByteBuffer, VerifiedToken> cache = verifiedTokens(expiring);
+        cache.put(ByteBuffer.wrap(new byte[]{1}), verified);
+
+        expiring.evictExpired();
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkRepeatedVerification() {
+        String token = jwtService.generateToken(user);
+        int iterations = 200_000;
+
+        for (int i = 0; i < 20_000; i++) {
+            verifyLikeBefore(token);
+            jwtService.verify(token);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            verifyLikeBefore(token);
+        }
+        long before = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            jwtService.verify(token);
+        }
+        long after = System.nanoTime() - start;
+
+        System.out.printf("JWT verification: before %.0f ns/op, after %.0f ns/op%n",
+                (double) before / iterations, (double) after / iterations);
+        assertTrue(after < before);
+    }
+
+    // The previous filter path: extractUsername, then isTokenValid re-parsing for subject and expiration
+    private boolean verifyLikeBefore(String token) {
+        String username = parseWithFreshKey(token).getSubject();
+        String subject = parseWithFreshKey(token).getSubject();
+        Date expiration = parseWithFreshKey(token).getExpiration();
+        return username.equals(subject) && !expiration.before(new Date());
+    }
+
+    private Claims parseWithFreshKey(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private JwtService newJwtService(long expiration) {
+        return newJwtService(expiration, 100);
+    }
+
+    private JwtService newJwtService(long expiration, int cacheMaxEntries) {
+        JwtService service = new JwtService(tokenRevocationService);
+        ReflectionTestUtils.setField(service, "secret", SECRET);
+        ReflectionTestUtils.setField(service, "expiration", expiration);
+        ReflectionTestUtils.setField(service, "cacheMaxEntries", cacheMaxEntries);
+        ReflectionTestUtils.setField(service, "cacheSegments", 1);
+        service.init();
+        return service;
+    }
+
+    @SuppressWarnings("unchecked")
+    private SegmentedLruCache<ByteBuffer, VerifiedToken> verifiedTokens(JwtService service) {
+        return (SegmentedLruCache<ByteBuffer, VerifiedToken>) ReflectionTestUtils.getField(service, "verifiedTokens");
+    }
+}
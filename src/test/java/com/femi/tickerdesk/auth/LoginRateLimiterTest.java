@@ -0,0 +1,63 @@
+package com.femi.tickerdesk.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsEmailOnceBurstIsSpent() {
+        LoginRateLimiter limiter = new LoginRateLimiter(3, 60_000, 100, 1_000, 1_000, 60_000, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("Jane@Example.com", "10.0.0." + i).allowed());
+        }
+        LoginRateLimiter.Decision decision = limiter.tryAcquire("jane@example.com", "10.0.0.9");
+
+        assertFalse(decision.allowed());
+        assertTrue(decision.retryAfterSeconds() > 0 && decision.retryAfterSeconds() <= 60);
+        assertTrue(limiter.tryAcquire("john@example.com", "10.0.0.9").allowed());
+        assertEquals(1.0, meterRegistry.counter("login.rate-limit.rejected", "key", "email").count());
+    }
+
+    @Test
+    void rejectsClientIpAcrossDifferentEmails() {
+        LoginRateLimiter limiter = new LoginRateLimiter(100, 1_000, 2, 60_000, 1_000, 60_000, meterRegistry);
+
+        assertTrue(limiter.tryAcquire("a@example.com", "10.0.0.1").allowed());
+        assertTrue(limiter.tryAcquire("b@example.com", "10.0.0.1").allowed());
+
+        assertFalse(limiter.tryAcquire("c@example.com", "10.0.0.1").allowed());
+        assertTrue(limiter.tryAcquire("c@example.com", "10.0.0.2").allowed());
+    }
+
+    @Test
+    void idleBucketsAreEvicted() throws InterruptedException {
+        LoginRateLimiter limiter = new LoginRateLimiter(5, 1, 5, 1, 2, 60_000, meterRegistry);
+
+        limiter.tryAcquire("a@example.com", "10.0.0.1");
+        Thread.sleep(10);
+        limiter.evictIdle();
+
+        assertEquals(0.0, meterRegistry.get("login.rate-limit.buckets").gauge().value());
+    }
+
+    @Test
+    void saturatedTableStillLimitsUnseenEmails() {
+        LoginRateLimiter limiter = new LoginRateLimiter(5, 60_000, 100, 1_000, 2, 30_000, meterRegistry);
+
+        assertTrue(limiter.tryAcquire("a@example.com", "10.0.0.1").allowed());
+        LoginRateLimiter.Decision decision = limiter.tryAcquire("b@example.com", "10.0.0.1");
+
+        assertFalse(decision.allowed());
+        assertEquals(30, decision.retryAfterSeconds());
+        assertFalse(limiter.tryAcquire("c@example.com", null).allowed());
+        assertTrue(limiter.tryAcquire("a@example.com", "10.0.0.1").allowed());
+        assertEquals(2.0, meterRegistry.counter("login.rate-limit.rejected", "key", "saturated").count());
+        assertEquals(2.0, meterRegistry.get("login.rate-limit.buckets").gauge().value());
+    }
+}
@@ -0,0 +1,90 @@
+package com.femi.tickerdesk.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(1, 1, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void rejectsImmediatelyOnceTheQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = executor.submit(() -> {
+            started.countDown();
+            await(release);
+            return "running";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = executor.submit(() -> "queued");
+
+        CompletableFuture<String> rejected = executor.submit(() -> "rejected");
+
+        assertTrue(rejected.isCompletedExceptionally());
+        CompletionException failure = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("running", running.join());
+        assertEquals("queued", queued.join());
+    }
+
+    @Test
+    void callRethrowsRejectionToTheCaller() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            await(release);
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> null);
+
+        assertThrows(RejectedExecutionException.class, () -> executor.call(() -> "hash"));
+        release.countDown();
+    }
+
+    @Test
+    void nestedCallRunsInlineOnAHashingThread() {
+        // A single worker would deadlock if the nested call were queued behind its caller
+        String thread = executor.submit(() -> executor.call(() -> Thread.currentThread().getName())).join();
+
+        assertTrue(thread.startsWith("password-hashing-"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.femi.tickerdesk.auth;
+
+import com.femi.tickerdesk.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+
+    // Rows visible to other instances, by database-assigned id
+    private final Map<Long, String> committed = new TreeMap<>();
+    private RevokedTokenRepository repository;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        when(repository.existsByJti(anyString())).thenAnswer(call -> committed.containsValue(call.<String>getArgument(0)));
+        when(repository.findActiveAfter(anyLong(), any(LocalDateTime.class), any(Limit.class))).thenAnswer(call -> {
+            long afterId = call.getArgument(0);
+            int max = call.<Limit>getArgument(2).max();
+            return committed.entrySet().stream()
+                    .filter(row -> row.getKey() > afterId)
+                    .limit(max)
+                    .map(row -> new Object[]{row.getKey(), row.getValue()})
+                    .toList();
+        });
+        committed.put(1L, "loaded-at-startup");
+        service = new TokenRevocationService(repository, 1000, 0.001);
+        service.load();
+    }
+
+    @Test
+    void syncPicksUpRevocationsFromOtherInstances() {
+        assertTrue(service.isRevoked("loaded-at-startup"));
+        committed.put(2L, "revoked-elsewhere");
+        assertFalse(service.isRevoked("revoked-elsewhere"));
+
+        service.sync();
+
+        assertTrue(service.isRevoked("revoked-elsewhere"));
+    }
+
+    @Test
+    void revocationCommittedAfterAHigherIdIsStillSeen() {
+        // Id 2 was allocated first but its transaction commits after id 3's
+        committed.put(3L, "committed-first");
+        service.sync();
+        committed.put(2L, "committed-late");
+
+        service.sync();
+
+        assertTrue(service.isRevoked("committed-first"));
+        assertTrue(service.isRevoked("committed-late"));
+    }
+
+    @Test
+    void loadWalksEveryBatch() {
+        for (long id = 2; id <= 2_500; id++) {
+            committed.put(id, "jti-" + id);
+        }
+
+        service.sync();
+
+        assertTrue(List.of("jti-2", "jti-1001", "jti-2500").stream().allMatch(service::isRevoked));
+    }
+}
@@ -0,0 +1,62 @@
+package com.femi.tickerdesk.auth;
+
+import com.femi.tickerdesk.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserSecurityVersionsTest {
+
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+    }
+
+    @Test
+    void servesCachedVersionWithinTheTtl() {
+        UserSecurityVersions versions = new UserSecurityVersions(userRepository, 60_000);
+        when(userRepository.findSecurityVersionById(1L)).thenReturn(Optional.of(2));
+
+        assertTrue(versions.isCurrent(1L, 2));
+        assertTrue(versions.isCurrent(1L, 2));
+
+        verify(userRepository, times(1)).findSecurityVersionById(1L);
+    }
+
+    @Test
+    void reloadsOnceTheTtlLapsesSoOtherInstancesChangesAreSeen() throws InterruptedException {
+        UserSecurityVersions versions = new UserSecurityVersions(userRepository, 1);
+        when(userRepository.findSecurityVersionById(1L)).thenReturn(Optional.of(2), Optional.of(3));
+
+        assertTrue(versions.isCurrent(1L, 2));
+        Thread.sleep(5);
+
+        assertFalse(versions.isCurrent(1L, 2));
+        assertTrue(versions.isCurrent(1L, 3));
+    }
+
+    @Test
+    void forgetDuringALoadKeepsTheStaleVersionOut() {
+        UserSecurityVersions versions = new UserSecurityVersions(userRepository, 60_000);
+        // The reader sees version 2, then the deactivation commits and forgets the user
+        when(userRepository.findSecurityVersionById(1L)).thenAnswer(invocation -> {
+            versions.forget(1L);
+            return Optional.of(2);
+        }).thenReturn(Optional.of(3));
+
+        assertTrue(versions.isCurrent(1L, 2));
+
+        assertFalse(versions.isCurrent(1L, 2));
+        verify(userRepository, times(2)).findSecurityVersionById(1L);
+    }
+}
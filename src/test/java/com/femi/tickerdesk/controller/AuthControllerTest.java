@@ -0,0 +1,188 @@
+package com.femi.tickerdesk.controller;
+
+import com.femi.tickerdesk.auth.AuthenticationIoExecutor;
+import com.femi.tickerdesk.auth.BoundedPasswordEncoder;
+import com.femi.tickerdesk.auth.JwtService;
+import com.femi.tickerdesk.auth.LoginRateLimiter;
+import com.femi.tickerdesk.auth.PasswordHashingExecutor;
+import com.femi.tickerdesk.auth.TokenRevocationService;
+import com.femi.tickerdesk.dto.ApiResponse;
+import com.femi.tickerdesk.dto.AuthResponse;
+import com.femi.tickerdesk.dto.LoginRequest;
+import com.femi.tickerdesk.dto.RegisterRequest;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.service.LastLoginRecorder;
+import com.femi.tickerdesk.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthControllerTest {
+
+    private static final String HASHING_THREAD = "password-hashing-";
+
+    private UserService userService;
+    private AuthenticationManager authenticationManager;
+    private PasswordEncoder delegate;
+    private PasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHashingExecutor;
+    private AuthenticationIoExecutor authenticationIoExecutor;
+    private AuthController authController;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        userService = mock(UserService.class);
+        authenticationManager = mock(AuthenticationManager.class);
+        delegate = mock(PasswordEncoder.class);
+        passwordHashingExecutor = new PasswordHashingExecutor(1, 1, meterRegistry);
+        passwordEncoder = new BoundedPasswordEncoder(delegate, passwordHashingExecutor, meterRegistry);
+        authenticationIoExecutor = new AuthenticationIoExecutor();
+        LoginRateLimiter loginRateLimiter = mock(LoginRateLimiter.class);
+        when(loginRateLimiter.tryAcquire(anyString(), anyString())).thenReturn(new LoginRateLimiter.Decision(true, 0));
+        JwtService jwtService = mock(JwtService.class);
+        when(jwtService.generateToken(any(User.class))).thenReturn("token");
+
+        authController = new AuthController(userService, authenticationManager, jwtService,
+                authenticationIoExecutor, mock(LastLoginRecorder.class), mock(TokenRevocationService.class),
+                loginRateLimiter, passwordEncoder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        authenticationIoExecutor.destroy();
+        passwordHashingExecutor.destroy();
+    }
+
+    @Test
+    void registerHashesOnThePoolAndPersistsOffIt() {
+        AtomicReference<String> hashedOn = new AtomicReference<>();
+        AtomicReference<String> persistedOn = new AtomicReference<>();
+        when(delegate.encode("secret12")).thenAnswer(invocation -> {
+            hashedOn.set(Thread.currentThread().getName());
+            return "encoded";
+        });
+        when(userService.createUserWithEncodedPassword(any(User.class))).thenAnswer(invocation -> {
+            persistedOn.set(Thread.currentThread().getName());
+            User user = invocation.getArgument(0);
+            assertEquals("encoded", user.getPassword());
+            user.setId(1L);
+            return user;
+        });
+
+        ResponseEntity<ApiResponse<AuthResponse>> response =
+                authController.register(registerRequest(), new MockHttpServletRequest()).join();
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertTrue(hashedOn.get().startsWith(HASHING_THREAD));
+        assertFalse(persistedOn.get().startsWith(HASHING_THREAD));
+    }
+
+    @Test
+    void duplicateFoundAtInsertIsABadRequest() {
+        when(delegate.encode(anyString())).thenReturn("encoded");
+        when(userService.createUserWithEncodedPassword(any(User.class)))
+                .thenThrow(new IllegalArgumentException("User with this email already exists"));
+
+        ResponseEntity<ApiResponse<AuthResponse>> response =
+                authController.register(registerRequest(), new MockHttpServletRequest()).join();
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void loginLooksUpTheUserOffThePoolAndOnlyChecksTheHashOnIt() {
+        AtomicReference<String> authenticatedOn = new AtomicReference<>();
+        AtomicReference<String> matchedOn = new AtomicReference<>();
+        User user = User.builder().id(1L).email("user@example.com").role(Role.USER).isActive(true).build();
+        when(delegate.matches("secret12", "encoded")).thenAnswer(invocation -> {
+            matchedOn.set(Thread.currentThread().getName());
+            return true;
+        });
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            authenticatedOn.set(Thread.currentThread().getName());
+            passwordEncoder.matches("secret12", "encoded");
+            return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        });
+
+        ResponseEntity<ApiResponse<AuthResponse>> response =
+                authController.login(loginRequest(), new MockHttpServletRequest()).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(authenticatedOn.get().startsWith(HASHING_THREAD));
+        assertTrue(matchedOn.get().startsWith(HASHING_THREAD));
+    }
+
+    @Test
+    void loginIsServerBusyWhenTheHashingPoolIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        passwordHashingExecutor.submit(() -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        passwordHashingExecutor.submit(() -> null);
+        // The provider wraps encoder failures from its unknown-user timing check
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            try {
+                passwordEncoder.matches("secret12", "encoded");
+            } catch (RuntimeException e) {
+                throw new InternalAuthenticationServiceException(e.getMessage(), e);
+            }
+            return null;
+        });
+
+        ResponseEntity<ApiResponse<AuthResponse>> response =
+                authController.login(loginRequest(), new MockHttpServletRequest()).join();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        release.countDown();
+    }
+
+    private static LoginRequest loginRequest() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("user@example.com");
+        request.setPassword("secret12");
+        return request;
+    }
+
+    private static RegisterRequest registerRequest() {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("new@example.com");
+        request.setFirstName("New");
+        request.setLastName("User");
+        request.setPassword("secret12");
+        request.setDepartment(Department.FINANCE);
+        request.setSite(Site.LAGOS_OFFICE);
+        return request;
+    }
+}
@@ -0,0 +1,51 @@
+package com.femi.tickerdesk.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+// Mirrors the forwarded-header settings in the main application.properties, with a single-login IP bucket
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.forward-headers-strategy=native",
+        "server.tomcat.remoteip.remote-ip-header=X-Forwarded-For",
+        "server.tomcat.remoteip.internal-proxies=127\\\\.0\\\\.0\\\\.1|0:0:0:0:0:0:0:1",
+        "login-rate-limit.ip.capacity=1",
+        "login-rate-limit.ip.refill-period-ms=3600000"
+})
+class LoginClientAddressTest {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void clientsBehindATrustedProxyGetTheirOwnBucket() throws Exception {
+        assertNotEquals(TOO_MANY_REQUESTS, login("first@example.com", "203.0.113.1"));
+        assertEquals(TOO_MANY_REQUESTS, login("second@example.com", "203.0.113.1"));
+
+        // Same proxy peer, different forwarded client
+        assertNotEquals(TOO_MANY_REQUESTS, login("third@example.com", "203.0.113.2"));
+    }
+
+    private int login(String email, String forwardedFor) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"secret12\"}"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
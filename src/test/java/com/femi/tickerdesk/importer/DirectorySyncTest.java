@@ -0,0 +1,169 @@
+package com.femi.tickerdesk.importer;
+
+import com.femi.tickerdesk.dto.DirectorySyncReport;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.JobStatus;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.model.JobCheckpoint;
+import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.repository.JobCheckpointRepository;
+import com.femi.tickerdesk.repository.UserRepository;
+import com.femi.tickerdesk.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+class DirectorySyncTest {
+
+    private static final String EXPORT = """
+            employee_id,email,first_name,last_name,department,site,role,active
+            EMP-A,a@example.com,Ada,Lovelace,FINANCE,LAGOS_OFFICE,USER,true
+            EMP-B,b@example.com,Bola,Tinubu,MARKETING,LAGOS_OFFICE,USER,true
+            EMP-D,d@example.com,Dan,"O'Neil, Jr",HR_ADMIN,ABUJA_OFFICE,TECHNICIAN,true
+            EMP-E,e@example.com,Eve,Adams,NOWHERE,LAGOS_OFFICE,USER,true
+            """;
+
+    @Autowired
+    private DirectorySync directorySync;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        save("EMP-A", "a@example.com", Department.FINANCE);
+        save("EMP-B", "b@example.com", Department.FINANCE);
+        save("EMP-C", "c@example.com", Department.FINANCE);
+        save(null, "local@example.com", Department.FINANCE);
+    }
+
+    @Test
+    void appliesOnlyWhatChanged() throws IOException {
+        int versionBefore = userRepository.findByEmployeeId("EMP-B").orElseThrow().getSecurityVersion();
+
+        DirectorySyncReport report = sync("hr.csv", EXPORT, DirectoryReader.Format.CSV, true);
+
+        assertEquals(JobStatus.COMPLETED, report.getStatus());
+        assertEquals(4, report.getRowsRead());
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getUpdated());
+        assertEquals(1, report.getUnchanged());
+        assertEquals(1, report.getRejected());
+        assertTrue(report.getDeactivated() >= 1);
+        assertTrue(report.getErrors().get(0).contains("Unknown Department: NOWHERE"));
+
+        entityManager.clear();
+        User changed = userRepository.findByEmployeeId("EMP-B").orElseThrow();
+        assertEquals(Department.MARKETING, changed.getDepartment());
+        assertEquals(versionBefore, changed.getSecurityVersion());
+
+        User inserted = userRepository.findByEmployeeId("EMP-D").orElseThrow();
+        assertEquals("O'Neil, Jr", inserted.getLastName());
+        assertEquals(Role.TECHNICIAN, inserted.getRole());
+        assertFalse(passwordEncoder.matches(DirectorySync.UNUSABLE_PASSWORD, inserted.getPassword()));
+
+        User missing = userRepository.findByEmployeeId("EMP-C").orElseThrow();
+        assertFalse(missing.getIsActive());
+        assertEquals(1, missing.getSecurityVersion());
+        assertTrue(userRepository.findByEmail("local@example.com").orElseThrow().getIsActive());
+    }
+
+    @Test
+    void insertedUserCanOnlySignInAfterAnAdminSetsAPassword() throws IOException {
+        sync("hr.csv", EXPORT, DirectoryReader.Format.CSV, false);
+        User inserted = userRepository.findByEmployeeId("EMP-D").orElseThrow();
+        assertFalse(passwordEncoder.matches("", inserted.getPassword()));
+
+        userService.changePassword(inserted.getId(), "welcome123");
+
+        entityManager.flush();
+        entityManager.clear();
+        assertTrue(passwordEncoder.matches("welcome123", userRepository.findByEmployeeId("EMP-D").orElseThrow().getPassword()));
+    }
+
+    @Test
+    void unchangedNdjsonExportWritesNothing() throws IOException {
+        String export = """
+                {"employeeId": "EMP-A", "department": "FINANCE", "site": "LAGOS_OFFICE", "role": "USER"}
+                {"employeeId": "EMP-B", "department": "FINANCE", "site": "LAGOS_OFFICE", "role": "USER", "active": true}
+                """;
+
+        DirectorySyncReport report = sync("hr.ndjson", export, DirectoryReader.Format.NDJSON, false);
+
+        assertEquals(2, report.getUnchanged());
+        assertEquals(0, report.getInserted() + report.getUpdated() + report.getDeactivated() + report.getRejected());
+    }
+
+    @Test
+    void resumesAfterTheLastCommittedChunk() throws IOException {
+        checkpointRepository.findByJobName(DirectorySync.JOB_NAME).ifPresent(checkpointRepository::delete);
+        checkpointRepository.save(JobCheckpoint.builder()
+                .jobName(DirectorySync.JOB_NAME)
+                .runId("previous-run")
+                .source("hr.csv")
+                .sourceSize((long) EXPORT.getBytes(StandardCharsets.UTF_8).length)
+                .status(JobStatus.FAILED)
+                .position(2)
+                .unchanged(1)
+                .updated(1)
+                .startedAt(LocalDateTime.now())
+                .build());
+
+        DirectorySyncReport report = sync("hr.csv", EXPORT, DirectoryReader.Format.CSV, false);
+
+        assertEquals("previous-run", report.getRunId());
+        assertEquals(2, report.getResumedFrom());
+        assertEquals(2, report.getRowsRead());
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getRejected());
+        assertEquals(Department.FINANCE, userRepository.findByEmployeeId("EMP-B").orElseThrow().getDepartment());
+    }
+
+    private DirectorySyncReport sync(String source, String content, DirectoryReader.Format format,
+                                     boolean deactivateMissing) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return directorySync.sync(source, bytes.length, new ByteArrayInputStream(bytes), format, deactivateMissing);
+    }
+
+    private void save(String employeeId, String email, Department department) {
+        userRepository.save(User.builder()
+                .employeeId(employeeId)
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .firstName("Directory")
+                .lastName("User")
+                .department(department)
+                .site(Site.LAGOS_OFFICE)
+                .role(Role.USER)
+                .isActive(true)
+                .build());
+    }
+}
@@ -0,0 +1,118 @@
+package com.femi.tickerdesk.importer;
+
+import com.femi.tickerdesk.auth.PasswordHashingExecutor;
+import com.femi.tickerdesk.dto.BulkImportReport;
+import com.femi.tickerdesk.dto.BulkImportReport.Status;
+import com.femi.tickerdesk.dto.CreateUserRequest;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+class UserImporterTest {
+
+    @Autowired
+    private UserImporter userImporter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private Validator validator;
+
+    @Test
+    void reportsEveryRowAndInsertsTheValidOnes() {
+        userRepository.save(User.builder()
+                .email("existing@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .firstName("Existing")
+                .lastName("User")
+                .role(Role.USER)
+                .employeeId("EMP-1")
+                .isActive(true)
+                .build());
+
+        BulkImportReport report = userImporter.importUsers(List.of(
+                request("new.one@example.com", "EMP-2", Role.TECHNICIAN),
+                request("existing@example.com", "EMP-3", Role.USER),
+                request("new.two@example.com", "EMP-1", Role.USER),
+                request("not-an-email", "EMP-4", Role.USER),
+                request("New.One@example.com", "EMP-5", Role.USER),
+                request("new.three@example.com", null, null)
+        ));
+
+        assertEquals(6, report.getTotal());
+        assertEquals(2, report.getCreated());
+        assertEquals(4, report.getRejected());
+        assertEquals(List.of(Status.CREATED, Status.DUPLICATE_EMAIL, Status.DUPLICATE_EMPLOYEE_ID, Status.INVALID,
+                        Status.DUPLICATE_EMAIL, Status.CREATED),
+                report.getRows().stream().map(BulkImportReport.Row::status).toList());
+
+        BulkImportReport.Row created = report.getRows().get(0);
+        assertNotNull(created.userId());
+        User technician = userRepository.findById(created.userId()).orElseThrow();
+        assertEquals(Role.TECHNICIAN, technician.getRole());
+        assertEquals(Department.FINANCE, technician.getDepartment());
+        assertTrue(passwordEncoder.matches("password123", technician.getPassword()));
+
+        User defaulted = userRepository.findByEmail("new.three@example.com").orElseThrow();
+        assertEquals(Role.USER, defaulted.getRole());
+        assertTrue(defaulted.getIsActive());
+    }
+
+    @Test
+    void importLeavesAHashingThreadFreeForLogins() {
+        PasswordHashingExecutor hashingExecutor = new PasswordHashingExecutor(3, 64, new SimpleMeterRegistry());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        PasswordEncoder slowEncoder = mock(PasswordEncoder.class);
+        when(slowEncoder.encode(anyString())).thenAnswer(invocation -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return "encoded";
+        });
+        UserImporter importer = new UserImporter(mock(UserRepository.class), slowEncoder, hashingExecutor, validator,
+                event -> { }, 500);
+
+        try {
+            BulkImportReport report = importer.importUsers(IntStream.range(0, 12)
+                    .mapToObj(i -> request("window" + i + "@example.com", "EMP-W" + i, Role.USER))
+                    .toList());
+
+            assertEquals(12, report.getCreated());
+            assertTrue(peak.get() <= 2, "peak " + peak.get());
+        } finally {
+            hashingExecutor.destroy();
+        }
+    }
+
+    private CreateUserRequest request(String email, String employeeId, Role role) {
+        return new CreateUserRequest(email, "Import", "User", "password123", Department.FINANCE, Site.LAGOS_OFFICE,
+                role, employeeId);
+    }
+}
@@ -0,0 +1,115 @@
+package com.femi.tickerdesk.jobs;
+
+import com.femi.tickerdesk.dto.DormantAccountReport;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.JobStatus;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.model.JobCheckpoint;
+import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.repository.JobCheckpointRepository;
+import com.femi.tickerdesk.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "dormant-accounts.chunk-size=2")
+@Transactional
+class DormantAccountJobTest {
+
+    @Autowired
+    private DormantAccountJob dormantAccountJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void deactivatesDormantNonAdminsInChunks() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(200);
+        User first = save("old1@example.com", Role.USER, longAgo);
+        User second = save("old2@example.com", Role.TECHNICIAN, longAgo);
+        User third = save("old3@example.com", Role.MANAGER, longAgo);
+        User admin = save("admin@example.com", Role.ADMIN, longAgo);
+        User recent = save("recent@example.com", Role.USER, LocalDateTime.now().minusDays(3));
+        User neverLoggedIn = save("new@example.com", Role.USER, null);
+
+        DormantAccountReport report = dormantAccountJob.run(90);
+
+        assertEquals(JobStatus.COMPLETED, report.getStatus());
+        assertEquals(3, report.getScanned());
+        assertEquals(3, report.getDeactivated());
+        assertEquals(0, report.getSkipped());
+
+        entityManager.flush();
+        entityManager.clear();
+        assertFalse(reload(first).getIsActive());
+        assertFalse(reload(second).getIsActive());
+        assertFalse(reload(third).getIsActive());
+        assertEquals(1, reload(first).getSecurityVersion());
+        assertTrue(reload(admin).getIsActive());
+        assertTrue(reload(recent).getIsActive());
+        assertTrue(reload(neverLoggedIn).getIsActive());
+        JobCheckpoint checkpoint = checkpointRepository.findByJobName(DormantAccountJob.JOB_NAME).orElseThrow();
+        assertEquals(third.getId(), checkpoint.getPosition());
+    }
+
+    @Test
+    void resumesAnInterruptedRunAfterItsLastCommittedUser() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(200);
+        User first = save("old1@example.com", Role.USER, longAgo);
+        User second = save("old2@example.com", Role.USER, longAgo);
+        LocalDateTime now = LocalDateTime.now();
+        checkpointRepository.save(JobCheckpoint.builder()
+                .jobName(DormantAccountJob.JOB_NAME)
+                .runId("interrupted")
+                .source(now.minusDays(30).toString())
+                .sourceSize(30L)
+                .status(JobStatus.FAILED)
+                .position(first.getId())
+                .deactivated(1)
+                .startedAt(now)
+                .build());
+
+        DormantAccountReport report = dormantAccountJob.run(30);
+
+        assertEquals("interrupted", report.getRunId());
+        assertEquals(first.getId(), report.getResumedAfterId());
+        assertEquals(2, report.getDeactivated());
+        entityManager.flush();
+        entityManager.clear();
+        assertTrue(reload(first).getIsActive());
+        assertFalse(reload(second).getIsActive());
+    }
+
+    private User save(String email, Role role, LocalDateTime lastLogin) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .password("{noop}secret")
+                .firstName("Dormant")
+                .lastName("Account")
+                .department(Department.FINANCE)
+                .site(Site.LAGOS_OFFICE)
+                .role(role)
+                .isActive(true)
+                .lastLogin(lastLogin)
+                .build());
+    }
+
+    private User reload(User user) {
+        return userRepository.findById(user.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,162 @@
+package com.femi.tickerdesk.jobs;
+
+import com.femi.tickerdesk.dto.TicketArchiveReport;
+import com.femi.tickerdesk.dto.TicketDetail;
+import com.femi.tickerdesk.dto.TicketFilter;
+import com.femi.tickerdesk.dto.TicketSearchResult;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.JobStatus;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.model.ArchivedAttachment;
+import com.femi.tickerdesk.model.ArchivedTicketComment;
+import com.femi.tickerdesk.model.Attachment;
+import com.femi.tickerdesk.model.Ticket;
+import com.femi.tickerdesk.model.TicketComment;
+import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.repository.ArchivedTicketRepository;
+import com.femi.tickerdesk.search.TicketSearchDocument;
+import com.femi.tickerdesk.search.TicketSearchIndex;
+import com.femi.tickerdesk.service.TicketService;
+import com.femi.tickerdesk.stats.TicketCounters;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "ticket-archive.chunk-size=2")
+@Transactional
+class TicketArchiveJobTest {
+
+    @Autowired
+    private TicketArchiveJob ticketArchiveJob;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TicketCounters ticketCounters;
+
+    @Autowired
+    private TicketSearchIndex ticketSearchIndex;
+
+    private User creator;
+
+    @BeforeEach
+    void setUp() {
+        creator = User.builder()
+                .email("archive-creator@example.com")
+                .password("encoded-password")
+                .firstName("Archive")
+                .lastName("Creator")
+                .department(Department.FINANCE)
+                .site(Site.LAGOS_OFFICE)
+                .role(Role.USER)
+                .isActive(true)
+                .build();
+        entityManager.persist(creator);
+    }
+
+    @Test
+    void movesLongFinishedTicketsWithTheirCommentsAndAttachments() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(200);
+        Ticket closed = persist(TicketStatus.CLOSED, longAgo);
+        Ticket cancelled = persist(TicketStatus.CANCELLED, longAgo);
+        Ticket closedRecently = persist(TicketStatus.CLOSED, LocalDateTime.now().minusDays(3));
+        Ticket openForAges = persist(TicketStatus.OPEN, longAgo);
+        Ticket alsoClosed = persist(TicketStatus.CLOSED, longAgo);
+
+        TicketComment comment = TicketComment.builder().comment("Fixed").ticket(closed).user(creator).build();
+        entityManager.persist(comment);
+        Attachment attachment = Attachment.builder().fileName("f").originalFileName("log.txt").filePath("/tmp/f")
+                .contentType("text/plain").fileSize(10L).ticket(closed).uploadedBy(creator).build();
+        entityManager.persist(attachment);
+        entityManager.flush();
+
+        TicketArchiveReport report = ticketArchiveJob.run(90);
+
+        assertEquals(JobStatus.COMPLETED, report.getStatus());
+        assertEquals(3, report.getArchived());
+        entityManager.clear();
+        assertNull(entityManager.find(Ticket.class, closed.getId()));
+        assertNull(entityManager.find(TicketComment.class, comment.getId()));
+        assertNull(entityManager.find(Ticket.class, cancelled.getId()));
+        assertNull(entityManager.find(Ticket.class, alsoClosed.getId()));
+        assertNotNull(entityManager.find(Ticket.class, closedRecently.getId()));
+        assertNotNull(entityManager.find(Ticket.class, openForAges.getId()));
+        assertEquals(closed.getId(), entityManager.find(ArchivedTicketComment.class, comment.getId()).getTicketId());
+        assertEquals("log.txt", entityManager.find(ArchivedAttachment.class, attachment.getId()).getOriginalFileName());
+        assertEquals(3, archivedTicketRepository.count());
+
+        TicketDetail detail = ticketService.findDetailById(closed.getId()).orElseThrow();
+        assertEquals(TicketStatus.CLOSED, detail.status());
+        assertEquals("Archive Creator", detail.createdByName());
+        assertEquals(TicketStatus.CANCELLED, ticketService.findById(cancelled.getId()).orElseThrow().getStatus());
+        assertTrue(ticketService.findDetailById(openForAges.getId()).isPresent());
+    }
+
+    @Test
+    void archivedTicketsStayCountedAndSearchable() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(200);
+        Ticket closed = persist(TicketStatus.CLOSED, longAgo);
+        persist(TicketStatus.CLOSED, LocalDateTime.now().minusDays(3));
+        persist(TicketStatus.OPEN, longAgo);
+        ticketCounters.reconcile();
+        long closedBefore = ticketService.countByStatus(TicketStatus.CLOSED);
+
+        assertEquals(1, ticketArchiveJob.run(90).getArchived());
+        ticketCounters.reconcile();
+
+        assertEquals(closedBefore, ticketService.countByStatus(TicketStatus.CLOSED));
+        assertEquals(3, ticketService.countTicketsCreatedByUser(creator));
+
+        ticketSearchIndex.update(new TicketSearchDocument(closed.getId(), "Archived printer fault", null,
+                TicketStatus.CLOSED, Priority.LOW, TicketCategory.HARDWARE), List.of());
+        ticketSearchIndex.refresh();
+        List<TicketSearchResult> hits = ticketService.search("archived printer fault", new TicketFilter(),
+                PageRequest.of(0, 10)).getContent();
+        assertEquals(List.of(closed.getId()), hits.stream().map(hit -> hit.ticket().id()).toList());
+        assertEquals("Archive Creator", hits.getFirst().ticket().createdByName());
+
+        ticketSearchIndex.delete(closed.getId());
+        ticketSearchIndex.refresh();
+    }
+
+    private Ticket persist(TicketStatus status, LocalDateTime updatedAt) {
+        Ticket ticket = Ticket.builder()
+                .title("Archive me")
+                .status(status)
+                .priority(Priority.LOW)
+                .category(TicketCategory.HARDWARE)
+                .createdBy(creator)
+                .build();
+        entityManager.persist(ticket);
+        entityManager.flush();
+        // The update timestamp is set on every write, so back-date it directly
+        entityManager.createQuery("UPDATE Ticket t SET t.updatedAt = :updatedAt WHERE t.id = :id")
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("id", ticket.getId())
+                .executeUpdate();
+        return ticket;
+    }
+}
@@ -0,0 +1,70 @@
+package com.femi.tickerdesk.repository;
+
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Transactional
+class UserRepositoryImplTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void updateLastLoginsWritesEachUsersOwnTimestamp() {
+        LocalDateTime untouched = LocalDateTime.of(2024, 1, 1, 8, 0);
+        User first = save("first@example.com", untouched);
+        User second = save("second@example.com", untouched);
+        User third = save("third@example.com", untouched);
+        entityManager.flush();
+
+        Map<Long, LocalDateTime> lastLogins = new LinkedHashMap<>();
+        lastLogins.put(first.getId(), LocalDateTime.of(2024, 5, 1, 9, 30));
+        lastLogins.put(second.getId(), LocalDateTime.of(2024, 5, 2, 10, 45));
+        lastLogins.put(Long.MAX_VALUE, LocalDateTime.of(2024, 5, 3, 11, 0));
+
+        int updated = userRepository.updateLastLogins(lastLogins);
+
+        assertEquals(2, updated);
+        entityManager.clear();
+        assertEquals(lastLogins.get(first.getId()), reload(first).getLastLogin());
+        assertEquals(lastLogins.get(second.getId()), reload(second).getLastLogin());
+        assertEquals(untouched, reload(third).getLastLogin());
+    }
+
+    private User save(String email, LocalDateTime lastLogin) {
+        User user = User.builder()
+                .email(email)
+                .password("encoded-password")
+                .firstName("Test")
+                .lastName("User")
+                .department(Department.FINANCE)
+                .site(Site.LAGOS_OFFICE)
+                .role(Role.USER)
+                .isActive(true)
+                .lastLogin(lastLogin)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private User reload(User user) {
+        return userRepository.findById(user.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,81 @@
+package com.femi.tickerdesk.search;
+
+import com.femi.tickerdesk.dto.TicketFilter;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketSearchIndexTest {
+
+    private TicketSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new TicketSearchIndex("", 1000);
+        index.open();
+
+        index.update(document(1L, "Printer jammed on third floor", "Paper stuck in tray", TicketStatus.OPEN),
+                List.of());
+        index.update(document(2L, "VPN disconnects", "The printer driver install also failed", TicketStatus.OPEN),
+                List.of());
+        index.update(document(3L, "Laptop battery", "Battery drains quickly", TicketStatus.RESOLVED),
+                List.of("Replaced the battery, printer unaffected"));
+        index.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void titleMatchesRankAboveDescriptionAndCommentMatches() {
+        TicketSearchResults results = index.search("printer", new TicketFilter(), 0, 10);
+
+        assertEquals(3, results.totalHits());
+        assertEquals(List.of(1L, 2L, 3L), results.hits().stream().map(TicketSearchHit::ticketId).toList());
+        assertTrue(results.hits().getFirst().highlights().get(TicketSearchIndex.TITLE).contains("<b>Printer</b>"));
+        assertTrue(results.hits().get(2).highlights().containsKey(TicketSearchIndex.COMMENTS));
+    }
+
+    @Test
+    void filtersNarrowMatchesAndAllTermsAreRequired() {
+        TicketFilter resolved = TicketFilter.builder().status(TicketStatus.RESOLVED).build();
+
+        assertEquals(List.of(3L), ids(index.search("printer", resolved, 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("printer jammed", new TicketFilter(), 0, 10)));
+    }
+
+    @Test
+    void updatesReplaceAndDeletesRemoveDocuments() {
+        index.update(document(2L, "VPN disconnects", "Client drops every hour", TicketStatus.OPEN), List.of());
+        index.delete(3L);
+        index.refresh();
+
+        assertEquals(List.of(1L), ids(index.search("printer", new TicketFilter(), 0, 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void malformedQuerySyntaxIsTreatedAsText() {
+        TicketSearchResults results = index.search("printer\" AND (", new TicketFilter(), 0, 10);
+        assertEquals(3, results.totalHits());
+    }
+
+    private List<Long> ids(TicketSearchResults results) {
+        return results.hits().stream().map(TicketSearchHit::ticketId).toList();
+    }
+
+    private TicketSearchDocument document(Long id, String title, String description, TicketStatus status) {
+        return new TicketSearchDocument(id, title, description, status, Priority.MEDIUM, TicketCategory.HARDWARE);
+    }
+}
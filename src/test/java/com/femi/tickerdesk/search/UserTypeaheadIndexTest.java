@@ -0,0 +1,127 @@
+package com.femi.tickerdesk.search;
+
+import com.femi.tickerdesk.dto.UserSuggestion;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.event.UserChangedEvent;
+import com.femi.tickerdesk.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserTypeaheadIndexTest {
+
+    private UserRepository userRepository;
+    private UserTypeaheadIndex index;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        index = new UserTypeaheadIndex(userRepository);
+        index.replaceAll(List.of(
+                user(1L, "Ada", "Lovelace", "ada.lovelace@example.com", Department.FINANCE, Role.USER),
+                user(2L, "Adaeze", "Okafor", "adaeze@example.com", Department.SYSTEM_NETWORK, Role.TECHNICIAN),
+                user(3L, "Chidi", "Adams", "c.adams@example.com", Department.SYSTEM_NETWORK, Role.TECHNICIAN),
+                user(4L, "Zoë", "Bamidele", "zoe.b@example.com", Department.MARKETING, Role.USER)
+        ));
+    }
+
+    @Test
+    void ranksExactNameWordsAbovePrefixesAndSubstrings() {
+        assertEquals(List.of(1L, 3L, 2L), ids(index.suggest("ada", null, null, null, 10)));
+        assertEquals(List.of(1L), ids(index.suggest("ada lov", null, null, null, 10)));
+        assertEquals(List.of(1L), ids(index.suggest("velac", null, null, null, 10)));
+        assertEquals(List.of(4L), ids(index.suggest("zoe", null, null, null, 10)));
+        assertEquals(List.of(3L), ids(index.suggest("c.ad", null, null, null, 10)));
+        assertEquals(List.of(), ids(index.suggest("  ", null, null, null, 10)));
+    }
+
+    @Test
+    void filtersByDepartmentSiteAndRole() {
+        assertEquals(List.of(3L, 2L), ids(index.suggest("ada", Department.SYSTEM_NETWORK, null, null, 10)));
+        assertEquals(List.of(1L), ids(index.suggest("ada", null, Site.LAGOS_OFFICE, Role.USER, 10)));
+        assertEquals(List.of(1L), ids(index.suggest("ada", null, null, null, 1)));
+    }
+
+    @Test
+    void followsUserChanges() {
+        when(userRepository.findActiveSuggestionsByIdIn(anyCollection())).thenReturn(List.of(
+                user(1L, "Augusta", "King", "augusta.king@example.com", Department.FINANCE, Role.USER),
+                user(5L, "Adanna", "Eze", "adanna@example.com", Department.HR_ADMIN, Role.MANAGER)
+        ));
+
+        index.onUserChanged(new UserChangedEvent(List.of(1L, 3L, 5L)));
+
+        assertEquals(List.of(5L, 2L), ids(index.suggest("ada", null, null, null, 10)));
+        assertEquals(List.of(1L), ids(index.suggest("king", null, null, null, 10)));
+        assertEquals(List.of(5L), ids(index.suggest("dann", null, null, null, 10)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkSuggestOverOneHundredThousandUsers() {
+        String[] firstNames = {"Ada", "Chidi", "Emeka", "Ngozi", "Tunde", "Bola", "Femi", "Yetunde", "Ifeoma", "Kunle",
+                "Amaka", "Segun", "Zainab", "Musa", "Halima", "Obinna", "Chioma", "Dayo", "Sade", "Uche"};
+        String[] lastNames = {"Okafor", "Adeyemi", "Balogun", "Eze", "Ibrahim", "Okonkwo", "Adebayo", "Nwosu", "Bello",
+                "Olawale", "Chukwu", "Afolabi", "Danjuma", "Ogunleye", "Umar", "Oyelaran", "Lawal", "Ekwueme"};
+        Random random = new Random(42);
+        List<UserSuggestion> users = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            String first = firstNames[random.nextInt(firstNames.length)];
+            String last = lastNames[random.nextInt(lastNames.length)] + (id % 500);
+            users.add(user(id, first, last, first.toLowerCase() + "." + last.toLowerCase() + id + "@example.com",
+                    Department.values()[random.nextInt(Department.values().length)], Role.values()[random.nextInt(4)]));
+        }
+        index.replaceAll(users);
+
+        String[] queries = {"a", "ok", "ade", "chi ok", "tunde bal", "wale", "nwosu12", "femi.", "zai", "uche eze4"};
+        Function<String, List<UserSuggestion>> scan = query -> users.stream()
+                .filter(user -> (user.firstName() + " " + user.lastName() + " " + user.email()).toLowerCase().contains(query))
+                .limit(10)
+                .toList();
+
+        long[] indexed = latencies(queries, query -> index.suggest(query, null, null, null, 10));
+        long[] scanned = latencies(queries, scan);
+        System.out.printf("suggest over 100k users: p50 %d us, p99 %d us; linear scan p50 %d us, p99 %d us%n",
+                indexed[0], indexed[1], scanned[0], scanned[1]);
+        assertTrue(indexed[1] < scanned[1]);
+    }
+
+    // Returns {p50, p99} in microseconds after a warm-up pass
+    private static long[] latencies(String[] queries, Function<String, List<UserSuggestion>> search) {
+        for (int i = 0; i < 2_000; i++) {
+            search.apply(queries[i % queries.length]);
+        }
+        int iterations = 2_000;
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            search.apply(queries[i % queries.length]);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return new long[]{latencies[iterations / 2] / 1000, latencies[iterations * 99 / 100] / 1000};
+    }
+
+    private static List<Long> ids(List<UserSuggestion> suggestions) {
+        return suggestions.stream().map(UserSuggestion::id).toList();
+    }
+
+    private static UserSuggestion user(Long id, String first, String last, String email, Department department, Role role) {
+        return new UserSuggestion(id, first, last, email, department, Site.LAGOS_OFFICE, role);
+    }
+}
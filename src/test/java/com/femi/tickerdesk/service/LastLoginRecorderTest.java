@@ -0,0 +1,94 @@
+package com.femi.tickerdesk.service;
+
+import com.femi.tickerdesk.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LastLoginRecorderTest {
+
+    private UserRepository userRepository;
+    private LastLoginRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.updateLastLogins(anyMap())).thenAnswer(invocation -> invocation.<Map<?, ?>>getArgument(0).size());
+        recorder = new LastLoginRecorder(userRepository);
+    }
+
+    @Test
+    void repeatedLoginsCollapseIntoOneRowPerUser() {
+        LocalDateTime before = LocalDateTime.now();
+        recorder.record(1L);
+        recorder.record(1L);
+        recorder.record(2L);
+
+        recorder.flush();
+
+        Map<Long, LocalDateTime> batch = captureBatches(1).getFirst();
+        assertEquals(Set.of(1L, 2L), batch.keySet());
+        assertFalse(batch.get(1L).isBefore(before));
+    }
+
+    @Test
+    void flushWritesInBatchesOfFiveHundred() {
+        for (long id = 1; id <= 1_200; id++) {
+            recorder.record(id);
+        }
+
+        recorder.flush();
+
+        List<Map<Long, LocalDateTime>> batches = captureBatches(3);
+        Set<Long> written = new HashSet<>();
+        batches.forEach(batch -> written.addAll(batch.keySet()));
+        assertEquals(List.of(500, 500, 200), batches.stream().map(Map::size).sorted(Comparator.reverseOrder()).toList());
+        assertEquals(1_200, written.size());
+    }
+
+    @Test
+    void nothingPendingSkipsTheDatabase() {
+        recorder.flush();
+
+        verify(userRepository, never()).updateLastLogins(anyMap());
+    }
+
+    @Test
+    void failedBatchIsRetriedOnTheNextFlush() {
+        when(userRepository.updateLastLogins(anyMap()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenAnswer(invocation -> invocation.<Map<?, ?>>getArgument(0).size());
+        recorder.record(1L);
+
+        recorder.flush();
+        recorder.flush();
+
+        List<Map<Long, LocalDateTime>> batches = captureBatches(2);
+        assertEquals(batches.get(0), batches.get(1));
+        recorder.flush();
+        verify(userRepository, times(2)).updateLastLogins(anyMap());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<Long, LocalDateTime>> captureBatches(int expected) {
+        ArgumentCaptor<Map<Long, LocalDateTime>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(userRepository, times(expected)).updateLastLogins(captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,56 @@
+package com.femi.tickerdesk.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class OptimisticRetryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OptimisticRetry retry = new OptimisticRetry(mock(PlatformTransactionManager.class), meterRegistry, 3, 0);
+
+    @Test
+    void reappliesTheCommandUntilItWins() {
+        AtomicInteger attempts = new AtomicInteger();
+        String result = retry.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Ticket", 1L);
+            }
+            return "applied";
+        });
+
+        assertEquals("applied", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, meterRegistry.counter("optimistic.conflicts", "outcome", "retried").count());
+    }
+
+    @Test
+    void givesUpAfterTheLastAttempt() {
+        AtomicInteger attempts = new AtomicInteger();
+        assertThrows(IllegalStateException.class, () -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Ticket", 1L);
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(1, meterRegistry.counter("optimistic.conflicts", "outcome", "exhausted").count());
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        assertThrows(StaleVersionException.class, () -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new StaleVersionException(1L, 2L);
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,118 @@
+package com.femi.tickerdesk.service;
+
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.model.Ticket;
+import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TicketContentionBenchmarkTest {
+
+    private static final int HOT_TICKETS = 4;
+    private static final int UPDATES_PER_WRITER = 200;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmarkThroughputOnHotTicketsAgainstWriters() throws Exception {
+        User creator = userRepository.save(User.builder()
+                .email("bench-contention@example.com")
+                .password("x")
+                .firstName("Bench")
+                .lastName("User")
+                .department(Department.SYSTEM_NETWORK)
+                .site(Site.LAGOS_OFFICE)
+                .role(Role.TECHNICIAN)
+                .isActive(true)
+                .build());
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < HOT_TICKETS; i++) {
+                ids.add(ticketService.createTicket(Ticket.builder()
+                        .title("Hot ticket " + i)
+                        .category(TicketCategory.HARDWARE)
+                        .priority(Priority.MEDIUM)
+                        .createdBy(creator)
+                        .build()).getId());
+            }
+
+            for (int writers : new int[]{1, 2, 4, 8, 16}) {
+                run(ids, writers);
+            }
+        } finally {
+            jdbcTemplate.update("DELETE FROM ticket WHERE created_by = ?", creator.getId());
+            userRepository.deleteById(creator.getId());
+        }
+    }
+
+    private void run(List<Long> ids, int writers) throws Exception {
+        double retriedBefore = conflicts("retried");
+        AtomicInteger failed = new AtomicInteger();
+        Priority[] priorities = Priority.values();
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                done.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                        try {
+                            ticketService.updateTicketPriority(ids.get(random.nextInt(ids.size())),
+                                    priorities[random.nextInt(priorities.length)]);
+                        } catch (IllegalStateException e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : done) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int updates = writers * UPDATES_PER_WRITER;
+        System.out.printf("%2d writers on %d tickets: %,8.0f updates/s, %,5.0f conflicts retried, %d gave up%n",
+                writers, ids.size(), updates / seconds, conflicts("retried") - retriedBefore, failed.get());
+        assertEquals(0, failed.get());
+    }
+
+    private double conflicts(String outcome) {
+        return meterRegistry.counter("optimistic.conflicts", "outcome", outcome).count();
+    }
+}
@@ -0,0 +1,162 @@
+package com.femi.tickerdesk.service;
+
+import com.femi.tickerdesk.dto.CursorPage;
+import com.femi.tickerdesk.dto.TicketFilter;
+import com.femi.tickerdesk.dto.TicketSummary;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketSort;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.model.Ticket;
+import com.femi.tickerdesk.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+class TicketKeysetPagingTest {
+
+    private static final int TICKETS = 23;
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<TicketSummary> tickets = new ArrayList<>();
+    private TicketFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        User creator = User.builder()
+                .email("keyset@example.com")
+                .password("encoded-password")
+                .firstName("Test")
+                .lastName("User")
+                .department(Department.FINANCE)
+                .site(Site.LAGOS_OFFICE)
+                .role(Role.USER)
+                .employeeId("EMP-KEYSET")
+                .isActive(true)
+                .build();
+        entityManager.persist(creator);
+
+        Priority[] priorities = Priority.values();
+        LocalDateTime earlier = LocalDateTime.of(2024, 3, 1, 9, 0);
+        LocalDateTime later = earlier.plusHours(1);
+        for (int i = 0; i < TICKETS; i++) {
+            Ticket ticket = Ticket.builder()
+                    .title("Ticket " + i)
+                    .description("Keyset paging")
+                    .status(TicketStatus.OPEN)
+                    .priority(priorities[i % priorities.length])
+                    .category(TicketCategory.HARDWARE)
+                    .createdBy(creator)
+                    .build();
+            entityManager.persist(ticket);
+            entityManager.flush();
+            // Two creation times only, so every page boundary falls inside a createdAt tie
+            entityManager.createQuery("UPDATE Ticket t SET t.createdAt = :createdAt WHERE t.id = :id")
+                    .setParameter("createdAt", i % 2 == 0 ? earlier : later)
+                    .setParameter("id", ticket.getId())
+                    .executeUpdate();
+        }
+        entityManager.clear();
+
+        // Scoped to this creator so rows committed by other tests cannot land on a page
+        filter = TicketFilter.builder().createdById(creator.getId()).build();
+        tickets.addAll(ticketService.findPage(filter, TicketSort.NEWEST, null, TICKETS, false).getItems());
+        assertEquals(TICKETS, tickets.size());
+    }
+
+    @Test
+    void newestWalksForwardAndBackThroughCreatedAtTies() {
+        assertWalk(TicketSort.NEWEST, Comparator.comparing(TicketSummary::createdAt)
+                .thenComparing(TicketSummary::id)
+                .reversed());
+    }
+
+    @Test
+    void priorityWalksForwardAndBackThroughPriorityAndCreatedAtTies() {
+        assertWalk(TicketSort.PRIORITY, Comparator.comparingInt((TicketSummary t) -> t.priority().getLevel())
+                .thenComparing(TicketSummary::createdAt)
+                .thenComparing(TicketSummary::id)
+                .reversed());
+    }
+
+    @Test
+    void priorityFilterKeepsTheSameKeyset() {
+        filter.setPriority(Priority.HIGH);
+        List<Long> expected = tickets.stream()
+                .filter(t -> t.priority() == Priority.HIGH)
+                .map(TicketSummary::id)
+                .toList();
+
+        CursorPage<TicketSummary> first = ticketService.findPage(filter, TicketSort.PRIORITY, null, 3, false);
+        CursorPage<TicketSummary> second = ticketService.findPage(filter, TicketSort.PRIORITY, first.getNextCursor(), 3, false);
+
+        List<Long> walked = new ArrayList<>(ids(first));
+        walked.addAll(ids(second));
+        assertEquals(expected, walked);
+        assertFalse(second.isHasNext());
+    }
+
+    @Test
+    void cursorFromAnotherSortIsRejected() {
+        CursorPage<TicketSummary> page = ticketService.findPage(filter, TicketSort.NEWEST, null, PAGE_SIZE, false);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                ticketService.findPage(filter, TicketSort.PRIORITY, page.getNextCursor(), PAGE_SIZE, false));
+    }
+
+    private void assertWalk(TicketSort sort, Comparator<TicketSummary> order) {
+        List<Long> expected = tickets.stream().sorted(order).map(TicketSummary::id).toList();
+
+        List<List<Long>> forward = new ArrayList<>();
+        CursorPage<TicketSummary> page = ticketService.findPage(filter, sort, null, PAGE_SIZE, false);
+        assertFalse(page.isHasPrevious());
+        assertNull(page.getPreviousCursor());
+        forward.add(ids(page));
+        while (page.isHasNext()) {
+            page = ticketService.findPage(filter, sort, page.getNextCursor(), PAGE_SIZE, false);
+            forward.add(ids(page));
+        }
+        assertEquals(expected, forward.stream().flatMap(List::stream).toList());
+        assertEquals((TICKETS + PAGE_SIZE - 1) / PAGE_SIZE, forward.size());
+        assertNull(page.getNextCursor());
+
+        // Walking back from the last page must reproduce each forward page exactly
+        for (int i = forward.size() - 2; i >= 0; i--) {
+            assertTrue(page.isHasPrevious());
+            page = ticketService.findPage(filter, sort, page.getPreviousCursor(), PAGE_SIZE, false);
+            assertEquals(forward.get(i), ids(page));
+            assertTrue(page.isHasNext());
+        }
+        assertFalse(page.isHasPrevious());
+        assertNull(page.getPreviousCursor());
+    }
+
+    private static List<Long> ids(CursorPage<TicketSummary> page) {
+        return page.getItems().stream().map(TicketSummary::id).toList();
+    }
+}
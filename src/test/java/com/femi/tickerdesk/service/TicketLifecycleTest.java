@@ -0,0 +1,179 @@
+package com.femi.tickerdesk.service;
+
+import com.femi.tickerdesk.dto.BulkTicketUpdateReport;
+import com.femi.tickerdesk.dto.BulkTicketUpdateRequest;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.model.Ticket;
+import com.femi.tickerdesk.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+class TicketLifecycleTest {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User creator;
+    private User technician;
+
+    @BeforeEach
+    void setUp() {
+        creator = persistUser("lifecycle-creator@example.com", "LC-1", Role.USER);
+        technician = persistUser("lifecycle-tech@example.com", "LC-2", Role.TECHNICIAN);
+    }
+
+    @Test
+    void transitionTableAllowsOnlyTheLifecycle() {
+        assertTrue(TicketStatus.OPEN.canTransitionTo(TicketStatus.RESOLVED));
+        assertTrue(TicketStatus.RESOLVED.canTransitionTo(TicketStatus.CLOSED));
+        assertTrue(TicketStatus.CLOSED.canTransitionTo(TicketStatus.OPEN));
+        assertFalse(TicketStatus.RESOLVED.canTransitionTo(TicketStatus.IN_PROGRESS));
+        assertFalse(TicketStatus.OPEN.canTransitionTo(TicketStatus.OPEN));
+        for (TicketStatus target : TicketStatus.values()) {
+            assertFalse(TicketStatus.CANCELLED.canTransitionTo(target));
+        }
+        assertFalse(TicketStatus.sourcesOf(TicketStatus.CLOSED).contains(TicketStatus.CANCELLED));
+    }
+
+    @Test
+    void resolvingSetsAndReopeningClearsTheResolutionTime() {
+        Long id = persistTicket(TicketStatus.IN_PROGRESS).getId();
+
+        LocalDateTime resolvedAt = ticketService.resolveTicket(id).getResolvedAt();
+        assertNotNull(resolvedAt);
+        assertEquals(resolvedAt, ticketService.closeTicket(id).getResolvedAt());
+        assertThrows(IllegalStateException.class, () -> ticketService.assignTicket(id, technician.getId()));
+
+        Ticket reopened = ticketService.reopenTicket(id);
+        assertEquals(TicketStatus.OPEN, reopened.getStatus());
+        assertNull(reopened.getResolvedAt());
+        assertThrows(IllegalStateException.class, () -> ticketService.reopenTicket(id));
+
+        ticketService.updateTicketStatus(id, TicketStatus.CANCELLED);
+        assertThrows(IllegalStateException.class, () -> ticketService.resolveTicket(id));
+    }
+
+    @Test
+    void closesAThousandTicketsInTwoStatements() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 998; i++) {
+            ids.add(persistTicket(i % 100 == 0 ? TicketStatus.CANCELLED : TicketStatus.OPEN).getId());
+        }
+        Long resolved = persistTicket(TicketStatus.RESOLVED).getId();
+        ids.add(resolved);
+        ids.add(-1L);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BulkTicketUpdateReport report = ticketService.bulkUpdate(
+                new BulkTicketUpdateRequest(ids, TicketStatus.CLOSED, null, null));
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        assertEquals(1000, report.getTotal());
+        assertEquals(989, report.getUpdated());
+        assertEquals(10, report.getRejected());
+        assertEquals(1, report.getNotFound());
+        assertEquals(BulkTicketUpdateReport.Status.NOT_ALLOWED, report.getTickets().get(0).status());
+        assertEquals(TicketStatus.CANCELLED, report.getTickets().get(0).previousStatus());
+
+        Ticket closed = entityManager.find(Ticket.class, ids.get(1));
+        assertEquals(TicketStatus.CLOSED, closed.getStatus());
+        assertNotNull(closed.getResolvedAt());
+        assertEquals(TicketStatus.CANCELLED, entityManager.find(Ticket.class, ids.get(0)).getStatus());
+    }
+
+    @Test
+    void bulkReassignSkipsFinishedTickets() {
+        Long open = persistTicket(TicketStatus.OPEN).getId();
+        Long closed = persistTicket(TicketStatus.CLOSED).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        BulkTicketUpdateReport report = ticketService.bulkUpdate(
+                new BulkTicketUpdateRequest(List.of(open, closed), null, null, technician.getId()));
+
+        assertEquals(1, report.getUpdated());
+        assertEquals(1, report.getRejected());
+        assertEquals(technician.getId(), entityManager.find(Ticket.class, open).getAssignedTo().getId());
+        assertNull(entityManager.find(Ticket.class, closed).getAssignedTo());
+
+        assertThrows(IllegalArgumentException.class, () -> ticketService.bulkUpdate(
+                new BulkTicketUpdateRequest(List.of(open), TicketStatus.CLOSED, Priority.HIGH, null)));
+    }
+
+    @Test
+    void changesAreGuardedByTheTicketVersion() {
+        Ticket ticket = persistTicket(TicketStatus.OPEN);
+        entityManager.flush();
+        Long id = ticket.getId();
+        long version = ticket.getVersion();
+
+        ticketService.updateTicketPriority(id, Priority.HIGH, version);
+        entityManager.flush();
+        assertEquals(version + 1, ticket.getVersion());
+        StaleVersionException stale = assertThrows(StaleVersionException.class,
+                () -> ticketService.updateTicketPriority(id, Priority.LOW, version));
+        assertEquals(version + 1, stale.getCurrentVersion());
+        assertEquals(Priority.HIGH, ticket.getPriority());
+
+        ticketService.bulkUpdate(new BulkTicketUpdateRequest(List.of(id), null, Priority.URGENT, null));
+        assertEquals(version + 2, entityManager.find(Ticket.class, id).getVersion());
+    }
+
+    private Ticket persistTicket(TicketStatus status) {
+        Ticket ticket = Ticket.builder()
+                .title("Lifecycle")
+                .status(status)
+                .priority(Priority.MEDIUM)
+                .category(TicketCategory.HARDWARE)
+                .createdBy(creator)
+                .build();
+        entityManager.persist(ticket);
+        return ticket;
+    }
+
+    private User persistUser(String email, String employeeId, Role role) {
+        User user = User.builder()
+                .email(email)
+                .password("encoded-password")
+                .firstName("Test")
+                .lastName("User")
+                .department(Department.SYSTEM_NETWORK)
+                .site(Site.LAGOS_OFFICE)
+                .role(role)
+                .employeeId(employeeId)
+                .isActive(true)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
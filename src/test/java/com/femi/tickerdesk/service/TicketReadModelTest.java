@@ -0,0 +1,178 @@
+package com.femi.tickerdesk.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femi.tickerdesk.dto.TicketFilter;
+import com.femi.tickerdesk.dto.TicketSearchResult;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketSort;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.model.ServiceCatalogItem;
+import com.femi.tickerdesk.model.Ticket;
+import com.femi.tickerdesk.model.User;
+import com.femi.tickerdesk.search.TicketSearchDocument;
+import com.femi.tickerdesk.search.TicketSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class TicketReadModelTest {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TicketSearchIndex ticketSearchIndex;
+
+    private Statistics statistics;
+    private User creator;
+    private User technician;
+    private Long ticketId;
+    private final List<Long> indexedIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        creator = persistUser("creator@example.com", "EMP-1", Role.USER);
+        technician = persistUser("tech@example.com", "EMP-2", Role.TECHNICIAN);
+
+        ServiceCatalogItem item = ServiceCatalogItem.builder()
+                .name("Laptop request")
+                .category(TicketCategory.HARDWARE)
+                .build();
+        entityManager.persist(item);
+
+        for (int i = 0; i < 5; i++) {
+            Ticket ticket = Ticket.builder()
+                    .title("Printer " + i)
+                    .description("Printer on floor " + i + " is jammed")
+                    .status(i % 2 == 0 ? TicketStatus.OPEN : TicketStatus.IN_PROGRESS)
+                    .priority(i == 0 ? Priority.URGENT : Priority.MEDIUM)
+                    .category(TicketCategory.HARDWARE)
+                    .createdBy(creator)
+                    .assignedTo(i % 2 == 0 ? null : technician)
+                    .serviceCatalogItem(item)
+                    .build();
+            entityManager.persist(ticket);
+            ticketId = ticket.getId();
+            ticketSearchIndex.update(new TicketSearchDocument(ticket.getId(), ticket.getTitle(), ticket.getDescription(),
+                    ticket.getStatus(), ticket.getPriority(), ticket.getCategory()), List.of());
+            indexedIds.add(ticket.getId());
+        }
+        ticketSearchIndex.refresh();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // The rows roll back with the test, so their documents must not outlive it either
+    @AfterEach
+    void tearDown() {
+        indexedIds.forEach(ticketSearchIndex::delete);
+        ticketSearchIndex.refresh();
+    }
+
+    @Test
+    void everyListingRunsOneStatement() {
+        PageRequest page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        assertSingleStatement(5, () -> ticketService.findAll());
+        assertSingleStatement(5, () -> ticketService.findAll(page).getContent());
+        assertSingleStatement(5, () -> ticketService.findByCreatedBy(creator));
+        assertSingleStatement(5, () -> ticketService.findByCreatedBy(creator, page).getContent());
+        assertSingleStatement(2, () -> ticketService.findByAssignedTo(technician));
+        assertSingleStatement(2, () -> ticketService.findByAssignedTo(technician, page).getContent());
+        assertSingleStatement(3, () -> ticketService.findByStatus(TicketStatus.OPEN));
+        assertSingleStatement(3, () -> ticketService.findByStatus(TicketStatus.OPEN, page).getContent());
+        assertSingleStatement(5, () -> ticketService.findByCategory(TicketCategory.HARDWARE));
+        assertSingleStatement(5, () -> ticketService.findByCategory(TicketCategory.HARDWARE, page).getContent());
+        assertSingleStatement(5, () -> ticketService.findByCreatedByDepartment(Department.FINANCE.name()));
+        assertSingleStatement(5, () -> ticketService.findByStatusIn(List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS)));
+        // Hits come from the index; only hydrating them into summaries touches the database
+        assertSingleStatement(1, () -> ticketService.search("floor 3", new TicketFilter(), page).getContent());
+        assertSingleStatement(5, () -> ticketService.findByCreatedAtBetween(
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)));
+        assertSingleStatement(3, () -> ticketService.findUnassignedOpenTickets());
+        assertSingleStatement(1, () -> ticketService.findUrgentActiveTickets());
+        assertSingleStatement(5, () -> ticketService.findPage(new TicketFilter(), TicketSort.NEWEST, null, 20, false).getItems());
+    }
+
+    @Test
+    void searchPagesAreBounded() {
+        Page<TicketSearchResult> oversized = ticketService.search("printer", new TicketFilter(), PageRequest.of(0, Integer.MAX_VALUE));
+        assertEquals(100, oversized.getSize());
+        assertEquals(5, oversized.getContent().size());
+
+        assertThrows(IllegalArgumentException.class, () ->
+                ticketService.search("printer", new TicketFilter(), PageRequest.of(Integer.MAX_VALUE / 10, 20)));
+    }
+
+    @Test
+    void detailIsOneStatementAndNeverExposesTheCreator() throws Exception {
+        statistics.clear();
+        var detail = ticketService.findDetailById(ticketId).orElseThrow();
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertEquals(creator.getId(), detail.createdById());
+        assertEquals("Laptop request", detail.serviceCatalogItemName());
+        assertNull(detail.assignedToName());
+
+        String json = objectMapper.writeValueAsString(detail);
+        assertFalse(json.contains("password"));
+    }
+
+    private void assertSingleStatement(int expectedRows, Supplier<List<?>> listing) {
+        statistics.clear();
+        List<?> rows = listing.get();
+        assertEquals(expectedRows, rows.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private User persistUser(String email, String employeeId, Role role) {
+        User user = User.builder()
+                .email(email)
+                .password("encoded-password")
+                .firstName("Test")
+                .lastName("User")
+                .department(Department.FINANCE)
+                .site(Site.LAGOS_OFFICE)
+                .role(role)
+                .employeeId(employeeId)
+                .isActive(true)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,97 @@
+package com.femi.tickerdesk.service;
+
+import com.femi.tickerdesk.event.UserChangedEvent;
+import com.femi.tickerdesk.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserIdentifierFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> lookups = new ArrayList<>();
+    private UserRepository userRepository;
+    private UserIdentifierFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        filter = new UserIdentifierFilter(userRepository, meterRegistry, 1000, 0.01);
+        filter.bindTo(meterRegistry);
+    }
+
+    @Test
+    void fallsThroughToTheDatabaseUntilBuilt() {
+        assertTrue(filter.existsByEmail("ada@example.com", lookup(true)));
+        assertEquals(List.of("ada@example.com"), lookups);
+    }
+
+    @Test
+    void skipsTheDatabaseForValuesNobodyHolds() {
+        when(userRepository.findIdentifiersAfter(eq(0L), any())).thenReturn(List.<Object[]>of(
+                new Object[]{1L, "Ada@Example.com", "E-1"},
+                new Object[]{2L, "chidi@example.com", null}
+        ));
+        filter.rebuild();
+
+        assertFalse(filter.existsByEmail("new@example.com", lookup(true)));
+        assertFalse(filter.existsByEmployeeId("E-2", lookup(true)));
+        assertTrue(lookups.isEmpty());
+
+        assertTrue(filter.existsByEmail("ada@example.com", lookup(true)));
+        assertTrue(filter.existsByEmployeeId("e-1", lookup(true)));
+        assertFalse(filter.existsByEmail("chidi@example.com", lookup(false)));
+        assertEquals(List.of("ada@example.com", "e-1", "chidi@example.com"), lookups);
+
+        assertEquals(1, checks("email", "skipped"));
+        assertEquals(1, checks("email", "confirmed"));
+        assertEquals(1, checks("email", "false_positive"));
+        assertEquals(2, meterRegistry.get("user.identifier.filter.insertions").tag("field", "email").gauge().value());
+    }
+
+    @Test
+    void addsUsersFromChangeEventsAndSync() {
+        when(userRepository.findIdentifiersAfter(anyLong(), any())).thenReturn(List.of());
+        filter.rebuild();
+
+        when(userRepository.findIdentifiersByIdIn(anyCollection())).thenReturn(List.<Object[]>of(
+                new Object[]{5L, "zoe@example.com", "E-5"}
+        ));
+        filter.onUserChanged(UserChangedEvent.of(5L));
+
+        when(userRepository.findIdentifiersAfter(eq(0L), any())).thenReturn(List.<Object[]>of(
+                new Object[]{6L, "elsewhere@example.com", null}
+        ));
+        filter.sync();
+
+        assertTrue(filter.existsByEmail("zoe@example.com", lookup(true)));
+        assertTrue(filter.existsByEmployeeId("E-5", lookup(true)));
+        assertTrue(filter.existsByEmail("elsewhere@example.com", lookup(true)));
+        assertEquals(3, lookups.size());
+    }
+
+    private Predicate<String> lookup(boolean exists) {
+        return value -> {
+            lookups.add(value);
+            return exists;
+        };
+    }
+
+    private double checks(String field, String outcome) {
+        return meterRegistry.get("user.identifier.filter.checks").tag("field", field).tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,145 @@
+package com.femi.tickerdesk.sla;
+
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.event.TicketChangedEvent;
+import com.femi.tickerdesk.event.TicketSlaBreachedEvent;
+import com.femi.tickerdesk.event.TicketSnapshot;
+import com.femi.tickerdesk.model.ServiceCatalogItem;
+import com.femi.tickerdesk.repository.TicketRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SlaEngineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Object> events = new ArrayList<>();
+    private final LocalDateTime now = LocalDateTime.now();
+    private TicketRepository ticketRepository;
+    private SlaEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository = mock(TicketRepository.class);
+        engine = new SlaEngine(ticketRepository, events::add, mock(PlatformTransactionManager.class),
+                meterRegistry, 60, 1000);
+    }
+
+    @Test
+    void dueTimeComesFromTheCatalogItemOrThePriority() {
+        ServiceCatalogItem item = ServiceCatalogItem.builder().estimatedResolutionHours(48).build();
+        assertEquals(now.plusHours(48), engine.dueAt(now, item, Priority.URGENT));
+        assertEquals(now.plusHours(4), engine.dueAt(now, null, Priority.URGENT));
+        assertEquals(now.plusHours(72), engine.dueAt(now, new ServiceCatalogItem(), Priority.LOW));
+    }
+
+    @Test
+    void warnsThenBreachesThenStopsTracking() {
+        TicketSnapshot ticket = ticket(1L, TicketStatus.OPEN, Priority.MEDIUM, now.plusHours(2));
+        engine.onTicketChanged(TicketChangedEvent.created(ticket));
+        assertEquals(1, engine.pending());
+
+        engine.advanceTo(now.plusMinutes(30));
+        verify(ticketRepository, never()).lockSnapshotsByIdIn(any());
+
+        when(ticketRepository.lockSnapshotsByIdIn(List.of(1L))).thenReturn(List.of(ticket));
+        engine.advanceTo(now.plusMinutes(61));
+        verify(ticketRepository).markSlaWarned(eq(List.of(1L)), eq(Priority.HIGH), eq(TicketStatus.ACTIVE), any());
+        assertEquals(1, engine.pending());
+
+        TicketSnapshot warned = ticket.withPriority(Priority.HIGH).withSlaWarned();
+        when(ticketRepository.lockSnapshotsByIdIn(List.of(1L))).thenReturn(List.of(warned));
+        engine.advanceTo(now.plusHours(2).plusSeconds(1));
+        verify(ticketRepository).markSlaBreached(eq(List.of(1L)), eq(Priority.URGENT), eq(TicketStatus.ACTIVE), any());
+        assertEquals(0, engine.pending());
+
+        assertEquals(3, events.size());
+        assertEquals(warned.withPriority(Priority.URGENT).withSlaBreached(), ((TicketChangedEvent) events.get(1)).after());
+        assertInstanceOf(TicketSlaBreachedEvent.class, events.get(2));
+        assertEquals(1, meterRegistry.get("ticket.sla.escalations").tag("stage", "breach").counter().count());
+    }
+
+    @Test
+    void cancelsWhenTheTicketLeavesTheActiveStatuses() {
+        TicketSnapshot ticket = ticket(3L, TicketStatus.IN_PROGRESS, Priority.LOW, now.plusHours(5));
+        engine.onTicketChanged(TicketChangedEvent.created(ticket));
+        engine.onTicketChanged(TicketChangedEvent.updated(ticket, ticket.withStatus(TicketStatus.RESOLVED)));
+        assertEquals(0, engine.pending());
+
+        engine.advanceTo(now.plusHours(6));
+        verify(ticketRepository, never()).lockSnapshotsByIdIn(any());
+    }
+
+    @Test
+    void rebuildsFromTheDatabase() {
+        when(ticketRepository.findSlaDeadlinesAfter(anyLong(), any(), any())).thenReturn(List.<Object[]>of(
+                new Object[]{1L, Priority.HIGH, now.plusHours(1), false},
+                new Object[]{2L, Priority.LOW, now.minusHours(1), false}
+        ));
+        engine.rebuild();
+        assertEquals(2, engine.pending());
+
+        when(ticketRepository.lockSnapshotsByIdIn(List.of(2L)))
+                .thenReturn(List.of(ticket(2L, TicketStatus.OPEN, Priority.LOW, now.minusHours(1))));
+        engine.advanceTo(now.plusSeconds(2));
+        verify(ticketRepository).markSlaBreached(eq(List.of(2L)), eq(Priority.MEDIUM), eq(TicketStatus.ACTIVE), any());
+        assertEquals(1, engine.pending());
+    }
+
+    @Test
+    void warnsOnlyOnceWhenEveryInstanceHoldsTheSameTimer() {
+        TicketSnapshot ticket = ticket(4L, TicketStatus.OPEN, Priority.MEDIUM, now.plusHours(2));
+        SlaEngine other = new SlaEngine(ticketRepository, events::add, mock(PlatformTransactionManager.class),
+                meterRegistry, 60, 1000);
+        engine.onTicketChanged(TicketChangedEvent.created(ticket));
+        other.onTicketChanged(TicketChangedEvent.created(ticket));
+
+        when(ticketRepository.lockSnapshotsByIdIn(List.of(4L))).thenReturn(List.of(ticket));
+        engine.advanceTo(now.plusMinutes(61));
+        // The second instance locks the row after the first committed its warning
+        when(ticketRepository.lockSnapshotsByIdIn(List.of(4L)))
+                .thenReturn(List.of(ticket.withPriority(Priority.HIGH).withSlaWarned()));
+        other.advanceTo(now.plusMinutes(62));
+
+        verify(ticketRepository, times(1)).markSlaWarned(any(), any(), any(), any());
+        assertEquals(1, events.size());
+        assertEquals(1, meterRegistry.get("ticket.sla.escalations").tag("stage", "warning").counter().count());
+        assertEquals(1, other.pending());
+    }
+
+    @Test
+    void rebuildSkipsTheWarningForTicketsAlreadyWarned() {
+        when(ticketRepository.findSlaDeadlinesAfter(anyLong(), any(), any())).thenReturn(List.<Object[]>of(
+                new Object[]{5L, Priority.HIGH, now.plusMinutes(30), true}
+        ));
+        engine.rebuild();
+
+        engine.advanceTo(now.plusMinutes(29));
+        verify(ticketRepository, never()).lockSnapshotsByIdIn(any());
+        assertEquals(1, engine.pending());
+    }
+
+    private TicketSnapshot ticket(Long id, TicketStatus status, Priority priority, LocalDateTime dueAt) {
+        return new TicketSnapshot(id, status, priority,
+                TicketCategory.HARDWARE, 10L, Department.FINANCE, null, dueAt, false, false);
+    }
+}
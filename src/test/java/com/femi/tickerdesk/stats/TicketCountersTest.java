@@ -0,0 +1,110 @@
+package com.femi.tickerdesk.stats;
+
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Priority;
+import com.femi.tickerdesk.enumFolder.TicketCategory;
+import com.femi.tickerdesk.enumFolder.TicketStatus;
+import com.femi.tickerdesk.event.TicketChangedEvent;
+import com.femi.tickerdesk.event.TicketSnapshot;
+import com.femi.tickerdesk.repository.ArchivedTicketRepository;
+import com.femi.tickerdesk.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TicketCountersTest {
+
+    private TicketRepository ticketRepository;
+    private ArchivedTicketRepository archivedTicketRepository;
+    private TicketCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository = mock(TicketRepository.class);
+        when(ticketRepository.countByStatusPriorityCategoryAndCreatorDepartment()).thenReturn(List.of(
+                new Object[]{TicketStatus.OPEN, Priority.HIGH, TicketCategory.HARDWARE, Department.FINANCE, 3L},
+                new Object[]{TicketStatus.OPEN, Priority.LOW, TicketCategory.NETWORKING, null, 2L},
+                new Object[]{TicketStatus.RESOLVED, Priority.HIGH, TicketCategory.HARDWARE, Department.MARKETING, 4L}
+        ));
+        when(ticketRepository.countByAssigneeAndStatus()).thenReturn(List.<Object[]>of(
+                new Object[]{7L, TicketStatus.OPEN, 2L}
+        ));
+        when(ticketRepository.countByCreator()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, 9L}
+        ));
+        archivedTicketRepository = mock(ArchivedTicketRepository.class);
+        counters = new TicketCounters(ticketRepository, archivedTicketRepository);
+        counters.reconcile();
+    }
+
+    @Test
+    void seedsCountsAndTreatsNullsAsWildcards() {
+        assertEquals(9, counters.count(null, null, null, null));
+        assertEquals(5, counters.count(TicketStatus.OPEN, null, null, null));
+        assertEquals(7, counters.count(null, Priority.HIGH, TicketCategory.HARDWARE, null));
+        assertEquals(3, counters.count(null, null, null, Department.FINANCE));
+        assertEquals(2, counters.countAssigned(7L, EnumSet.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS)));
+        assertEquals(9, counters.countCreatedBy(1L));
+        assertEquals(0, counters.countCreatedBy(2L));
+    }
+
+    @Test
+    void followsTicketChanges() {
+        TicketSnapshot created = snapshot(TicketStatus.OPEN, null);
+        TicketSnapshot assigned = snapshot(TicketStatus.IN_PROGRESS, 7L);
+
+        counters.onTicketChanged(TicketChangedEvent.created(created));
+        assertEquals(4, counters.count(TicketStatus.OPEN, Priority.HIGH, null, Department.FINANCE));
+        assertEquals(10, counters.countCreatedBy(1L));
+
+        counters.onTicketChanged(TicketChangedEvent.updated(created, assigned));
+        assertEquals(3, counters.count(TicketStatus.OPEN, Priority.HIGH, null, Department.FINANCE));
+        assertEquals(1, counters.countAssigned(7L, EnumSet.of(TicketStatus.IN_PROGRESS)));
+
+        counters.onTicketChanged(TicketChangedEvent.deleted(assigned));
+        assertEquals(9, counters.count(null, null, null, null));
+        assertEquals(0, counters.countAssigned(7L, EnumSet.of(TicketStatus.IN_PROGRESS)));
+        assertEquals(9, counters.countCreatedBy(1L));
+    }
+
+    @Test
+    void reconcileReplacesDriftedCounts() {
+        counters.onTicketChanged(TicketChangedEvent.created(snapshot(TicketStatus.OPEN, 7L)));
+        assertEquals(10, counters.count(null, null, null, null));
+
+        counters.reconcile();
+
+        assertEquals(9, counters.count(null, null, null, null));
+        assertEquals(2, counters.countAssigned(7L, EnumSet.of(TicketStatus.OPEN)));
+    }
+
+    @Test
+    void archivedTicketsStayInTheCounts() {
+        when(archivedTicketRepository.countByStatusPriorityCategoryAndCreatorDepartment()).thenReturn(List.<Object[]>of(
+                new Object[]{TicketStatus.CLOSED, Priority.HIGH, TicketCategory.HARDWARE, Department.FINANCE, 6L}
+        ));
+        when(archivedTicketRepository.countByAssigneeAndStatus()).thenReturn(List.<Object[]>of(
+                new Object[]{7L, TicketStatus.CLOSED, 1L}
+        ));
+        when(archivedTicketRepository.countByCreator()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, 6L}
+        ));
+
+        counters.reconcile();
+
+        assertEquals(6, counters.count(TicketStatus.CLOSED, null, null, null));
+        assertEquals(9, counters.count(null, null, null, Department.FINANCE));
+        assertEquals(1, counters.countAssigned(7L, EnumSet.of(TicketStatus.CLOSED)));
+        assertEquals(15, counters.countCreatedBy(1L));
+    }
+
+    private TicketSnapshot snapshot(TicketStatus status, Long assignedToId) {
+        return new TicketSnapshot(100L, status, Priority.HIGH, TicketCategory.HARDWARE, 1L, Department.FINANCE, assignedToId, null, false, false);
+    }
+}
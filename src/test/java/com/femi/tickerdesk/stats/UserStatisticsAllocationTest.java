@@ -0,0 +1,79 @@
+package com.femi.tickerdesk.stats;
+
+import com.femi.tickerdesk.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class UserStatisticsAllocationTest {
+
+    // Observed around 33 KB at every size; the entity load passes this by 1k users
+    private static final long MAX_REFRESH_BYTES = 256 * 1024;
+
+    private static final String[] DEPARTMENTS = {"FINANCE", "HR_ADMIN", "MARKETING", "SYSTEM_NETWORK"};
+    private static final String[] ROLES = {"USER", "TECHNICIAN", "MANAGER"};
+    private static final String[] SITES = {"LAGOS_OFFICE", "ABUJA_OFFICE"};
+
+    @Autowired
+    private UserStatisticsSnapshot snapshot;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void refreshAllocationStaysFlatAsTheDirectoryGrows() {
+        int inserted = 0;
+        try {
+            for (int size : new int[]{1_000, 10_000, 50_000}) {
+                insertUsers(inserted, size);
+                inserted = size;
+
+                // Warm up so class loading and query plan caching are not measured
+                snapshot.refresh();
+                userRepository.findByIsActiveTrue().size();
+
+                long grouped = allocatedBy(snapshot::refresh);
+                long entityLoad = allocatedBy(() -> userRepository.findByIsActiveTrue().size());
+                assertTrue(grouped <= MAX_REFRESH_BYTES,
+                        "refresh allocated " + grouped + " bytes for " + size + " users");
+                // Shows the measurement sees per-user allocation when there is some
+                assertTrue(entityLoad > MAX_REFRESH_BYTES,
+                        "entity load allocated only " + entityLoad + " bytes for " + size + " users");
+            }
+        } finally {
+            jdbcTemplate.update("DELETE FROM user WHERE email LIKE 'bench-%'");
+        }
+    }
+
+    private void insertUsers(int from, int to) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            rows.add(new Object[]{"bench-" + i + "@example.com", "x", "Bench", "User",
+                    DEPARTMENTS[i % DEPARTMENTS.length], SITES[i % SITES.length], ROLES[i % ROLES.length],
+                    i % 10 != 0, 0, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user (email, password, first_name, last_name, department, site, role, " +
+                "is_active, security_version, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private long allocatedBy(Runnable task) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        task.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+}
@@ -0,0 +1,65 @@
+package com.femi.tickerdesk.stats;
+
+import com.femi.tickerdesk.dto.UserStatistics;
+import com.femi.tickerdesk.enumFolder.Department;
+import com.femi.tickerdesk.enumFolder.Role;
+import com.femi.tickerdesk.enumFolder.Site;
+import com.femi.tickerdesk.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserStatisticsSnapshotTest {
+
+    private static final List<Object[]> ROWS = List.of(
+            new Object[]{Department.FINANCE, Role.USER, Site.LAGOS_OFFICE, true, 5L},
+            new Object[]{Department.FINANCE, Role.TECHNICIAN, Site.ABUJA_OFFICE, true, 2L},
+            new Object[]{Department.MARKETING, Role.USER, Site.LAGOS_OFFICE, false, 3L},
+            new Object[]{null, Role.ADMIN, null, true, 1L}
+    );
+
+    @Test
+    void aggregatesGroupedCounts() {
+        UserStatistics statistics = UserStatisticsSnapshot.aggregate(ROWS);
+
+        assertEquals(11, statistics.getTotalUsers());
+        assertEquals(8, statistics.getActiveUsers());
+        assertEquals(3, statistics.getInactiveUsers());
+        assertEquals(7L, statistics.getUsersByDepartment().get(Department.FINANCE));
+        assertEquals(0L, statistics.getUsersByDepartment().get(Department.MARKETING));
+        assertEquals(8L, statistics.getUsersByRole().get(Role.USER));
+        assertEquals(1L, statistics.getUsersByRole().get(Role.ADMIN));
+        assertEquals(5L, statistics.getUsersBySite().get(Site.LAGOS_OFFICE));
+        assertEquals(4, statistics.getSegments().size());
+    }
+
+    @Test
+    void servesTheSnapshotWithinItsTtl() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.countByDepartmentRoleSiteAndActive()).thenReturn(ROWS);
+        UserStatisticsSnapshot snapshot = new UserStatisticsSnapshot(userRepository, 60_000);
+
+        UserStatistics first = snapshot.get();
+        assertSame(first, snapshot.get());
+        verify(userRepository, times(1)).countByDepartmentRoleSiteAndActive();
+    }
+
+    @Test
+    void returnsTheStaleSnapshotWhileRefreshingInTheBackground() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.countByDepartmentRoleSiteAndActive()).thenReturn(ROWS);
+        UserStatisticsSnapshot snapshot = new UserStatisticsSnapshot(userRepository, 0);
+
+        UserStatistics first = snapshot.get();
+        assertSame(first, snapshot.get());
+        verify(userRepository, timeout(1000).times(2)).countByDepartmentRoleSiteAndActive();
+    }
+}
@@ -0,0 +1,133 @@
+package com.femi.tickerdesk.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    @Test
+    void firesEachTimerOnItsDeadlineAcrossLevels() {
+        long start = 1_000_003;
+        TimingWheel wheel = new TimingWheel(start, 16);
+        Random random = new Random(7);
+        Map<Long, Long> expected = new HashMap<>();
+        for (long key = 1; key <= 5_000; key++) {
+            // Spread deadlines from the next tick to well beyond the third level
+            long deadline = start + 1 + (long) (Math.pow(random.nextDouble(), 4) * 20_000_000L);
+            wheel.schedule(key, deadline);
+            expected.put(key, deadline);
+        }
+
+        Map<Long, Long> fired = new HashMap<>();
+        long now = start;
+        while (fired.size() < expected.size()) {
+            now += 1 + random.nextInt(5_000);
+            TimingWheel target = wheel;
+            wheel.advance(now, key -> fired.put(key, target.currentTick()));
+        }
+
+        assertEquals(0, wheel.size());
+        expected.forEach((key, deadline) -> assertEquals(deadline, fired.get(key), "timer " + key));
+    }
+
+    @Test
+    void timersOnALevelBoundaryFireOnTheirTick() {
+        long[] boundaries = {64, 4_096, 262_144, 16_777_216};
+        for (long deadline : boundaries) {
+            TimingWheel wheel = new TimingWheel(0, 4);
+            wheel.schedule(1, deadline);
+
+            List<Long> fired = new ArrayList<>();
+            wheel.advance(deadline - 1, fired::add);
+            assertEquals(List.of(), fired, "deadline " + deadline);
+            wheel.advance(deadline, fired::add);
+            assertEquals(List.of(1L), fired, "deadline " + deadline);
+        }
+    }
+
+    @Test
+    void boundaryTimersKeepDeadlineOrderWithTheirNeighbours() {
+        TimingWheel wheel = new TimingWheel(0, 8);
+        wheel.schedule(1, 4_097);
+        wheel.schedule(2, 4_096);
+        wheel.schedule(3, 4_095);
+        wheel.schedule(4, 262_144);
+
+        List<Long> fired = new ArrayList<>();
+        List<Long> ticks = new ArrayList<>();
+        wheel.advance(262_144, key -> {
+            fired.add(key);
+            ticks.add(wheel.currentTick());
+        });
+
+        assertEquals(List.of(3L, 2L, 1L, 4L), fired);
+        assertEquals(List.of(4_095L, 4_096L, 4_097L, 262_144L), ticks);
+    }
+
+    @Test
+    void rescheduleAndCancelReplaceThePendingTimer() {
+        TimingWheel wheel = new TimingWheel(0, 4);
+        wheel.schedule(1, 10);
+        wheel.schedule(2, 10);
+        wheel.schedule(3, 5_000);
+        wheel.schedule(1, 100);
+        assertTrue(wheel.cancel(2));
+        assertFalse(wheel.cancel(2));
+        wheel.schedule(4, -3);
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advance(99, fired::add);
+        assertEquals(List.of(4L), fired);
+
+        wheel.advance(5_000, fired::add);
+        assertEquals(List.of(4L, 1L, 3L), fired);
+        assertEquals(-1, wheel.deadline(1));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkOneMillionPendingTimers() {
+        int timers = 1_000_000;
+        Random random = new Random(11);
+        long[] deadlines = new long[timers];
+        for (int i = 0; i < timers; i++) {
+            deadlines[i] = 1 + random.nextInt(30 * 24 * 3600);
+        }
+
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        TimingWheel wheel = new TimingWheel(0, 1024);
+        long start = System.nanoTime();
+        for (int i = 0; i < timers; i++) {
+            wheel.schedule(i + 1, deadlines[i]);
+        }
+        long scheduled = System.nanoTime();
+        System.gc();
+        long retained = runtime.totalMemory() - runtime.freeMemory() - before;
+
+        for (int i = 0; i < timers; i += 2) {
+            wheel.cancel(i + 1);
+        }
+        long cancelled = System.nanoTime();
+        long[] fired = new long[1];
+        wheel.advance(30 * 24 * 3600, key -> fired[0]++);
+        long drained = System.nanoTime();
+
+        System.out.printf("%,d timers: schedule %d ns/op, cancel %d ns/op, ~%d bytes each, drained %,d in %d ms%n",
+                timers, (scheduled - start) / timers, (cancelled - scheduled) / (timers / 2),
+                retained / timers, fired[0], (drained - cancelled) / 1_000_000);
+        assertEquals(timers / 2, fired[0]);
+    }
+}